@@ -354,7 +354,13 @@ protected def createDescriptorInternal(pluginInfos, resourceList) {
                         name = 'resources'
                     name = name.toString()
                     if (!addedResources.contains(name)) {
-                        xml.resource(name)
+                        def artefactType = getArtefactTypeForResource(r, name)
+                        if (artefactType) {
+                            xml.resource(artefact:artefactType, name)
+                        }
+                        else {
+                            xml.resource(name)
+                        }
                         addedResources.add name
                     }
                     else {
@@ -377,6 +383,28 @@ protected def createDescriptorInternal(pluginInfos, resourceList) {
     }
 }
 
+/**
+ * Guesses the artefact type of a class from the grails-app directory of its source, following the conventions of
+ * the core artefact handlers. The type is recorded in grails.xml so that the application only has to ask the handler
+ * of that type when the WAR starts up. Returns null for classes whose type depends on other handlers.
+ */
+protected String getArtefactTypeForResource(resource, String className) {
+    def matcher = resource.URL.toString() =~ /\/grails-app\/(\w+)\//
+    if (!matcher) return null
+
+    switch (matcher[0][1]) {
+        case 'domain': return 'Domain'
+        case 'controllers': return className.endsWith('Controller') ? 'Controller' : null
+        case 'services': return className.endsWith('Service') ? 'Service' : null
+        case 'taglib': return className.endsWith('TagLib') ? 'TagLib' : null
+        case 'utils': return className.endsWith('Codec') ? 'Codec' : null
+        case 'conf':
+            if (className.endsWith('BootStrap')) return 'Bootstrap'
+            if (className.endsWith('UrlMappings')) return 'UrlMappings'
+    }
+    return null
+}
+
 target(cleanUpAfterWar:"Cleans up after performing a WAR") {
     ant.delete(dir:"${stagingDir}", failonerror:true)
 }
@@ -18,6 +18,7 @@ package grails.orm;
 import groovy.lang.*;
 import org.codehaus.groovy.grails.commons.GrailsClassUtils;
 import org.codehaus.groovy.grails.orm.hibernate.cfg.GrailsHibernateUtil;
+import org.codehaus.groovy.grails.orm.hibernate.support.QueryResultCache;
 import org.hibernate.*;
 import org.hibernate.criterion.*;
 import org.hibernate.engine.SessionFactoryImplementor;
@@ -96,6 +97,8 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
     public static final String SIZE_EQUALS = "sizeEq"; //method
     public static final String ORDER_DESCENDING = "desc";
     public static final String ORDER_ASCENDING = "asc";
+    public static final String ARGUMENT_FETCH_SIZE = "fetchSize";
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 100;
 
 
     private static final String ROOT_DO_CALL = "doCall";
@@ -133,6 +136,8 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
 
 	private boolean paginationEnabledList = false;
 	private ArrayList<Order> orderEntries;	
+    private QueryResultCache queryResultCache;
+    private Object queryCacheSettings;
 
     public HibernateCriteriaBuilder(Class targetClass, SessionFactory sessionFactory) {
         super();
@@ -314,6 +319,31 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
     public void cache(boolean shouldCache) {
         this.criteria.setCacheable(shouldCache);
     }
+
+    /**
+     * Whether to cache the results of the query in the GORM query result cache
+     * @param shouldCache True if the results should be cached
+     */
+    public void queryCache(boolean shouldCache) {
+        this.queryCacheSettings = shouldCache;
+    }
+
+    /**
+     * Caches the results of the query in the GORM query result cache
+     * @param settings The "region", "ttl" and "maxSize" cache settings
+     */
+    public void queryCache(Map settings) {
+        this.queryCacheSettings = settings;
+    }
+
+    /**
+     * Sets the cache used by the queryCache criteria method
+     * @param queryResultCache The QueryResultCache instance
+     */
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
     /**
      * Calculates the property name including any alias paths
      *
@@ -1069,6 +1099,8 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
                     // calculated previously.
                     pagedRes.setTotalCount(totalCount);
                     result = pagedRes;
+                } else if(queryResultCache != null && queryCacheSettings != null) {
+                    result = queryResultCache.list(this.criteria, queryCacheSettings);
                 } else {
                     result = this.criteria.list();
                 }
@@ -1254,6 +1286,98 @@ public class HibernateCriteriaBuilder extends GroovyObjectSupport {
         return criteria;
     }
 
+    /**
+     * Streams every result of the given criteria to the given row handler
+     *
+     * @see #stream(java.util.Map, groovy.lang.Closure, groovy.lang.Closure)
+     */
+    public int stream(Closure criteriaClosure, Closure rowHandler) {
+        return stream(Collections.EMPTY_MAP, criteriaClosure, rowHandler);
+    }
+
+    /**
+     * <p>Streams the results of the given criteria to the given row handler one row at a time. The query
+     * is executed against a Hibernate StatelessSession and read through forward-only ScrollableResults, hence
+     * no first-level cache is populated and no dirty checking takes place. Returned entities are detached, lazy
+     * associations that were not fetched eagerly cannot be initialized from within the row handler.
+     *
+     * <p>The arguments map supports "fetchSize" (the JDBC fetch size, defaults to 100) in addition to the
+     * "max", "offset", "sort", "order" and "fetch" arguments supported by list()
+     *
+     * <pre>
+     *      Account.stream(fetchSize:500, { gt("balance", 1000) }) { account ->
+     *          report << account.holderLastName
+     *      }
+     * </pre>
+     *
+     * @param args The arguments
+     * @param criteriaClosure The criteria closure
+     * @param rowHandler A closure called with each row, either an entity or an array of projected values
+     * @return The number of rows streamed
+     */
+    public int stream(Map args, Closure criteriaClosure, Closure rowHandler) {
+        if(this.criteria != null) {
+            throwRuntimeException( new IllegalArgumentException("call to [stream] not supported here"));
+        }
+
+        StatelessSession statelessSession = openStatelessSession();
+        ScrollableResults results = null;
+        int rowCount = 0;
+        try {
+            this.criteria = statelessSession.createCriteria(targetClass);
+            this.criteriaMetaClass = GroovySystem.getMetaClassRegistry().getMetaClass(criteria.getClass());
+
+            invokeClosureNode(criteriaClosure);
+            if(resultTransformer != null) {
+                this.criteria.setResultTransformer(resultTransformer);
+            }
+            GrailsHibernateUtil.populateArgumentsForCriteria(targetClass, this.criteria, args);
+            this.criteria.setCacheable(false);
+            this.criteria.setFetchSize(getFetchSize(args));
+
+            results = this.criteria.scroll(ScrollMode.FORWARD_ONLY);
+            while(results.next()) {
+                Object[] row = results.get();
+                rowHandler.call(row.length == 1 ? row[0] : row);
+                rowCount++;
+            }
+        }
+        finally {
+            if(results != null) {
+                results.close();
+            }
+            statelessSession.close();
+            this.criteria = null;
+        }
+        return rowCount;
+    }
+
+    private int getFetchSize(Map args) {
+        Object fetchSize = args.get(ARGUMENT_FETCH_SIZE);
+        if(fetchSize instanceof Number) {
+            return ((Number)fetchSize).intValue();
+        }
+        else if(fetchSize != null) {
+            return Integer.parseInt(fetchSize.toString());
+        }
+        return DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * Opens a StatelessSession, sharing the JDBC connection of the Session bound to the current
+     * transaction if there is one so that uncommitted changes are visible to the streamed query
+     */
+    private StatelessSession openStatelessSession() {
+        if(TransactionSynchronizationManager.hasResource(sessionFactory)) {
+            Session session = ((SessionHolder)TransactionSynchronizationManager.getResource(sessionFactory)).getSession();
+            if(!FlushMode.isManualFlushMode(session.getFlushMode())) {
+                session.flush();
+            }
+            return sessionFactory.openStatelessSession(session.connection());
+        }
+        return sessionFactory.openStatelessSession();
+    }
+
     private void createCriteriaInstance() {
         if(TransactionSynchronizationManager.hasResource(sessionFactory)) {
             this.participate = true;
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.orm;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Marks a controller or a controller action as read-only. The Hibernate session opened for requests
+ * to a read-only action uses FlushMode.MANUAL and entities loaded by it are marked read-only so that
+ * Hibernate keeps no snapshots and performs no dirty checking:
+ *
+ * <pre>
+ *      class BookController {
+ *          &#064;ReadOnly def list = { [books:Book.list(params)] }
+ *      }
+ * </pre>
+ *
+ * <p>An action may opt out of a read-only controller or HTTP method with &#064;ReadOnly(false)
+ *
+ * @since 1.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface ReadOnly {
+    boolean value() default true;
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.persistence;
+
+import org.codehaus.groovy.transform.GroovyASTTransformationClass;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>A class annotation that injects change tracking into the property setters of a domain class. Hibernate
+ * skips flush-time dirty checking of tracked entities whose properties have not been assigned since they were loaded.
+ *
+ * <p>Changes are only detected when properties are assigned, so mutating a property value in place (for example
+ * calling setTime on a Date) must be followed by re-assigning the property. Subclasses of a tracked class must also
+ * be annotated to be tracked.
+ *
+ * @since 1.3
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@GroovyASTTransformationClass("org.codehaus.groovy.grails.compiler.injection.ChangeTrackingASTTransformation")
+public @interface ChangeTracking {
+}
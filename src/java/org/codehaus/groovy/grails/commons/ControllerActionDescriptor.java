@@ -0,0 +1,146 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.commons;
+
+import groovy.lang.Closure;
+import groovy.lang.GroovyObject;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Describes a dispatchable controller action: how to obtain the action closure from a controller instance,
+ * the HTTP methods it allows and whether the controller's interceptors apply to it. Descriptors are built
+ * once per action so that dispatching a request requires no further lookups on the controller.
+ *
+ * @see GrailsControllerClass#getAction(String)
+ * @since 1.3
+ */
+public class ControllerActionDescriptor {
+
+    private final GrailsControllerClass controllerClass;
+    private final String name;
+    private final String viewName;
+    private final Method getter;
+    private final Collection allowedMethods;
+    private final boolean interceptedBefore;
+    private final boolean interceptedAfter;
+    private final boolean streamingMultipart;
+
+    /**
+     * @param controllerClass The controller class that defines the action
+     * @param name The name of the closure property of the action
+     * @param viewName The name of the default view of the action
+     * @param getter The getter of the action closure or null if the action is only available through the meta class
+     * @param allowedMethods The allowed HTTP methods or null if all methods are allowed
+     * @param interceptedBefore Whether the before interceptor applies to the action
+     * @param interceptedAfter Whether the after interceptor applies to the action
+     */
+    public ControllerActionDescriptor(GrailsControllerClass controllerClass, String name, String viewName, Method getter,
+                                      Collection allowedMethods, boolean interceptedBefore, boolean interceptedAfter) {
+        this(controllerClass, name, viewName, getter, allowedMethods, interceptedBefore, interceptedAfter, false);
+    }
+
+    /**
+     * @param controllerClass The controller class that defines the action
+     * @param name The name of the closure property of the action
+     * @param viewName The name of the default view of the action
+     * @param getter The getter of the action closure or null if the action is only available through the meta class
+     * @param allowedMethods The allowed HTTP methods or null if all methods are allowed
+     * @param interceptedBefore Whether the before interceptor applies to the action
+     * @param interceptedAfter Whether the after interceptor applies to the action
+     * @param streamingMultipart Whether the action reads multipart requests as a stream
+     */
+    public ControllerActionDescriptor(GrailsControllerClass controllerClass, String name, String viewName, Method getter,
+                                      Collection allowedMethods, boolean interceptedBefore, boolean interceptedAfter,
+                                      boolean streamingMultipart) {
+        this.controllerClass = controllerClass;
+        this.name = name;
+        this.viewName = viewName;
+        this.getter = getter;
+        this.allowedMethods = allowedMethods;
+        this.interceptedBefore = interceptedBefore;
+        this.interceptedAfter = interceptedAfter;
+        this.streamingMultipart = streamingMultipart;
+        if(getter != null) {
+            ReflectionUtils.makeAccessible(getter);
+        }
+    }
+
+    public GrailsControllerClass getControllerClass() {
+        return controllerClass;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getViewName() {
+        return viewName;
+    }
+
+    public boolean isInterceptedBefore() {
+        return interceptedBefore;
+    }
+
+    public boolean isInterceptedAfter() {
+        return interceptedAfter;
+    }
+
+    /**
+     * @return True if multipart requests to the action are left unparsed, so that the action can read the parts
+     * as they arrive
+     * @see org.codehaus.groovy.grails.web.multipart.StreamingMultipartIterator
+     */
+    public boolean isStreamingMultipart() {
+        return streamingMultipart;
+    }
+
+    /**
+     * @param httpMethod The HTTP method of the request
+     * @return True if the action may be invoked with the given method
+     */
+    public boolean isHttpMethodAllowed(String httpMethod) {
+        return allowedMethods == null || allowedMethods.contains(httpMethod);
+    }
+
+    /**
+     * Obtains the action closure from the given controller instance
+     *
+     * @param controller The controller instance
+     * @return The action closure
+     * @throws groovy.lang.MissingPropertyException If the controller doesn't provide the action
+     */
+    public Closure getAction(GroovyObject controller) {
+        if(getter == null) {
+            return (Closure) controller.getProperty(name);
+        }
+        try {
+            return (Closure) getter.invoke(controller);
+        }
+        catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+            return null;
+        }
+        catch (IllegalAccessException e) {
+            ReflectionUtils.handleReflectionException(e);
+            return null;
+        }
+    }
+}
@@ -15,9 +15,13 @@
 */
 package org.codehaus.groovy.grails.commons;
 
-import grails.util.Environment;
+import grails.util.GrailsNameUtils;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Marc Palmer (marc@anyware.co.uk)
@@ -25,8 +29,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ControllerArtefactHandler extends ArtefactHandlerAdapter {
     public static final String TYPE = "Controller";
     public static final String PLUGIN_NAME = "controllers";
-    private ConcurrentHashMap<String, GrailsClass> uriToControllerClassCache;
-    private ArtefactInfo artefactInfo;
+    private static final char SLASH = '/';
+    private volatile Map<String, GrailsControllerClass[]> controllersByName = Collections.emptyMap();
 
 
     public ControllerArtefactHandler() {
@@ -35,9 +39,30 @@ public class ControllerArtefactHandler extends ArtefactHandlerAdapter {
             false);
     }
 
+    /**
+     * Builds the dispatch table from controller names to the controllers classes that may handle them. This is
+     * called again whenever controllers are added or reloaded
+     */
     public void initialize(ArtefactInfo artefacts) {
-        uriToControllerClassCache = new ConcurrentHashMap<String, GrailsClass>();
-        this.artefactInfo = artefacts;
+        Map<String, List<GrailsControllerClass>> controllers = new HashMap<String, List<GrailsControllerClass>>();
+        final GrailsClass[] controllerClasses = artefacts.getGrailsClasses();
+        // iterate in reverse in order to pick up application classes first
+        for (int i = (controllerClasses.length-1); i >= 0; i--) {
+            GrailsControllerClass c = (GrailsControllerClass) controllerClasses[i];
+            String name = GrailsNameUtils.getPropertyNameRepresentation(c.getName());
+            List<GrailsControllerClass> candidates = controllers.get(name);
+            if(candidates == null) {
+                candidates = new ArrayList<GrailsControllerClass>();
+                controllers.put(name, candidates);
+            }
+            candidates.add(c);
+        }
+
+        Map<String, GrailsControllerClass[]> table = new HashMap<String, GrailsControllerClass[]>();
+        for (Map.Entry<String, List<GrailsControllerClass>> entry : controllers.entrySet()) {
+            table.put(entry.getKey(), entry.getValue().toArray(new GrailsControllerClass[entry.getValue().size()]));
+        }
+        this.controllersByName = table;
     }
 
     @Override
@@ -46,30 +71,44 @@ public class ControllerArtefactHandler extends ArtefactHandlerAdapter {
     }
 
     public GrailsClass getArtefactForFeature(Object feature) {
-        String uri = feature.toString();
-        if(artefactInfo!=null) {
-        	GrailsClass controllerClass = uriToControllerClassCache.get(uri);
-        	if(controllerClass==null) {
-                final GrailsClass[] controllerClasses = artefactInfo.getGrailsClasses();
-                // iterate in reverse in order to pick up application classes first
-                for (int i = (controllerClasses.length-1); i >= 0; i--) {
-                    GrailsClass c = controllerClasses[i];
-                    if (((GrailsControllerClass) c).mapsToURI(uri)) {
-                        controllerClass = c;
-                        break;
-                    }
+        ControllerActionDescriptor action = getActionForURI(feature.toString());
+        return action != null ? action.getControllerClass() : null;
+    }
+
+    /**
+     * Resolves the controller action for a URI of the form /controller/action, where the action defaults to
+     * the default action of the controller and any further path elements are ignored
+     *
+     * @param uri The URI
+     * @return The ControllerActionDescriptor or null if no controller maps to the URI
+     */
+    public ControllerActionDescriptor getActionForURI(String uri) {
+        if(uri.length() < 2 || uri.charAt(0) != SLASH) return null;
 
+        String controllerName;
+        String actionName = null;
+        int actionStart = uri.indexOf(SLASH, 1);
+        if(actionStart == -1) {
+            controllerName = uri.substring(1);
+        }
+        else {
+            controllerName = uri.substring(1, actionStart);
+            int actionEnd = uri.indexOf(SLASH, actionStart + 1);
+            actionName = actionEnd == -1 ? uri.substring(actionStart + 1) : uri.substring(actionStart + 1, actionEnd);
+            if(actionName.length() == 0) {
+                actionName = null;
+            }
+        }
+
+        GrailsControllerClass[] candidates = controllersByName.get(controllerName);
+        if(candidates != null) {
+            for (GrailsControllerClass candidate : candidates) {
+                ControllerActionDescriptor action = candidate.getAction(actionName);
+                if(action != null) {
+                    return action;
                 }
-	            if(controllerClass != null) {
-                    // don't cache for dev environment
-                    if(Environment.getCurrent() != Environment.DEVELOPMENT)
-	            	    uriToControllerClassCache.putIfAbsent(uri, controllerClass);
-	            }
-        	}
-        	return controllerClass;
+            }
         }
         return null;
     }
-
-
 }
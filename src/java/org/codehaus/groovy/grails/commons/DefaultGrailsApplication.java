@@ -94,6 +94,7 @@ public class DefaultGrailsApplication extends GroovyObjectSupport implements Gra
     private Map<String, ArtefactHandler> artefactHandlersByName = new HashMap<String, ArtefactHandler>();
     private List<Class> allArtefactClasses = new ArrayList<Class>();
     private Map<String, ArtefactInfo> artefactInfo = new HashMap<String, ArtefactInfo>();
+    private Map<String, String> indexedArtefactTypes = new HashMap<String, String>();
     private Class[] allArtefactClassesArray;
     private Map applicationMeta;
     private Resource[] resources;
@@ -327,18 +328,16 @@ public class DefaultGrailsApplication extends GroovyObjectSupport implements Gra
                 continue;
 
             // check what kind of artefact it is and add to corrent data structure
-            for (ArtefactHandler artefactHandler : artefactHandlers) {
-                if (artefactHandler.isArtefact(theClass)) {
-                    log.debug("Adding artefact " + theClass + " of kind " + artefactHandler.getType());
-                    GrailsClass gclass = addArtefact(artefactHandler.getType(), theClass);
-                    // Also maintain set of all artefacts (!= all classes loaded)
-                    allArtefactClasses.add(theClass);
-
-                    // Update per-artefact cache
-                    DefaultArtefactInfo info = getArtefactInfo(artefactHandler.getType(), true);
-                    info.addGrailsClass(gclass);
-                    break;
-                }
+            ArtefactHandler artefactHandler = findArtefactHandler(theClass);
+            if (artefactHandler != null) {
+                log.debug("Adding artefact " + theClass + " of kind " + artefactHandler.getType());
+                GrailsClass gclass = addArtefact(artefactHandler.getType(), theClass);
+                // Also maintain set of all artefacts (!= all classes loaded)
+                allArtefactClasses.add(theClass);
+
+                // Update per-artefact cache
+                DefaultArtefactInfo info = getArtefactInfo(artefactHandler.getType(), true);
+                info.addGrailsClass(gclass);
             }
         }
 
@@ -353,6 +352,29 @@ public class DefaultGrailsApplication extends GroovyObjectSupport implements Gra
         }
     }
 
+    /**
+     * Finds the ArtefactHandler that identifies the given class as an artefact. The handler of the type recorded in
+     * the artefact index is asked first, the other handlers only inspect classes it doesn't identify.
+     *
+     * @param theClass The class
+     * @return The ArtefactHandler or null if the class is not an artefact
+     */
+    private ArtefactHandler findArtefactHandler(Class theClass) {
+        String indexedType = indexedArtefactTypes.get(theClass.getName());
+        if (indexedType != null) {
+            ArtefactHandler indexedHandler = artefactHandlersByName.get(indexedType);
+            if (indexedHandler != null && indexedHandler.isArtefact(theClass)) {
+                return indexedHandler;
+            }
+        }
+        for (ArtefactHandler artefactHandler : artefactHandlers) {
+            if (artefactHandler.isArtefact(theClass)) {
+                return artefactHandler;
+            }
+        }
+        return null;
+    }
+
     /**
      * <p>Tell all our artefact info objects to update their internal state after we've added a bunch of classes</p>
      */
@@ -369,6 +391,17 @@ public class DefaultGrailsApplication extends GroovyObjectSupport implements Gra
     }
 
 
+    /**
+     * Sets the artefact types of classes as recorded in the artefact index of a WAR (the grails.xml descriptor).
+     * When the classes are configured the handler of the recorded type is asked first, so the other handlers
+     * don't have to inspect them.
+     *
+     * @param artefactTypes The artefact types keyed by class name
+     */
+    public void setIndexedArtefactTypes(Map<String, String> artefactTypes) {
+        this.indexedArtefactTypes = artefactTypes != null ? artefactTypes : new HashMap<String, String>();
+    }
+
     public GrailsResourceLoader getResourceLoader() {
         return resourceLoader;
     }
@@ -18,6 +18,7 @@ package org.codehaus.groovy.grails.commons;
 import groovy.lang.Closure;
 import groovy.lang.MetaMethod;
 
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
 import org.codehaus.groovy.runtime.MethodClosure;
 
 /**
@@ -30,14 +31,17 @@ public class DefaultGrailsCodecClass extends AbstractInjectableGrailsClass
 	implements GrailsCodecClass {
 	
 	public static final String CODEC = "Codec";
+    private static final String STREAMING_ENCODER = "streamingEncoder";
     private Closure encodeMethod;
     private Closure decodeMethod;
+    private StreamingEncoder streamingEncoder;
 
     public DefaultGrailsCodecClass(Class clazz) {
 		super(clazz, CODEC);
 
         this.encodeMethod = getMethodOrClosureMethod("encode");
         this.decodeMethod = getMethodOrClosureMethod("decode");
+        this.streamingEncoder = getStaticPropertyValue(STREAMING_ENCODER, StreamingEncoder.class);
 	}
 
 	public Closure getDecodeMethod() {
@@ -48,6 +52,10 @@ public class DefaultGrailsCodecClass extends AbstractInjectableGrailsClass
 		return this.encodeMethod;
 	}
 
+    public StreamingEncoder getStreamingEncoder() {
+        return this.streamingEncoder;
+    }
+
     private Closure getMethodOrClosureMethod(String methodName) {
         Closure closure = (Closure) getPropertyOrStaticPropertyOrFieldValue(methodName, Closure.class);
         if(closure == null) {
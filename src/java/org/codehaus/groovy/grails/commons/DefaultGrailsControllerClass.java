@@ -31,7 +31,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.codehaus.groovy.grails.exceptions.GrailsConfigurationException;
 import org.springframework.util.AntPathMatcher;
 
 /**
@@ -70,6 +72,8 @@ public class DefaultGrailsControllerClass extends AbstractInjectableGrailsClass
     private final Set commandObjectActions = new HashSet();
     private final Set commandObjectClasses = new HashSet();
     private Map<String, PropertyDescriptor> flows = new HashMap<String, PropertyDescriptor>();
+    private final Map<String, Boolean> mappedActions = new ConcurrentHashMap<String, Boolean>();
+    private final Map<String, ControllerActionDescriptor> actionDescriptors = new ConcurrentHashMap<String, ControllerActionDescriptor>();
 
     public void setDefaultActionName(String defaultActionName) {
         this.defaultActionName = defaultActionName;
@@ -79,6 +83,7 @@ public class DefaultGrailsControllerClass extends AbstractInjectableGrailsClass
 
     private String defaultActionName;
     private String controllerPath;
+    private String scope;
 
 
     public DefaultGrailsControllerClass(Class clazz) {
@@ -88,6 +93,14 @@ public class DefaultGrailsControllerClass extends AbstractInjectableGrailsClass
         if(defaultActionName == null) {
             defaultActionName = INDEX_ACTION;
         }
+        scope = getStaticPropertyValue(SCOPE, String.class);
+        if(scope == null) {
+            scope = SCOPE_PROTOTYPE;
+        }
+        else if(!scope.equals(SCOPE_PROTOTYPE) && !scope.equals(SCOPE_SINGLETON) && !scope.equals(SCOPE_POOLED)) {
+            throw new GrailsConfigurationException("Controller [" + getFullName() + "] declares unsupported scope [" +
+                    scope + "], the scope must be one of [" + SCOPE_PROTOTYPE + ", " + SCOPE_SINGLETON + ", " + SCOPE_POOLED + "]");
+        }
         Collection closureNames = new ArrayList();
         this.uri2viewMap = new HashMap();
         this.uri2closureMap = new HashMap();
@@ -139,6 +152,7 @@ public class DefaultGrailsControllerClass extends AbstractInjectableGrailsClass
 
     private void configureMappingForClosureProperty(String controllerPath, String closureName) {
         String tmpUri = controllerPath + closureName;
+        mappedActions.put(closureName, Boolean.TRUE);
         uri2closureMap.put(tmpUri,closureName);
         uri2closureMap.put(tmpUri + SLASH + "**",closureName);
         this.uri2viewMap.put(tmpUri, tmpUri);
@@ -297,8 +311,60 @@ public class DefaultGrailsControllerClass extends AbstractInjectableGrailsClass
         return this.defaultActionName;
     }
 
+    public String getScope() {
+        return scope;
+    }
+
     public void registerMapping(String actionName) {
         configureMappingForClosureProperty(this.controllerPath, actionName);
         configureURIsForCurrentState();
     }
+
+    public ControllerActionDescriptor getAction(String actionName) {
+        if(actionName == null) {
+            actionName = defaultActionName;
+        }
+        if(!mappedActions.containsKey(actionName)) {
+            return null;
+        }
+        ControllerActionDescriptor descriptor = actionDescriptors.get(actionName);
+        if(descriptor == null) {
+            descriptor = createActionDescriptor(actionName);
+            actionDescriptors.put(actionName, descriptor);
+        }
+        return descriptor;
+    }
+
+    private ControllerActionDescriptor createActionDescriptor(String actionName) {
+        Method getter = null;
+        PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors();
+        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+            Method readMethod = propertyDescriptor.getReadMethod();
+            if(propertyDescriptor.getName().equals(actionName) && readMethod != null && !Modifier.isStatic(readMethod.getModifiers())) {
+                getter = readMethod;
+                break;
+            }
+        }
+
+        Collection allowedMethods = null;
+        Map methodRestrictions = getPropertyValue(ALLOWED_HTTP_METHODS_PROPERTY, Map.class);
+        if(methodRestrictions != null) {
+            Object value = methodRestrictions.get(actionName);
+            if(value instanceof List) {
+                allowedMethods = new ArrayList((List) value);
+            }
+            else if(value instanceof String) {
+                allowedMethods = Collections.singleton(value);
+            }
+        }
+
+        Object streaming = getPropertyValue(STREAMING_MULTIPART, Object.class);
+        boolean streamingMultipart = Boolean.TRUE.equals(streaming) ||
+                (streaming instanceof Collection && ((Collection) streaming).contains(actionName));
+
+        return new ControllerActionDescriptor(this, actionName, controllerPath + actionName, getter, allowedMethods,
+                isIntercepted(getPropertyValue(BEFORE_INTERCEPTOR, Object.class), actionName),
+                isIntercepted(getPropertyValue(AFTER_INTERCEPTOR, Object.class), actionName),
+                streamingMultipart);
+    }
 }
@@ -52,7 +52,7 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
     private Map relationshipMap;
     private Map hasOneMap;
 
-    private Map constraints;
+    private volatile Map constraints;
     private Map mappedBy;
     private Validator validator;
     private String mappingStrategy = GrailsDomainClass.GORM;
@@ -682,20 +682,26 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
       * @see org.codehaus.groovy.grails.commons.GrailsDomainClass#getConstraints()
       */
     public Map getConstrainedProperties() {
-        if(this.constraints==null) {
-            initializeConstraints();
+        Map evaluated = this.constraints;
+        if(evaluated == null) {
+            // request threads may ask for the constraints at the same time after a refresh
+            synchronized (this) {
+                evaluated = this.constraints;
+                if(evaluated == null) {
+                    evaluated = evaluateConstraints();
+                    this.constraints = evaluated;
+                }
+            }
         }
-        return unmodifiableMap(this.constraints);
+        return unmodifiableMap(evaluated);
     }
 
-    private void initializeConstraints() {
+    private Map evaluateConstraints() {
         // process the constraints
         if(defaultConstraints != null) {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties, defaultConstraints);
-        }
-        else {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties);
+            return GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties, defaultConstraints);
         }
+        return GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties);
     }
 
     /* (non-Javadoc)
@@ -727,13 +733,13 @@ public class DefaultGrailsDomainClass extends AbstractGrailsClass  implements Gr
         return this.subClasses;
     }
 
+    /**
+     * Discards the evaluated constraints so that they are evaluated again when they are next used. The application
+     * refreshes the constraints of all domain classes at the end of startup, after the persistence mapping already
+     * evaluated them, so evaluating them here would do all of that work twice.
+     */
     public void refreshConstraints() {
-        if(defaultConstraints!=null) {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties, defaultConstraints);
-        }
-        else {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), this.persistentProperties);
-        }
+        this.constraints = null;
 
         // Embedded components have their own ComponentDomainClass
         // instance which won't be refreshed by the application.
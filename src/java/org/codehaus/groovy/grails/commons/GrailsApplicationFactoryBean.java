@@ -21,7 +21,9 @@ import groovy.util.slurpersupport.GPathResult;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -85,6 +87,7 @@ public class GrailsApplicationFactoryBean implements FactoryBean, InitializingBe
         	}
         	
             List classes = new ArrayList();
+            Map<String, String> artefactTypes = new HashMap<String, String>();
             InputStream inputStream = null;
             try {
                 inputStream = descriptor.getInputStream();
@@ -96,16 +99,23 @@ public class GrailsApplicationFactoryBean implements FactoryBean, InitializingBe
                 GPathResult grailsClasses = (GPathResult) resources.getProperty("resource");
 
                 // Each resource node should contain a full class name,
-                // so we attempt to load them as classes.
+                // so we attempt to load them as classes. The artefact
+                // type recorded by the build saves inspecting the class
+                // with every artefact handler.
                 for (int i = 0; i < grailsClasses.size(); i++) {
                     GPathResult node = (GPathResult) grailsClasses.getAt(i);
                     String className = node.text();
+                    String artefactType = ((GPathResult) node.getProperty("@artefact")).text();
+                    if(artefactType.length() > 0) {
+                        artefactTypes.put(className, artefactType);
+                    }
                     try {
                     	Class clazz;
                     	if(classLoader instanceof GrailsClassLoader) {
                     		clazz=classLoader.loadClass(className);
                     	} else {
-                    		clazz=Class.forName(className, true, classLoader);
+                    		// static initializers run when a class is first used, not for every class at startup
+                    		clazz=Class.forName(className, false, classLoader);
                     	}
                     	classes.add(clazz);
                     } catch (ClassNotFoundException e) {
@@ -117,7 +127,9 @@ public class GrailsApplicationFactoryBean implements FactoryBean, InitializingBe
                     inputStream.close();
             }
             Class[] loadedClasses = (Class[])classes.toArray(new Class[classes.size()]);
-            this.grailsApplication = new DefaultGrailsApplication(loadedClasses, classLoader);
+            DefaultGrailsApplication application = new DefaultGrailsApplication(loadedClasses, classLoader);
+            application.setIndexedArtefactTypes(artefactTypes);
+            this.grailsApplication = application;
         }
         else {
             Assert.notNull(resourceLoader, "Property [resourceLoader] must be set!");
@@ -18,6 +18,8 @@ package org.codehaus.groovy.grails.commons;
 
 import groovy.lang.Closure;
 
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
+
 /**
  * An interface that provides access to Codec classes. A Codec class is a class
  * that ends in the convention "Codec" and provides encode and decode methods or closure properties
@@ -37,4 +39,10 @@ public interface GrailsCodecClass extends InjectableGrailsClass {
      */
 	Closure getDecodeMethod();
 
+    /**
+     * @return The encoder that writes the encoded form of character data to a Writer or null if the codec
+     * doesn't provide one with a static streamingEncoder property
+     */
+    StreamingEncoder getStreamingEncoder();
+
 }
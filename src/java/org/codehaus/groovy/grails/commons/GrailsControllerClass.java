@@ -58,6 +58,32 @@ public interface GrailsControllerClass extends InjectableGrailsClass {
      */
     public String VIEW = "view";
 
+    /**
+     * The name of the static property that defines the scope of the controller
+     */
+    public String SCOPE = "scope";
+
+    /**
+     * A new controller instance is created for each request. This is the default
+     */
+    public String SCOPE_PROTOTYPE = "prototype";
+
+    /**
+     * A single controller instance handles all requests. Request state must not be held in fields
+     */
+    public String SCOPE_SINGLETON = "singleton";
+
+    /**
+     * Controller instances are pooled and each is used by one request at a time
+     */
+    public String SCOPE_POOLED = "pooled";
+
+    /**
+     * The name of the static property that lists the actions which read multipart requests as a stream, or is
+     * true if all actions of the controller do
+     */
+    public String STREAMING_MULTIPART = "streamingMultipart";
+
     /**
      * Checks to see if an action is accessible via a particular
      * http method
@@ -142,6 +168,14 @@ public interface GrailsControllerClass extends InjectableGrailsClass {
      * @return the closure property name mapped to the URI or null is no closure was found
      */
     public String getClosurePropertyName(String uri);
+
+    /**
+     * Returns the descriptor used to dispatch requests to the given action
+     *
+     * @param actionName The name of the action or null for the default action
+     * @return The ControllerActionDescriptor or null if the controller doesn't define the action
+     */
+    public ControllerActionDescriptor getAction(String actionName);
     
     /**
      *
@@ -193,4 +227,12 @@ public interface GrailsControllerClass extends InjectableGrailsClass {
      * @param defaultActionName The default action name
      */
     void setDefaultActionName(String defaultActionName);
+
+    /**
+     * Returns the scope of the controller, which is one of {@link #SCOPE_PROTOTYPE}, {@link #SCOPE_SINGLETON} or
+     * {@link #SCOPE_POOLED}
+     *
+     * @return The scope
+     */
+    String getScope();
 }
@@ -344,6 +344,9 @@ public class GrailsDomainConfigurationUtil {
             }
 
             if (c != null) {
+                // the closure is shared by all evaluations of the class and its subclasses, so each
+                // evaluation sets its builder as the delegate of its own copy
+                c = (Closure) c.clone();
                 c.setDelegate(delegate);
                 c.call();
             }
@@ -194,6 +194,7 @@ public class DefaultBeanConfiguration extends GroovyObjectSupport implements Bea
 
     public void setBeanDefinition(BeanDefinition definition) {
         this.definition = (AbstractBeanDefinition)definition;
+        this.wrapper = new BeanWrapperImpl(this.definition);
     }
 
     protected AbstractBeanDefinition createBeanDefinition() {
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.commons.spring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * A RuntimeSpringConfiguration that collects the beans added to it separately from a base configuration, while
+ * lookups see the beans of both. Several layers on the same base can be filled concurrently, for example by the
+ * <code>doWithSpring</code> closures of plugins that don't depend on each other, and then be merged into the
+ * base one after the other so the result doesn't depend on which layer finished first.
+ *
+ * <p>Beans of the base configuration are copied into the layer when they are first looked up, so that changes to
+ * them, for example to their properties, only affect the layer until it is merged. Only the copies that were
+ * changed are merged back, see {@link #getModifiedBaseBeanNames()}.</p>
+ *
+ * <p>Beans registered directly with the unrefreshed ApplicationContext, such as beans of Spring namespaces, go
+ * straight to the base configuration. Post processors are registered with it when the layer is merged.</p>
+ *
+ * @since 1.3
+ */
+public class LayeredRuntimeSpringConfiguration extends DefaultRuntimeSpringConfiguration {
+
+    private final RuntimeSpringConfiguration base;
+    private final Map<String, BaseBean> baseBeans = new HashMap<String, BaseBean>();
+    private final List<BeanFactoryPostProcessor> postProcessors = new ArrayList<BeanFactoryPostProcessor>();
+
+    /**
+     * @param base The configuration the beans of this layer are merged into. Its unrefreshed ApplicationContext
+     * should be created before layers are filled concurrently
+     */
+    public LayeredRuntimeSpringConfiguration(RuntimeSpringConfiguration base) {
+        super();
+        Assert.notNull(base, "Argument [base] cannot be null");
+        this.base = base;
+    }
+
+    public RuntimeSpringConfiguration getBase() {
+        return base;
+    }
+
+    @Override
+    public boolean containsBean(String name) {
+        return super.containsBean(name) || base.containsBean(name);
+    }
+
+    @Override
+    public BeanConfiguration getBeanConfig(String name) {
+        copyFromBase(name);
+        return super.getBeanConfig(name);
+    }
+
+    @Override
+    public BeanDefinition getBeanDefinition(String beanName) {
+        copyFromBase(beanName);
+        return super.getBeanDefinition(beanName);
+    }
+
+    @Override
+    public AbstractBeanDefinition createBeanDefinition(String name) {
+        copyFromBase(name);
+        return super.createBeanDefinition(name);
+    }
+
+    /**
+     * Copies a bean of the base configuration into this layer unless the layer already defines the bean
+     */
+    private void copyFromBase(String name) {
+        if(super.containsBean(name) || !base.containsBean(name)) return;
+
+        // bean configurations create their definitions lazily, so don't let several layers read them at once
+        synchronized (base) {
+            BaseBean baseBean = new BaseBean();
+            BeanConfiguration beanConfig = base.getBeanConfig(name);
+            if(beanConfig != null) {
+                AbstractBeanDefinition definition = beanConfig.getBeanDefinition();
+                BeanConfiguration copy = new DefaultBeanConfiguration(name, !beanConfig.isSingleton());
+                copy.setBeanDefinition(definition.cloneBeanDefinition());
+                super.addBeanConfiguration(name, copy);
+                baseBean.beanConfigDefinition = definition.cloneBeanDefinition();
+            }
+            BeanDefinition definition = base.getBeanDefinition(name);
+            if(definition != null) {
+                BeanDefinition copy = definition instanceof AbstractBeanDefinition ?
+                        ((AbstractBeanDefinition) definition).cloneBeanDefinition() : definition;
+                super.addBeanDefinition(name, copy);
+                baseBean.beanDefinition = definition instanceof AbstractBeanDefinition ?
+                        ((AbstractBeanDefinition) definition).cloneBeanDefinition() : definition;
+            }
+            baseBeans.put(name, baseBean);
+        }
+    }
+
+    /**
+     * @return The names of the beans of the base configuration that this layer changed or replaced
+     */
+    public Set<String> getModifiedBaseBeanNames() {
+        Set<String> names = new LinkedHashSet<String>();
+        for (Map.Entry<String, BaseBean> entry : baseBeans.entrySet()) {
+            if(isModified(entry.getKey(), entry.getValue())) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    private boolean isModified(String name, BaseBean baseBean) {
+        BeanConfiguration beanConfig = super.getBeanConfig(name);
+        BeanDefinition beanConfigDefinition = beanConfig != null ? beanConfig.getBeanDefinition() : null;
+        return !ObjectUtils.nullSafeEquals(beanConfigDefinition, baseBean.beanConfigDefinition) ||
+                !ObjectUtils.nullSafeEquals(super.getBeanDefinition(name), baseBean.beanDefinition);
+    }
+
+    @Override
+    public ApplicationContext getUnrefreshedApplicationContext() {
+        return base.getUnrefreshedApplicationContext();
+    }
+
+    @Override
+    public void registerPostProcessor(BeanFactoryPostProcessor processor) {
+        postProcessors.add(processor);
+    }
+
+    @Override
+    public ApplicationContext getApplicationContext() {
+        throw new IllegalStateException("The ApplicationContext is created from the base configuration once the layers are merged");
+    }
+
+    /**
+     * Adds the beans, aliases and post processors of this layer to the base configuration in the order they were added to this layer.
+     * Beans copied from the base configuration are only added back if they were changed
+     */
+    public void mergeIntoBase() {
+        Set<String> names = new LinkedHashSet<String>();
+        for (Object name : getBeanNames()) {
+            names.add((String) name);
+        }
+        for (String name : names) {
+            BaseBean baseBean = baseBeans.get(name);
+            if(baseBean != null && !isModified(name, baseBean)) continue;
+
+            BeanConfiguration beanConfig = super.getBeanConfig(name);
+            if (beanConfig != null) {
+                base.addBeanConfiguration(name, beanConfig);
+            }
+            // as when registering beans, a bean definition replaces a bean configuration of the same name
+            BeanDefinition beanDefinition = super.getBeanDefinition(name);
+            if (beanDefinition != null) {
+                base.addBeanDefinition(name, beanDefinition);
+            }
+        }
+        for (Map.Entry<String, List> entry : aliases.entrySet()) {
+            for (Object alias : entry.getValue()) {
+                base.addAlias((String) alias, entry.getKey());
+            }
+        }
+        for (BeanFactoryPostProcessor processor : postProcessors) {
+            base.registerPostProcessor(processor);
+        }
+    }
+
+    /**
+     * The definitions of a base bean at the time it was copied into the layer
+     */
+    private static class BaseBean {
+        BeanDefinition beanConfigDefinition;
+        BeanDefinition beanDefinition;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.compiler.injection;
+
+import grails.persistence.ChangeTracking;
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.AnnotatedNode;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.transform.ASTTransformation;
+import org.codehaus.groovy.transform.GroovyASTTransformation;
+
+/**
+ * An AST transformation that injects change tracking into domain classes annotated with &#064;ChangeTracking
+ *
+ * @see ChangeTrackingDomainClassInjector
+ * @since 1.3
+ */
+@GroovyASTTransformation(phase = CompilePhase.CANONICALIZATION)
+public class ChangeTrackingASTTransformation implements ASTTransformation {
+
+    private static final ClassNode MY_TYPE = new ClassNode(ChangeTracking.class);
+    private static final String MY_TYPE_NAME = "@" + MY_TYPE.getNameWithoutPackage();
+
+    public void visit(ASTNode[] astNodes, SourceUnit sourceUnit) {
+        if (!(astNodes[0] instanceof AnnotationNode) || !(astNodes[1] instanceof AnnotatedNode)) {
+            throw new RuntimeException("Internal error: wrong types: " + astNodes[0].getClass() + " / " + astNodes[1].getClass());
+        }
+
+        AnnotatedNode parent = (AnnotatedNode) astNodes[1];
+        AnnotationNode node = (AnnotationNode) astNodes[0];
+        if (!MY_TYPE.equals(node.getClassNode())) return;
+
+        if(parent instanceof ClassNode) {
+            ClassNode cNode = (ClassNode) parent;
+            if (cNode.isInterface()) {
+                throw new RuntimeException("Error processing interface '" + cNode.getName() + "'. " + MY_TYPE_NAME + " not allowed for interfaces.");
+            }
+
+            new ChangeTrackingDomainClassInjector().performInjection(sourceUnit, cNode);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.compiler.injection;
+
+import grails.persistence.ChangeTracking;
+import org.codehaus.groovy.ast.*;
+import org.codehaus.groovy.ast.expr.*;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.ast.stmt.ReturnStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.grails.commons.GrailsClassUtils;
+import org.codehaus.groovy.grails.commons.GrailsResourceUtils;
+import org.codehaus.groovy.grails.orm.support.ChangeTrackable;
+import org.codehaus.groovy.syntax.Token;
+import org.codehaus.groovy.syntax.Types;
+
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Injects change tracking into a domain class. Each property gets a setter that marks the instance as
+ * changed and assignments to property fields made from within the class's own methods are wrapped so that
+ * they mark the instance as changed too. The class is made to implement {@link ChangeTrackable}.
+ *
+ * @see grails.persistence.ChangeTracking
+ * @since 1.3
+ */
+public class ChangeTrackingDomainClassInjector implements GrailsDomainClassInjector {
+
+    private static final ClassNode CHANGE_TRACKABLE = new ClassNode(ChangeTrackable.class);
+    private static final ClassNode CHANGE_TRACKING = new ClassNode(ChangeTracking.class);
+
+    private static final String CHANGED_FIELD = "$changed";
+    private static final String HAS_CHANGED = "hasChanged";
+    private static final String MARK_CHANGED = "markChanged";
+    private static final String RESET_CHANGED = "resetChanged";
+    private static final Parameter[] NO_PARAMETERS = new Parameter[0];
+    private static final ClassNode[] NO_EXCEPTIONS = new ClassNode[0];
+
+    public void performInjection(SourceUnit source, GeneratorContext context, ClassNode classNode) {
+        performInjection(source, classNode);
+    }
+
+    public void performInjection(SourceUnit source, ClassNode classNode) {
+        if(!classNode.getAnnotations(CHANGE_TRACKING).isEmpty()) {
+            performInjectionOnAnnotatedEntity(source, classNode);
+        }
+    }
+
+    public boolean shouldInject(URL url) {
+        return GrailsResourceUtils.isDomainClass(url);
+    }
+
+    public void performInjectionOnAnnotatedEntity(ClassNode classNode) {
+        performInjectionOnAnnotatedEntity(null, classNode);
+    }
+
+    private void performInjectionOnAnnotatedEntity(final SourceUnit source, ClassNode classNode) {
+        if(!isTrackedSuperClass(classNode.getSuperClass())) {
+            injectChangeTrackingMethods(classNode);
+        }
+
+        List<MethodNode> setters = new ArrayList<MethodNode>();
+        final Set<String> trackedProperties = new HashSet<String>();
+        for (Object o : classNode.getProperties()) {
+            PropertyNode pn = (PropertyNode) o;
+            if(pn.isStatic() || pn.getField() == null) continue;
+
+            trackedProperties.add(pn.getName());
+            String setterName = GrailsClassUtils.getSetterName(pn.getName());
+            Parameter[] parameters = new Parameter[] { new Parameter(pn.getType(), "value") };
+            if(classNode.getDeclaredMethod(setterName, parameters) == null) {
+                BlockStatement setterBody = new BlockStatement();
+                setterBody.addStatement(new ExpressionStatement(callMarkChanged(ArgumentListExpression.EMPTY_ARGUMENTS)));
+                setterBody.addStatement(new ExpressionStatement(
+                        new BinaryExpression(new FieldExpression(pn.getField()),
+                                             Token.newSymbol(Types.EQUAL, 0, 0),
+                                             new VariableExpression("value"))));
+                setters.add(classNode.addMethod(setterName, Modifier.PUBLIC, ClassHelper.VOID_TYPE, parameters, NO_EXCEPTIONS, setterBody));
+            }
+        }
+
+        ClassCodeExpressionTransformer assignmentTracker = new ClassCodeExpressionTransformer() {
+            protected SourceUnit getSourceUnit() {
+                return source;
+            }
+
+            public Expression transform(Expression expression) {
+                if(expression instanceof BinaryExpression) {
+                    BinaryExpression be = (BinaryExpression) expression;
+                    if(Types.ofType(be.getOperation().getType(), Types.ASSIGNMENT_OPERATOR) && isTrackedProperty(be.getLeftExpression())) {
+                        be.setRightExpression(transform(be.getRightExpression()));
+                        return callMarkChanged(new ArgumentListExpression(be));
+                    }
+                }
+                else if(expression instanceof PostfixExpression) {
+                    if(isTrackedProperty(((PostfixExpression)expression).getExpression())) {
+                        return callMarkChanged(new ArgumentListExpression(expression));
+                    }
+                }
+                else if(expression instanceof PrefixExpression) {
+                    if(isTrackedProperty(((PrefixExpression)expression).getExpression())) {
+                        return callMarkChanged(new ArgumentListExpression(expression));
+                    }
+                }
+                else if(expression instanceof ClosureExpression) {
+                    // closures assign properties dynamically, hence through the tracking setters
+                    return expression;
+                }
+                return expression == null ? null : expression.transformExpression(this);
+            }
+
+            private boolean isTrackedProperty(Expression expression) {
+                if(expression instanceof VariableExpression) {
+                    Variable variable = ((VariableExpression)expression).getAccessedVariable();
+                    return (variable instanceof FieldNode || variable instanceof PropertyNode) && trackedProperties.contains(variable.getName());
+                }
+                else if(expression instanceof FieldExpression) {
+                    return trackedProperties.contains(((FieldExpression)expression).getFieldName());
+                }
+                else if(expression instanceof PropertyExpression) {
+                    PropertyExpression pe = (PropertyExpression) expression;
+                    Expression object = pe.getObjectExpression();
+                    return object instanceof VariableExpression && ((VariableExpression)object).isThisExpression() && trackedProperties.contains(pe.getPropertyAsString());
+                }
+                return false;
+            }
+        };
+
+        for (Object o : classNode.getDeclaredConstructors()) {
+            assignmentTracker.visitConstructor((ConstructorNode) o);
+        }
+        for (Object o : new ArrayList(classNode.getMethods())) {
+            MethodNode mn = (MethodNode) o;
+            if(!mn.isStatic() && !mn.isAbstract() && !setters.contains(mn)) {
+                assignmentTracker.visitMethod(mn);
+            }
+        }
+    }
+
+    private void injectChangeTrackingMethods(ClassNode classNode) {
+        if(classNode.implementsInterface(CHANGE_TRACKABLE)) return;
+
+        classNode.addInterface(CHANGE_TRACKABLE);
+        FieldNode changed = classNode.addField(CHANGED_FIELD, Modifier.PRIVATE, ClassHelper.boolean_TYPE, ConstantExpression.FALSE);
+
+        classNode.addMethod(HAS_CHANGED, Modifier.PUBLIC, ClassHelper.boolean_TYPE, NO_PARAMETERS, NO_EXCEPTIONS,
+                new ReturnStatement(new FieldExpression(changed)));
+        classNode.addMethod(MARK_CHANGED, Modifier.PUBLIC, ClassHelper.VOID_TYPE, NO_PARAMETERS, NO_EXCEPTIONS,
+                assignField(changed, ConstantExpression.TRUE));
+        classNode.addMethod(RESET_CHANGED, Modifier.PUBLIC, ClassHelper.VOID_TYPE, NO_PARAMETERS, NO_EXCEPTIONS,
+                assignField(changed, ConstantExpression.FALSE));
+
+        // markChanged(Object) marks the instance as changed and returns the result of the wrapped assignment
+        BlockStatement markChangedValue = new BlockStatement();
+        markChangedValue.addStatement(assignField(changed, ConstantExpression.TRUE));
+        markChangedValue.addStatement(new ReturnStatement(new VariableExpression("value")));
+        classNode.addMethod(MARK_CHANGED, Modifier.PUBLIC, ClassHelper.OBJECT_TYPE,
+                new Parameter[] { new Parameter(ClassHelper.OBJECT_TYPE, "value") }, NO_EXCEPTIONS, markChangedValue);
+    }
+
+    private boolean isTrackedSuperClass(ClassNode superClass) {
+        return superClass != null && (!superClass.getAnnotations(CHANGE_TRACKING).isEmpty() || superClass.implementsInterface(CHANGE_TRACKABLE));
+    }
+
+    private static Statement assignField(FieldNode field, Expression value) {
+        return new ExpressionStatement(new BinaryExpression(new FieldExpression(field), Token.newSymbol(Types.EQUAL, 0, 0), value));
+    }
+
+    private static MethodCallExpression callMarkChanged(Expression arguments) {
+        return new MethodCallExpression(VariableExpression.THIS_EXPRESSION, MARK_CHANGED, arguments);
+    }
+}
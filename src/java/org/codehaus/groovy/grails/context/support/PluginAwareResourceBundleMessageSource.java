@@ -53,6 +53,7 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
     private PathMatchingResourcePatternResolver resourceResolver;
     private Map<Locale, PropertiesHolder> cachedMergedPluginProperties = new ConcurrentHashMap<Locale, PropertiesHolder>();
     private int pluginCacheMillis = -1;
+    private volatile Map<Locale, MessageIndex> messageIndexes = new ConcurrentHashMap<Locale, MessageIndex>();
 
     public PluginAwareResourceBundleMessageSource() {
         super();
@@ -106,6 +107,9 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
 
     @Override
     protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        if(this.pluginCacheMillis < 0) {
+            return getMessageIndex(locale).getMessage(code);
+        }
         String msg =  super.resolveCodeWithoutArguments(code, locale);
 
         if(msg == null) {
@@ -117,6 +121,9 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
 
     @Override
     protected MessageFormat resolveCode(String code, Locale locale) {
+        if(this.pluginCacheMillis < 0) {
+            return getMessageIndex(locale).getMessageFormat(code);
+        }
         MessageFormat mf =  super.resolveCode(code, locale);
 
         if(mf == null) {
@@ -156,6 +163,44 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
 
 	}
 
+    /**
+     * Returns the messages of the application and its plugins for the given locale, merged into a single index.
+     * Only used when caching resource bundle contents forever, i.e. with cacheSeconds < 0.
+     *
+     * @param locale The locale
+     * @return The index of the messages
+     */
+    protected MessageIndex getMessageIndex(Locale locale) {
+        // clearCache() replaces the map, an index built from the old properties goes to the old map
+        Map<Locale, MessageIndex> indexes = this.messageIndexes;
+        MessageIndex index = indexes.get(locale);
+        if (index == null) {
+            Map<String, String> messages = new HashMap<String, String>();
+            putMessages(messages, getMergedPluginProperties(locale).getProperties());
+            // messages of the application override those of plugins
+            putMessages(messages, getMergedProperties(locale).getProperties());
+            index = new MessageIndex(messages, locale);
+            indexes.put(locale, index);
+        }
+        return index;
+    }
+
+    private void putMessages(Map<String, String> messages, Properties properties) {
+        if(properties == null) return;
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            if(entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                messages.put((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        this.cachedMergedPluginProperties.clear();
+        this.messageIndexes = new ConcurrentHashMap<Locale, MessageIndex>();
+    }
+
     @Override
     public void setCacheSeconds(int cacheSeconds) {
         this.pluginCacheMillis = (cacheSeconds * 1000);
@@ -223,6 +268,40 @@ public class PluginAwareResourceBundleMessageSource extends ReloadableResourceBu
         return null;
     }
 
+    /**
+     * The messages of the application and its plugins for one locale, with the locale fallback already resolved.
+     * An index doesn't change once it is created, reloading the messages replaces it. The MessageFormat of a
+     * message is created when the message is first formatted and shared afterwards, AbstractMessageSource
+     * synchronizes on it while formatting.
+     */
+    protected class MessageIndex {
+        private final Map<String, String> messages;
+        private final Locale locale;
+        private final ConcurrentHashMap<String, MessageFormat> messageFormats = new ConcurrentHashMap<String, MessageFormat>();
+
+        MessageIndex(Map<String, String> messages, Locale locale) {
+            this.messages = Collections.unmodifiableMap(messages);
+            this.locale = locale;
+        }
+
+        public String getMessage(String code) {
+            return messages.get(code);
+        }
+
+        public MessageFormat getMessageFormat(String code) {
+            MessageFormat messageFormat = messageFormats.get(code);
+            if (messageFormat == null) {
+                String message = messages.get(code);
+                if (message == null) return null;
+
+                messageFormat = createMessageFormat(message, locale);
+                MessageFormat existing = messageFormats.putIfAbsent(code, messageFormat);
+                if (existing != null) messageFormat = existing;
+            }
+            return messageFormat;
+        }
+    }
+
     @Override
     public void setResourceLoader(ResourceLoader resourceLoader) {
         if(Metadata.getCurrent().isWarDeployed()) {
@@ -62,7 +62,7 @@ public class GrailsHibernateDomainClass extends AbstractGrailsClass implements E
     private Validator validator;
 
     private Set subClasses = new HashSet();
-    private Map constraints = Collections.EMPTY_MAP;
+    private volatile Map constraints;
     private Map defaultConstraints = Collections.EMPTY_MAP;
     /**
      * <p/>
@@ -141,22 +141,19 @@ public class GrailsHibernateDomainClass extends AbstractGrailsClass implements E
         }
 
         this.properties = propertyMap.values().toArray(new GrailsDomainClassProperty[propertyMap.size()]);
-        // process the constraints
-        evaluateConstraints(defaultContraints);
     }
 
     /**
      * Evaluates the constraints closure to build the list of constraints
      * @param defaultContraints The default global constraints definition
+     * @return The constraints
      */
-    private void evaluateConstraints(Map<String, Object> defaultContraints) {
+    private Map evaluateConstraints(Map<String, Object> defaultContraints) {
         Map existing = (Map) getPropertyOrStaticPropertyOrFieldValue(GrailsDomainClassProperty.CONSTRAINTS, Map.class);
         if (existing == null) {
-            this.constraints = GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), getProperties(), defaultContraints);
-        }
-        else {
-            this.constraints = existing;
+            return GrailsDomainConfigurationUtil.evaluateConstraints(getClazz(), getProperties(), defaultContraints);
         }
+        return existing;
     }
 
     public boolean isOwningClass(Class domainClass) {
@@ -243,7 +240,18 @@ public class GrailsHibernateDomainClass extends AbstractGrailsClass implements E
     }
 
     public Map getConstrainedProperties() {
-        return this.constraints;
+        Map evaluated = this.constraints;
+        if (evaluated == null) {
+            // request threads may ask for the constraints at the same time after a refresh
+            synchronized (this) {
+                evaluated = this.constraints;
+                if (evaluated == null) {
+                    evaluated = evaluateConstraints(this.defaultConstraints);
+                    this.constraints = evaluated;
+                }
+            }
+        }
+        return evaluated;
     }
 
     public Validator getValidator() {
@@ -267,8 +275,11 @@ public class GrailsHibernateDomainClass extends AbstractGrailsClass implements E
         return this.subClasses;
     }
 
+    /**
+     * Discards the evaluated constraints so that they are evaluated again when they are next used
+     */
     public void refreshConstraints() {
-        this.evaluateConstraints(this.defaultConstraints);
+        this.constraints = null;
     }
 
     public boolean isRoot() {
@@ -2599,15 +2599,9 @@ public final class GrailsDomainBinder {
      * @return the <code>ConstrainedProperty</code> object representing the property's constraints
      */
     private static ConstrainedProperty getConstrainedProperty(GrailsDomainClassProperty grailsProp) {
-        ConstrainedProperty constrainedProperty = null;
+        // the constraints are keyed by property name
         Map constraints = grailsProp.getDomainClass().getConstrainedProperties();
-        for (Iterator constrainedPropertyIter = constraints.values().iterator(); constrainedPropertyIter.hasNext() && (constrainedProperty == null);) {
-            ConstrainedProperty tmpConstrainedProperty = (ConstrainedProperty) constrainedPropertyIter.next();
-            if (tmpConstrainedProperty.getPropertyName().equals(grailsProp.getName())) {
-                constrainedProperty = tmpConstrainedProperty;
-            }
-        }
-        return constrainedProperty;
+        return (ConstrainedProperty) constraints.get(grailsProp.getName());
     }
 
     /**
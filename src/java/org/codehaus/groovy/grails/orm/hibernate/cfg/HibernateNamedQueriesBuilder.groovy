@@ -29,6 +29,7 @@ class HibernateNamedQueriesBuilder {
 
     private final domainClass
     private final dynamicMethods
+    private final boolean compileQueries
 
     /**
      * @param domainClass the GrailsDomainClass defining the named queries
@@ -50,6 +51,7 @@ class HibernateNamedQueriesBuilder {
                 new ListOrderByPersistentMethod(sessionFactory, classLoader)
         ]
 
+        compileQueries = grailsApplication.config?.grails?.gorm?.namedQueries?.compile == true
     }
 
 	def evaluate(Closure namedQueriesClosure) {
@@ -61,10 +63,12 @@ class HibernateNamedQueriesBuilder {
 
     private handleMethodMissing = {String name, args ->
         def propertyName = name[0].toUpperCase() + name[1..-1]
+        def compiledCriteria = compileQueries ? new NamedCriteriaTemplate(args[0]) : null
         domainClass.metaClass.static."get${propertyName}" = {->
             // creating a new proxy each time because the proxy class has
             // some state that cannot be shared across requests (namedCriteriaParams)
-            new NamedCriteriaProxy(criteriaClosure: args[0], domainClass: domainClass, dynamicMethods: dynamicMethods)
+            new NamedCriteriaProxy(criteriaClosure: args[0], compiledCriteria: compiledCriteria,
+                    domainClass: domainClass, dynamicMethods: dynamicMethods)
         }
     }
 
@@ -79,6 +83,7 @@ class HibernateNamedQueriesBuilder {
 class NamedCriteriaProxy {
 
     private criteriaClosure
+    private NamedCriteriaTemplate compiledCriteria
     private domainClass
     private dynamicMethods
     private namedCriteriaParams
@@ -183,10 +188,13 @@ class NamedCriteriaProxy {
     }
 
     private getPreparedCriteriaClosure(additionalCriteriaClosure = null) {
-		def closureClone = criteriaClosure.clone()
-		closureClone.resolveStrategy = Closure.DELEGATE_FIRST
-		if (namedCriteriaParams) {
-			closureClone = closureClone.curry(namedCriteriaParams)
+		def closureClone = compiledCriteria?.bind(namedCriteriaParams as Object[])
+		if (closureClone == null) {
+			closureClone = criteriaClosure.clone()
+			closureClone.resolveStrategy = Closure.DELEGATE_FIRST
+			if (namedCriteriaParams) {
+				closureClone = closureClone.curry(namedCriteriaParams)
+			}
 		}
 		def c = {
 			closureClone.delegate = delegate
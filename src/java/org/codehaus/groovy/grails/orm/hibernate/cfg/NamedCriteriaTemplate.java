@@ -0,0 +1,469 @@
+/*
+ * Copyright 2003-2009 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.cfg;
+
+import grails.orm.HibernateCriteriaBuilder;
+import groovy.lang.Closure;
+import groovy.lang.GString;
+import groovy.lang.GroovyInterceptable;
+import groovy.lang.GroovyObjectSupport;
+import groovy.lang.MissingMethodException;
+import groovy.lang.MissingPropertyException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.commons.GrailsClassUtils;
+import org.codehaus.groovy.runtime.GStringImpl;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.hibernate.Criteria;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A named query criteria closure compiled into a reusable template. The closure is evaluated once per
+ * number of arguments against a recording delegate, with placeholder objects standing in for the arguments.
+ * The recorded builder calls are then replayed against a {@link HibernateCriteriaBuilder}, binding the
+ * actual arguments into the placeholder slots, so the closure body is no longer evaluated on each call.
+ * Calls to criteria methods the builder declares, such as <code>eq</code> or <code>order</code>, are bound
+ * to those methods when they are recorded and invoked reflectively. Nested blocks (associations, <code>and</code>,
+ * <code>projections</code>...), property assignments and calls whose arguments don't fit the declared methods
+ * still go through the builder's dynamic dispatch.</p>
+ *
+ * <p>A closure that branches on its arguments cannot be compiled. This is detected by the placeholders
+ * refusing to be used other than as plain values, and by recording the closure a second time with null
+ * arguments and comparing both recordings. Closures that declare typed parameters cannot accept the
+ * placeholders either. Such closures are evaluated as normal and a warning is logged. Note that the remaining
+ * values are captured when the template is compiled, so compiled closures must not depend on anything other
+ * than their arguments (such as the current date).</p>
+ *
+ * @since 1.3
+ */
+public class NamedCriteriaTemplate {
+
+    private static final Log LOG = LogFactory.getLog(NamedCriteriaTemplate.class);
+    private static final Object NOT_COMPILABLE = new Object();
+    private static final Set<String> BUILDER_METHODS = new HashSet<String>();
+    private static final Map<String, List<Method>> CRITERIA_METHODS = new HashMap<String, List<Method>>();
+
+    static {
+        for (Method method : HibernateCriteriaBuilder.class.getMethods()) {
+            BUILDER_METHODS.add(method.getName());
+            if(method.getDeclaringClass() == HibernateCriteriaBuilder.class && !Modifier.isStatic(method.getModifiers())) {
+                List<Method> methods = CRITERIA_METHODS.get(method.getName());
+                if(methods == null) {
+                    methods = new ArrayList<Method>();
+                    CRITERIA_METHODS.put(method.getName(), methods);
+                }
+                methods.add(method);
+            }
+        }
+        for (Method method : Criteria.class.getMethods()) {
+            BUILDER_METHODS.add(method.getName());
+            if(method.getName().startsWith("set")) {
+                BUILDER_METHODS.add(GrailsClassUtils.getPropertyForSetter(method.getName()));
+            }
+        }
+        BUILDER_METHODS.addAll(Arrays.asList(HibernateCriteriaBuilder.IS_NULL, HibernateCriteriaBuilder.IS_NOT_NULL,
+                HibernateCriteriaBuilder.IS_EMPTY, HibernateCriteriaBuilder.IS_NOT_EMPTY, HibernateCriteriaBuilder.ID_EQUALS));
+    }
+
+    private final Closure criteriaClosure;
+    private final Map<Integer, Object> templates = new ConcurrentHashMap<Integer, Object>();
+
+    public NamedCriteriaTemplate(Closure criteriaClosure) {
+        this.criteriaClosure = criteriaClosure;
+    }
+
+    /**
+     * Binds the given arguments to the compiled criteria
+     *
+     * @param params The named query arguments, possibly null
+     * @return A closure that applies the criteria to its delegate or null if the criteria closure cannot be compiled
+     * and has to be evaluated instead
+     */
+    public Closure bind(Object[] params) {
+        if(params == null) params = new Object[0];
+        Object template = templates.get(params.length);
+        if(template == null) {
+            template = compile(params.length);
+            templates.put(params.length, template);
+        }
+        if(template == NOT_COMPILABLE) return null;
+        return new BoundCriteria(criteriaClosure, (List<Node>) template, params);
+    }
+
+    private Object compile(int parameterCount) {
+        for (Class type : criteriaClosure.getParameterTypes()) {
+            if(type != Object.class) {
+                LOG.warn("Named query criteria declaring typed parameters cannot be compiled and will be evaluated on each call");
+                return NOT_COMPILABLE;
+            }
+        }
+        try {
+            Object[] parameters = new Object[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                parameters[i] = new Parameter(i);
+            }
+            List<Node> recorded = record(parameters);
+            List<Node> recordedWithNulls = record(new Object[parameterCount]);
+            if(nodesMatch(recorded, recordedWithNulls)) {
+                return recorded;
+            }
+            LOG.warn("Named query criteria depend on their arguments and will be evaluated on each call");
+        }
+        catch (RuntimeException e) {
+            LOG.warn("Named query criteria cannot be compiled and will be evaluated on each call: " + e.getMessage());
+        }
+        return NOT_COMPILABLE;
+    }
+
+    private List<Node> record(Object[] arguments) {
+        Closure closure = (Closure) criteriaClosure.clone();
+        if(arguments.length > 0) {
+            closure = closure.curry(arguments);
+        }
+        return new Recorder().record(closure);
+    }
+
+    private static boolean nodesMatch(List<Node> nodes, List<Node> others) {
+        if(nodes.size() != others.size()) return false;
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            Node other = others.get(i);
+            if(!node.name.equals(other.name) || node.property != other.property || !valuesMatch(node.args, other.args)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares a value recorded with parameter placeholders to the one recorded with null arguments
+     */
+    private static boolean valuesMatch(Object value, Object other) {
+        if(value instanceof Parameter) {
+            return other == null;
+        }
+        if(value instanceof Nested) {
+            return other instanceof Nested && nodesMatch(((Nested) value).nodes, ((Nested) other).nodes);
+        }
+        if(value instanceof GString) {
+            return other instanceof GString &&
+                    Arrays.equals(((GString) value).getStrings(), ((GString) other).getStrings()) &&
+                    valuesMatch(((GString) value).getValues(), ((GString) other).getValues());
+        }
+        if(value instanceof Object[]) {
+            if(!(other instanceof Object[])) return false;
+            Object[] values = (Object[]) value;
+            Object[] others = (Object[]) other;
+            if(values.length != others.length) return false;
+            for (int i = 0; i < values.length; i++) {
+                if(!valuesMatch(values[i], others[i])) return false;
+            }
+            return true;
+        }
+        if(value instanceof Collection) {
+            return other instanceof Collection &&
+                    valuesMatch(((Collection) value).toArray(), ((Collection) other).toArray());
+        }
+        if(value instanceof Map) {
+            if(!(other instanceof Map) || ((Map) value).size() != ((Map) other).size()) return false;
+            for (Object o : ((Map) value).entrySet()) {
+                Map.Entry entry = (Map.Entry) o;
+                if(!((Map) other).containsKey(entry.getKey()) || !valuesMatch(entry.getValue(), ((Map) other).get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value == null ? other == null : value.equals(other);
+    }
+
+    private static boolean containsParameter(Object value) {
+        if(value instanceof Parameter) {
+            return true;
+        }
+        if(value instanceof GString) {
+            return containsParameter(((GString) value).getValues());
+        }
+        if(value instanceof Object[]) {
+            for (Object o : (Object[]) value) {
+                if(containsParameter(o)) return true;
+            }
+        }
+        else if(value instanceof Collection) {
+            return containsParameter(((Collection) value).toArray());
+        }
+        else if(value instanceof Map) {
+            return containsParameter(((Map) value).values().toArray());
+        }
+        return false;
+    }
+
+    private static Object bindValue(Object value, Object[] params) {
+        if(value instanceof Parameter) {
+            return params[((Parameter) value).index];
+        }
+        if(value instanceof GString) {
+            GString gstring = (GString) value;
+            return new GStringImpl((Object[]) bindValue(gstring.getValues(), params), gstring.getStrings());
+        }
+        if(value instanceof Object[]) {
+            Object[] values = ((Object[]) value).clone();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = bindValue(values[i], params);
+            }
+            return values;
+        }
+        if(value instanceof Set) {
+            Set<Object> bound = new LinkedHashSet<Object>();
+            for (Object o : (Set) value) {
+                bound.add(bindValue(o, params));
+            }
+            return bound;
+        }
+        if(value instanceof Collection) {
+            List<Object> bound = new ArrayList<Object>();
+            for (Object o : (Collection) value) {
+                bound.add(bindValue(o, params));
+            }
+            return bound;
+        }
+        if(value instanceof Map) {
+            Map<Object, Object> bound = new LinkedHashMap<Object, Object>();
+            for (Object o : ((Map) value).entrySet()) {
+                Map.Entry entry = (Map.Entry) o;
+                bound.put(entry.getKey(), bindValue(entry.getValue(), params));
+            }
+            return bound;
+        }
+        return value;
+    }
+
+    /**
+     * A recorded builder method call or property assignment
+     */
+    private static class Node {
+        final String name;
+        final boolean property;
+        final Object[] args;
+        final boolean[] bindable;
+        final List<Method> methods;
+
+        Node(String name, boolean property, Object[] args) {
+            this.name = name;
+            this.property = property;
+            this.args = args;
+            this.bindable = new boolean[args.length];
+            boolean nested = false;
+            for (int i = 0; i < args.length; i++) {
+                bindable[i] = containsParameter(args[i]);
+                nested |= args[i] instanceof Nested;
+            }
+            this.methods = property || nested ? null : findCriteriaMethods(name, args.length);
+        }
+
+        private static List<Method> findCriteriaMethods(String name, int parameterCount) {
+            List<Method> candidates = CRITERIA_METHODS.get(name);
+            if(candidates == null) return null;
+            List<Method> methods = new ArrayList<Method>();
+            for (Method method : candidates) {
+                if(method.getParameterTypes().length == parameterCount) {
+                    methods.add(method);
+                }
+            }
+            return methods.isEmpty() ? null : methods;
+        }
+
+        /**
+         * @return The declared builder method accepting the given arguments, or null if the call has to be
+         * dispatched dynamically, for example to coerce a GString into a String
+         */
+        private Method findMethod(Object delegate, Object[] arguments) {
+            if(methods == null || !(delegate instanceof HibernateCriteriaBuilder)) return null;
+            for (Method method : methods) {
+                Class[] parameterTypes = method.getParameterTypes();
+                boolean matches = true;
+                for (int i = 0; i < parameterTypes.length && matches; i++) {
+                    matches = ClassUtils.isAssignableValue(parameterTypes[i], arguments[i]);
+                }
+                if(matches) return method;
+            }
+            return null;
+        }
+
+        void apply(Object delegate, Closure owner, Object[] params) {
+            Object[] arguments = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                if(arg instanceof Nested) {
+                    arguments[i] = new BoundCriteria(owner, ((Nested) arg).nodes, params);
+                }
+                else {
+                    arguments[i] = bindable[i] ? bindValue(arg, params) : arg;
+                }
+            }
+            if(property) {
+                InvokerHelper.setProperty(delegate, name, arguments[0]);
+                return;
+            }
+            Method method = findMethod(delegate, arguments);
+            if(method != null) {
+                ReflectionUtils.invokeMethod(method, delegate, arguments);
+            }
+            else {
+                InvokerHelper.invokeMethod(delegate, name, arguments);
+            }
+        }
+    }
+
+    /**
+     * The recorded calls of a nested criteria closure such as an association, "and" or "projections" block
+     */
+    private static class Nested {
+        final List<Node> nodes;
+
+        Nested(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    /**
+     * Stands in for a named query argument while the criteria closure is recorded. Using it in any way other
+     * than passing it on to the builder means the closure depends on the value of its arguments.
+     */
+    private static class Parameter extends GroovyObjectSupport implements GroovyInterceptable {
+        final int index;
+
+        Parameter(int index) {
+            this.index = index;
+        }
+
+        public Object invokeMethod(String name, Object args) {
+            throw new IllegalStateException("Argument [" + index + "] is used by method [" + name + "]");
+        }
+
+        public Object getProperty(String property) {
+            throw new IllegalStateException("Argument [" + index + "] is used by property [" + property + "]");
+        }
+
+        public void setProperty(String property, Object newValue) {
+            throw new IllegalStateException("Argument [" + index + "] is used by property [" + property + "]");
+        }
+
+        public boolean equals(Object obj) {
+            if(obj == this) return true;
+            throw new IllegalStateException("Argument [" + index + "] is compared");
+        }
+
+        public int hashCode() {
+            return index;
+        }
+
+        public String toString() {
+            throw new IllegalStateException("Argument [" + index + "] is converted to a String");
+        }
+    }
+
+    /**
+     * Records the builder calls made by a criteria closure. Anything the builder doesn't understand is
+     * left to the owner of the closure.
+     */
+    private static class Recorder extends GroovyObjectSupport {
+        private final List<Node> nodes = new ArrayList<Node>();
+
+        List<Node> record(Closure closure) {
+            closure.setDelegate(this);
+            closure.setResolveStrategy(Closure.DELEGATE_FIRST);
+            closure.call();
+            return nodes;
+        }
+
+        public Object invokeMethod(String name, Object args) {
+            Object[] arguments = args instanceof Object[] ? ((Object[]) args).clone() : new Object[]{args};
+            boolean nested = arguments.length > 0 && arguments[arguments.length - 1] instanceof Closure;
+            if(!nested && !BUILDER_METHODS.contains(name)) {
+                throw new MissingMethodException(name, getClass(), arguments);
+            }
+            for (int i = 0; i < arguments.length; i++) {
+                if(arguments[i] instanceof Closure) {
+                    Closure closure = (Closure) ((Closure) arguments[i]).clone();
+                    arguments[i] = new Nested(new Recorder().record(closure));
+                }
+            }
+            nodes.add(new Node(name, false, arguments));
+            return null;
+        }
+
+        public Object getProperty(String property) {
+            throw new MissingPropertyException(property, getClass());
+        }
+
+        public void setProperty(String property, Object newValue) {
+            if(!BUILDER_METHODS.contains(GrailsClassUtils.getSetterName(property))) {
+                throw new MissingPropertyException(property, getClass());
+            }
+            nodes.add(new Node(property, true, new Object[]{newValue}));
+        }
+    }
+
+    /**
+     * Applies recorded criteria with bound arguments to the delegate of the closure, which is the builder
+     */
+    private static class BoundCriteria extends Closure {
+        private static final long serialVersionUID = 1L;
+        private final List<Node> nodes;
+        private final Object[] params;
+
+        BoundCriteria(Closure criteriaClosure, List<Node> nodes, Object[] params) {
+            super(criteriaClosure.getOwner(), criteriaClosure.getThisObject());
+            this.nodes = nodes;
+            this.params = params;
+        }
+
+        private Object apply() {
+            Object delegate = getDelegate();
+            for (Node node : nodes) {
+                node.apply(delegate, this, params);
+            }
+            return null;
+        }
+
+        public Object doCall() {
+            return apply();
+        }
+
+        public Object doCall(Object arguments) {
+            return apply();
+        }
+
+        public Object call() {
+            return apply();
+        }
+
+        public Object call(Object[] args) {
+            return apply();
+        }
+
+        public Object call(Object arguments) {
+            return apply();
+        }
+    }
+}
@@ -19,12 +19,15 @@ import grails.orm.HibernateCriteriaBuilder;
 import groovy.lang.Closure;
 import org.codehaus.groovy.grails.commons.metaclass.AbstractStaticMethodInvocation;
 import org.codehaus.groovy.grails.orm.hibernate.cfg.GrailsHibernateUtil;
+import org.codehaus.groovy.grails.orm.hibernate.support.QueryResultCache;
 import org.hibernate.Criteria;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.util.Assert;
 
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -39,6 +42,7 @@ public abstract class AbstractStaticPersistentMethod extends
 		AbstractStaticMethodInvocation {
 	private ClassLoader classLoader = null;
 	private HibernateTemplate hibernateTemplate;
+	private QueryResultCache queryResultCache;
 
     public AbstractStaticPersistentMethod(SessionFactory sessionFactory, ClassLoader classLoader, Pattern pattern) {
 		super();
@@ -52,6 +56,29 @@ public abstract class AbstractStaticPersistentMethod extends
     protected HibernateTemplate getHibernateTemplate() {
     	return hibernateTemplate;
     }
+
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    protected QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Lists the results of the given criteria, going through the query result cache if the
+     * arguments request it
+     *
+     * @param criteria The criteria
+     * @param argMap The query arguments
+     * @return The results
+     */
+    protected List listCriteria(Criteria criteria, Map argMap) {
+        if(queryResultCache != null && QueryResultCache.isCacheRequested(argMap)) {
+            return queryResultCache.list(criteria, argMap.get(QueryResultCache.ARGUMENT_QUERY_CACHE));
+        }
+        return criteria.list();
+    }
     
 	public Object invoke(Class clazz, String methodName, Object[] arguments) {
         return invoke(clazz, methodName, null, arguments);
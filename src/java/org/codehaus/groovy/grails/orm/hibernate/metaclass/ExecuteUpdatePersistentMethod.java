@@ -7,6 +7,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.engine.SessionFactoryImplementor;
 import org.springframework.orm.hibernate3.HibernateCallback;
 import org.springframework.orm.hibernate3.SessionFactoryUtils;
 
@@ -69,7 +70,11 @@ public class ExecuteUpdatePersistentMethod extends AbstractStaticPersistentMetho
 						q.setParameter(parameterName, parameterValue);
 					}
 				}
-				return q.executeUpdate();
+				int updated = q.executeUpdate();
+				if (getQueryResultCache() != null) {
+					getQueryResultCache().invalidate((SessionFactoryImplementor) session.getSessionFactory(), arguments[0].toString());
+				}
+				return updated;
 			}
 		});
 	}
@@ -77,7 +77,7 @@ public class FindAllByPersistentMethod extends
                 }
 
                 c.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
-				return c.list();
+				return listCriteria(c, argsMap);
 			}
 		});
 	}
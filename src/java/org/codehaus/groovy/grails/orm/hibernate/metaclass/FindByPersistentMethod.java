@@ -26,6 +26,7 @@ import org.hibernate.criterion.Restrictions;
 import org.springframework.orm.hibernate3.HibernateCallback;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -63,9 +64,10 @@ public class FindByPersistentMethod extends AbstractClausedStaticPersistentMetho
 
 				
 				Criteria crit = getCriteria(session, additionalCriteria, clazz);
+				Map argMap = Collections.EMPTY_MAP;
 				if(arguments.length > 0) {
 					if(arguments[0] instanceof Map) {
-						Map argMap = (Map)arguments[0];
+						argMap = (Map)arguments[0];
 						GrailsHibernateUtil.populateArgumentsForCriteria(clazz, crit,argMap);
                         if(!argMap.containsKey(GrailsHibernateUtil.ARGUMENT_FETCH)) {
                             crit.setMaxResults(1);
@@ -93,7 +95,7 @@ public class FindByPersistentMethod extends AbstractClausedStaticPersistentMetho
                 }
 
 
-                final List list = crit.list();
+                final List list = listCriteria(crit, argMap);
                 if(!list.isEmpty()) {
                     return GrailsHibernateUtil.unwrapIfProxy(list.get(0));
                 }
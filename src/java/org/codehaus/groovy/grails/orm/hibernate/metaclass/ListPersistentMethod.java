@@ -56,15 +56,13 @@ public class ListPersistentMethod extends AbstractStaticPersistentMethod {
                     Criteria c =  session
                         .createCriteria(clazz);
 
+                    Map argMap = Collections.EMPTY_MAP;
                     if(arguments.length > 0 && arguments[0] instanceof Map) {
-                        Map argMap = (Map)arguments[0];
-                        GrailsHibernateUtil.populateArgumentsForCriteria(clazz, c,argMap);
-                    }
-                    else {
-                        GrailsHibernateUtil.populateArgumentsForCriteria(clazz, c, Collections.EMPTY_MAP);                        
+                        argMap = (Map)arguments[0];
                     }
+                    GrailsHibernateUtil.populateArgumentsForCriteria(clazz, c, argMap);
                     c.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
-                    return c.list();
+                    return listCriteria(c, argMap);
                 }
 
             }
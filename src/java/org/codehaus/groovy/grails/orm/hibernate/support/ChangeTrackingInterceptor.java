@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.support;
+
+import grails.persistence.ChangeTracking;
+import org.codehaus.groovy.grails.orm.support.ChangeTrackable;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Hibernate interceptor that short-circuits flush-time dirty checking of entities annotated with
+ * &#064;ChangeTracking. Entities that report no changes are considered clean without comparing their
+ * properties against the loaded snapshot, all others fall back to Hibernate's default dirty checking.
+ *
+ * <p>Entities with embedded components are never short-circuited since their components can be
+ * modified without assigning a property of the entity
+ *
+ * @see ChangeTrackable
+ * @since 1.3
+ */
+public class ChangeTrackingInterceptor extends EmptyInterceptor {
+
+    private static final long serialVersionUID = 1L;
+    private static final int[] NOT_DIRTY = new int[0];
+
+    private Map<Class, Boolean> trackedClasses = new ConcurrentHashMap<Class, Boolean>();
+
+    public int[] findDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState, String[] propertyNames, Type[] types) {
+        if(entity instanceof ChangeTrackable && isTracked(entity.getClass(), types) && !((ChangeTrackable)entity).hasChanged()) {
+            return NOT_DIRTY;
+        }
+        return null;
+    }
+
+    private boolean isTracked(Class entityClass, Type[] types) {
+        Boolean tracked = trackedClasses.get(entityClass);
+        if(tracked == null) {
+            tracked = entityClass.isAnnotationPresent(ChangeTracking.class);
+            for (int i = 0; tracked && i < types.length; i++) {
+                if(types[i].isComponentType()) tracked = false;
+            }
+            trackedClasses.put(entityClass, tracked);
+        }
+        return tracked;
+    }
+}
@@ -21,6 +21,7 @@ import org.codehaus.groovy.grails.commons.GrailsDomainClassProperty
 import org.codehaus.groovy.grails.orm.hibernate.cfg.GrailsDomainBinder
 import org.codehaus.groovy.grails.orm.hibernate.cfg.Mapping
 import org.codehaus.groovy.grails.orm.hibernate.events.SaveOrUpdateEventListener
+import org.codehaus.groovy.grails.orm.support.ChangeTrackable
 import org.hibernate.EntityMode
 import org.hibernate.engine.EntityEntry
 import org.hibernate.persister.entity.EntityPersister
@@ -129,11 +130,13 @@ class ClosureEventTriggeringInterceptor extends SaveOrUpdateEventListener implem
 
         if(shouldTrigger(entity)) {
             applicationContext?.autowireCapableBeanFactory?.autowireBeanProperties(entity,AutowireCapableBeanFactory.AUTOWIRE_BY_NAME, false)
+            resetChanges(entity)
             triggerEvent(AFTER_LOAD_EVENT, entity, event)
         }
     }
 
     public void onPostInsert(PostInsertEvent event) {
+        resetChanges(event.entity)
         if(shouldTrigger(event.entity)) {
             triggerEvent(AFTER_INSERT_EVENT, event.entity, event)
         }
@@ -174,6 +177,7 @@ class ClosureEventTriggeringInterceptor extends SaveOrUpdateEventListener implem
     }
 
     public void onPostUpdate(PostUpdateEvent event) {
+        resetChanges(event.entity)
         if(shouldTrigger(event.entity))
             triggerEvent(AFTER_UPDATE_EVENT, event.entity, event)
     }
@@ -188,6 +192,12 @@ class ClosureEventTriggeringInterceptor extends SaveOrUpdateEventListener implem
             return triggerEvent(BEFORE_DELETE_EVENT,event.entity, event)
     }
 
+    private void resetChanges(entity) {
+        if(entity instanceof ChangeTrackable) {
+            entity.resetChanged()
+        }
+    }
+
     private transient ApplicationContext applicationContext
 
     public void setApplicationContext(ApplicationContext applicationContext) {
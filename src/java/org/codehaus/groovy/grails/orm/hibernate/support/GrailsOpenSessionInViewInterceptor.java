@@ -14,6 +14,14 @@
  */
 package org.codehaus.groovy.grails.orm.hibernate.support;
 
+import grails.orm.ReadOnly;
+import grails.util.Environment;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.commons.ControllerActionDescriptor;
+import org.codehaus.groovy.grails.commons.ControllerArtefactHandler;
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.commons.GrailsControllerClass;
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.sitemesh.GrailsContentBufferingResponse;
@@ -26,15 +34,28 @@ import org.springframework.orm.hibernate3.SessionHolder;
 import org.springframework.orm.hibernate3.support.OpenSessionInViewInterceptor;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.ui.ModelMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An interceptor that extends the default spring OSIVI and doesn't flush the session if it has been set
  * to MANUAL on the session itself
  *
+ * <p>Requests can opt into a read-only session either by HTTP method (see {@link #setReadOnlyRequestMethods(java.util.Collection)})
+ * or by annotating the controller or action with {@link grails.orm.ReadOnly}. Read-only sessions use FlushMode.MANUAL
+ * and the entities they load are marked read-only by the {@link ReadOnlySessionEventListener}
+ *
  * @author Graeme Rocher
  * @since 0.5
  *
@@ -44,7 +65,46 @@ import javax.servlet.http.HttpServletResponse;
  */
 public class GrailsOpenSessionInViewInterceptor extends OpenSessionInViewInterceptor {
 
+    private static final Log LOG = LogFactory.getLog(GrailsOpenSessionInViewInterceptor.class);
     private static final String IS_FLOW_REQUEST_ATTRIBUTE = "org.codehaus.groovy.grails.webflow.flow_request";
+    public static final String READ_ONLY_SESSION_ATTRIBUTE = "org.codehaus.groovy.grails.hibernate.read_only_session";
+
+    private static final Object NOT_ANNOTATED = new Object();
+
+    private Set<String> readOnlyRequestMethods = Collections.emptySet();
+    private Map<ControllerActionDescriptor, Object> readOnlyActions = new ConcurrentHashMap<ControllerActionDescriptor, Object>();
+    private AtomicLong readOnlyRequestCount = new AtomicLong();
+    private AtomicLong readOnlyEntityCount = new AtomicLong();
+
+    /**
+     * Sets the HTTP methods (for example GET and HEAD) whose requests should use a read-only session unless
+     * the action is annotated with &#064;ReadOnly(false)
+     *
+     * @param methods The HTTP methods
+     */
+    public void setReadOnlyRequestMethods(Collection<String> methods) {
+        Set<String> upperCased = new HashSet<String>();
+        if(methods != null) {
+            for (String method : methods) {
+                upperCased.add(method.toUpperCase());
+            }
+        }
+        this.readOnlyRequestMethods = upperCased;
+    }
+
+    /**
+     * @return The number of requests that have been served with a read-only session
+     */
+    public long getReadOnlyRequestCount() {
+        return readOnlyRequestCount.get();
+    }
+
+    /**
+     * @return The number of entities loaded by read-only sessions, and hence excluded from flush-time dirty checking
+     */
+    public long getReadOnlyEntityCount() {
+        return readOnlyEntityCount.get();
+    }
 
     public void preHandle(WebRequest request) throws DataAccessException {
         GrailsWebRequest webRequest = (GrailsWebRequest) request.getAttribute(GrailsApplicationAttributes.WEB_REQUEST, WebRequest.SCOPE_REQUEST);
@@ -54,6 +114,15 @@ public class GrailsOpenSessionInViewInterceptor extends OpenSessionInViewInterce
         }
         else {
             super.preHandle(request);
+            if(isReadOnlyRequest(webRequest)) {
+                SessionHolder sessionHolder =
+                        (SessionHolder) TransactionSynchronizationManager.getResource(getSessionFactory());
+
+                Session session = sessionHolder.getSession();
+                session.setFlushMode(FlushMode.MANUAL);
+                webRequest.setAttribute(READ_ONLY_SESSION_ATTRIBUTE, session, WebRequest.SCOPE_REQUEST);
+                readOnlyRequestCount.incrementAndGet();
+            }
         }
     }
 
@@ -69,11 +138,67 @@ public class GrailsOpenSessionInViewInterceptor extends OpenSessionInViewInterce
 
                 Session session = sessionHolder.getSession();
                 session.setFlushMode(FlushMode.MANUAL);
+                if(request.getAttribute(READ_ONLY_SESSION_ATTRIBUTE, WebRequest.SCOPE_REQUEST) == session) {
+                    int entityCount = session.getStatistics().getEntityCount();
+                    readOnlyEntityCount.addAndGet(entityCount);
+                    if(LOG.isDebugEnabled()) {
+                        LOG.debug("Read-only session skipped dirty checking of [" + entityCount + "] entities for request [" + request.getDescription(false) + "]");
+                    }
+                }
             }
 
         }
     }
 
+    /**
+     * Returns whether the given request should use a read-only session. A &#064;ReadOnly annotation on the action,
+     * or failing that on the controller, takes precedence over the configured read-only HTTP methods
+     *
+     * @param webRequest The request
+     * @return True if the session should be read-only
+     */
+    protected boolean isReadOnlyRequest(GrailsWebRequest webRequest) {
+        Object readOnly = getReadOnlyAnnotationValue(webRequest);
+        if(readOnly != NOT_ANNOTATED) {
+            return (Boolean) readOnly;
+        }
+        return readOnlyRequestMethods.contains(webRequest.getCurrentRequest().getMethod());
+    }
+
+    private Object getReadOnlyAnnotationValue(GrailsWebRequest webRequest) {
+        String controllerName = webRequest.getControllerName();
+        if(controllerName == null) return NOT_ANNOTATED;
+
+        GrailsApplication application = webRequest.getAttributes().getGrailsApplication();
+        GrailsControllerClass controllerClass = (GrailsControllerClass) application.getArtefactByLogicalPropertyName(ControllerArtefactHandler.TYPE, controllerName);
+        if(controllerClass == null) return NOT_ANNOTATED;
+
+        // only actions the controller defines are cached, so arbitrary URLs cannot grow the cache
+        ControllerActionDescriptor action = controllerClass.getAction(webRequest.getActionName());
+        if(action == null) {
+            return getReadOnlyAnnotationValue((ReadOnly) controllerClass.getClazz().getAnnotation(ReadOnly.class));
+        }
+
+        Object readOnly = readOnlyActions.get(action);
+        if(readOnly == null) {
+            Field field = ReflectionUtils.findField(controllerClass.getClazz(), action.getName());
+            ReadOnly annotation = field != null ? field.getAnnotation(ReadOnly.class) : null;
+            if(annotation == null) {
+                annotation = (ReadOnly) controllerClass.getClazz().getAnnotation(ReadOnly.class);
+            }
+            readOnly = getReadOnlyAnnotationValue(annotation);
+            // controllers may be reloaded in development mode, so don't hold onto stale annotations
+            if(!Environment.isDevelopmentMode()) {
+                readOnlyActions.put(action, readOnly);
+            }
+        }
+        return readOnly;
+    }
+
+    private Object getReadOnlyAnnotationValue(ReadOnly annotation) {
+        return annotation != null ? annotation.value() : NOT_ANNOTATED;
+    }
+
     public void afterCompletion(WebRequest request, Exception ex) throws DataAccessException {
         final boolean isWebRequest = request.getAttribute(IS_FLOW_REQUEST_ATTRIBUTE, WebRequest.SCOPE_REQUEST) != null;
         if(!isWebRequest) {
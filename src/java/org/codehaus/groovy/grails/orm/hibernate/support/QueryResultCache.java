@@ -0,0 +1,407 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.Criteria;
+import org.hibernate.LockMode;
+import org.hibernate.criterion.CriteriaSpecification;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.engine.PersistenceContext;
+import org.hibernate.engine.QueryParameters;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.engine.Status;
+import org.hibernate.event.*;
+import org.hibernate.impl.CriteriaImpl;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A GORM level cache of query results for dynamic finders and criteria queries. Unlike the Hibernate query cache
+ * results are keyed by the SQL shape of the query and its parameter values, only the identifiers of the matching
+ * entities are stored and entries are invalidated per table whenever an entity or collection stored in one of the
+ * tables the query touches is inserted, updated or deleted.
+ *
+ * <p>Caching is requested per query with the "queryCache" argument, either true to use the default region or a map
+ * with "region", "ttl" (in seconds) and "maxSize" entries:
+ *
+ * <pre>
+ *      Book.findAllByAuthor(author, [queryCache:[region:'booksByAuthor', ttl:60, maxSize:500]])
+ * </pre>
+ *
+ * <p>Only queries that return root entities are cached, queries with projections, custom result transformers,
+ * locks or composite identifiers are always executed against the database.
+ *
+ * @since 1.3
+ */
+public class QueryResultCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final long serialVersionUID = 1L;
+    private static final Log LOG = LogFactory.getLog(QueryResultCache.class);
+
+    public static final String ARGUMENT_QUERY_CACHE = "queryCache";
+    public static final String ARGUMENT_REGION = "region";
+    public static final String ARGUMENT_TTL = "ttl";
+    public static final String ARGUMENT_MAX_SIZE = "maxSize";
+    public static final String DEFAULT_REGION = "default";
+
+    private static final int ID_BATCH_SIZE = 500;
+    private static final Long LOCKED = Long.MAX_VALUE;
+
+    private int defaultTimeToLive = 300;
+    private int defaultMaxSize = 1000;
+    private AtomicLong generation = new AtomicLong();
+    private Map<Serializable, Long> spaceGenerations = new ConcurrentHashMap<Serializable, Long>();
+    private Map<String, Region> regions = new ConcurrentHashMap<String, Region>();
+
+    /**
+     * @param defaultTimeToLive The time to live of cached results in seconds, unless specified per query
+     */
+    public void setDefaultTimeToLive(int defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * @param defaultMaxSize The maximum number of cached results per region, unless specified per query
+     */
+    public void setDefaultMaxSize(int defaultMaxSize) {
+        this.defaultMaxSize = defaultMaxSize;
+    }
+
+    /**
+     * Returns whether the given query arguments request the query cache
+     *
+     * @param argMap The query arguments
+     * @return True if the results should be cached
+     */
+    public static boolean isCacheRequested(Map argMap) {
+        Object settings = argMap.get(ARGUMENT_QUERY_CACHE);
+        return settings instanceof Map || Boolean.TRUE.equals(settings);
+    }
+
+    /**
+     * Lists the results of the given criteria, using the cached identifiers of the results where possible
+     *
+     * @param criteria The criteria
+     * @param settings The cache settings, either Boolean.TRUE or a map with "region", "ttl" and "maxSize" entries
+     * @return The results
+     */
+    public List list(Criteria criteria, Object settings) {
+        if(!(settings instanceof Map) && !Boolean.TRUE.equals(settings)) {
+            return criteria.list();
+        }
+        Map settingsMap = settings instanceof Map ? (Map) settings : Collections.EMPTY_MAP;
+
+        if(!(criteria instanceof CriteriaImpl)) return criteria.list();
+        CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
+        SessionImplementor session = criteriaImpl.getSession();
+        SessionFactoryImplementor factory = session.getFactory();
+
+        String[] implementors = factory.getImplementors(criteriaImpl.getEntityOrClassName());
+        if(implementors.length != 1 || !isCacheable(criteriaImpl)) return criteria.list();
+
+        String entityName = implementors[0];
+        EntityPersister persister = factory.getEntityPersister(entityName);
+        if(persister.getIdentifierPropertyName() == null) return criteria.list();
+
+        CriteriaQueryTranslator translator = new CriteriaQueryTranslator(factory, criteriaImpl, entityName, CriteriaQueryTranslator.ROOT_SQL_ALIAS);
+        List<Object> key = createKey(entityName, criteriaImpl, translator, session);
+        Set spaces = translator.getQuerySpaces();
+
+        Region region = getRegion(settingsMap);
+        CacheEntry entry = region.get(key);
+        if(entry != null) {
+            // flush pending changes to the queried tables as executing the query would, which invalidates the entry
+            autoFlush(session, spaces);
+        }
+        long queryGeneration = generation.get();
+        if(entry != null && isValid(entry)) {
+            List results = loadByIds(session, persister, entry.ids);
+            if(results != null) {
+                return results;
+            }
+        }
+
+        List results = criteria.list();
+        List<Serializable> ids = new ArrayList<Serializable>(results.size());
+        for (Object result : results) {
+            ids.add(persister.getIdentifier(result, session.getEntityMode()));
+        }
+        region.put(key, new CacheEntry(ids, spaces, queryGeneration, getTimeToLive(settingsMap)));
+        return results;
+    }
+
+    /**
+     * Invalidates all cached results of queries that touch any of the given query spaces (tables)
+     *
+     * @param spaces The query spaces
+     */
+    public void invalidate(Serializable[] spaces) {
+        invalidate(Arrays.asList(spaces));
+    }
+
+    /**
+     * Invalidates all cached results of queries that touch the query spaces of the given HQL update or delete statement
+     *
+     * @param factory The session factory
+     * @param hql The HQL statement
+     */
+    public void invalidate(SessionFactoryImplementor factory, String hql) {
+        invalidate(factory.getQueryPlanCache().getHQLQueryPlan(hql, false, Collections.EMPTY_MAP).getQuerySpaces());
+    }
+
+    /**
+     * Removes all cached results
+     */
+    public void clear() {
+        regions.clear();
+    }
+
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getPersister().getQuerySpaces());
+    }
+
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getPersister().getQuerySpaces());
+    }
+
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getPersister().getQuerySpaces());
+    }
+
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        invalidateCollection(event);
+    }
+
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        invalidateCollection(event);
+    }
+
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        invalidateCollection(event);
+    }
+
+    private void invalidateCollection(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if(role != null) {
+            invalidate(event.getSession().getFactory().getCollectionPersister(role).getCollectionSpaces());
+        }
+    }
+
+    private void invalidate(Collection spaces) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            // lock the spaces until the transaction completes so that other transactions don't cache uncommitted state
+            Set<Serializable> pendingSpaces = (Set<Serializable>) TransactionSynchronizationManager.getResource(this);
+            if(pendingSpaces == null) {
+                pendingSpaces = new HashSet<Serializable>();
+                TransactionSynchronizationManager.bindResource(this, pendingSpaces);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    public void afterCompletion(int status) {
+                        Set<Serializable> lockedSpaces = (Set<Serializable>) TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+                        if(lockedSpaces != null) {
+                            release(lockedSpaces);
+                        }
+                    }
+                });
+            }
+            for (Object space : spaces) {
+                if(pendingSpaces.add((Serializable) space)) {
+                    spaceGenerations.put((Serializable) space, LOCKED);
+                }
+            }
+        }
+        else {
+            release(spaces);
+        }
+    }
+
+    private void release(Collection spaces) {
+        Long next = generation.incrementAndGet();
+        for (Object space : spaces) {
+            spaceGenerations.put((Serializable) space, next);
+        }
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated cached query results for tables " + spaces);
+        }
+    }
+
+    private boolean isCacheable(CriteriaImpl criteria) {
+        if(criteria.getProjection() != null) return false;
+        Object transformer = criteria.getResultTransformer();
+        if(transformer != CriteriaSpecification.ROOT_ENTITY && transformer != CriteriaSpecification.DISTINCT_ROOT_ENTITY) return false;
+        for (Object lockMode : criteria.getLockModes().values()) {
+            if(lockMode != LockMode.NONE) return false;
+        }
+        return true;
+    }
+
+    private List<Object> createKey(String entityName, CriteriaImpl criteria, CriteriaQueryTranslator translator, SessionImplementor session) {
+        List<Object> key = new ArrayList<Object>();
+        key.add(entityName);
+        key.add(translator.getWhereCondition());
+        key.add(translator.getOrderBy());
+        for (Iterator i = criteria.iterateSubcriteria(); i.hasNext();) {
+            CriteriaImpl.Subcriteria subcriteria = (CriteriaImpl.Subcriteria) i.next();
+            key.add(subcriteria.getPath() + ':' + subcriteria.getAlias() + ':' + subcriteria.getJoinType());
+        }
+        key.add(criteria.getMaxResults());
+        key.add(criteria.getFirstResult());
+        key.add(criteria.getResultTransformer() == CriteriaSpecification.DISTINCT_ROOT_ENTITY);
+
+        QueryParameters parameters = translator.getQueryParameters();
+        Object[] values = parameters.getPositionalParameterValues();
+        Type[] types = parameters.getPositionalParameterTypes();
+        for (int i = 0; i < values.length; i++) {
+            // disassembling reduces entities to their identifiers
+            key.add(values[i] == null ? null : types[i].disassemble(values[i], session, null));
+        }
+        return key;
+    }
+
+    private void autoFlush(SessionImplementor session, Set spaces) {
+        if(!(session instanceof EventSource)) return;
+        AutoFlushEvent event = new AutoFlushEvent(spaces, (EventSource) session);
+        for (AutoFlushEventListener listener : session.getListeners().getAutoFlushEventListeners()) {
+            listener.onAutoFlush(event);
+        }
+    }
+
+    /**
+     * Returns the entities with the given identifiers in their cached order. Entities already associated with the
+     * session are used as they are, the others are loaded with a single query per batch of identifiers
+     *
+     * @return The entities or null if one of them no longer exists
+     */
+    private List loadByIds(SessionImplementor session, EntityPersister persister, List<Serializable> ids) {
+        PersistenceContext persistenceContext = session.getPersistenceContext();
+        Map<Serializable, Object> loaded = new HashMap<Serializable, Object>();
+        List<Serializable> missing = new ArrayList<Serializable>();
+        for (Serializable id : ids) {
+            Object entity = persistenceContext.getEntity(new EntityKey(id, persister, session.getEntityMode()));
+            if(entity == null) {
+                if(!loaded.containsKey(id)) missing.add(id);
+                loaded.put(id, null);
+            }
+            else {
+                Status status = persistenceContext.getEntry(entity).getStatus();
+                if(status == Status.DELETED || status == Status.GONE) return null;
+                loaded.put(id, entity);
+            }
+        }
+
+        String entityName = persister.getEntityName();
+        for (int i = 0; i < missing.size(); i += ID_BATCH_SIZE) {
+            List<Serializable> batch = missing.subList(i, Math.min(i + ID_BATCH_SIZE, missing.size()));
+            Criteria byIds = new CriteriaImpl(entityName, session).add(Restrictions.in(persister.getIdentifierPropertyName(), batch));
+            for (Object entity : byIds.list()) {
+                loaded.put(persister.getIdentifier(entity, session.getEntityMode()), entity);
+            }
+        }
+
+        List results = new ArrayList(ids.size());
+        for (Serializable id : ids) {
+            Object entity = loaded.get(id);
+            // an entity was removed without the cache being invalidated, execute the query again
+            if(entity == null) return null;
+            results.add(entity);
+        }
+        return results;
+    }
+
+    private boolean isValid(CacheEntry entry) {
+        if(System.currentTimeMillis() > entry.expires) return false;
+        for (Object space : entry.spaces) {
+            Long spaceGeneration = spaceGenerations.get(space);
+            if(spaceGeneration != null && spaceGeneration > entry.generation) return false;
+        }
+        return true;
+    }
+
+    private Region getRegion(Map settings) {
+        Object name = settings.get(ARGUMENT_REGION);
+        String regionName = name != null ? name.toString() : DEFAULT_REGION;
+        Region region = regions.get(regionName);
+        if(region == null) {
+            synchronized (regions) {
+                region = regions.get(regionName);
+                if(region == null) {
+                    Object maxSize = settings.get(ARGUMENT_MAX_SIZE);
+                    region = new Region(maxSize != null ? toInt(maxSize) : defaultMaxSize);
+                    regions.put(regionName, region);
+                }
+            }
+        }
+        return region;
+    }
+
+    private long getTimeToLive(Map settings) {
+        Object ttl = settings.get(ARGUMENT_TTL);
+        return (ttl != null ? toInt(ttl) : defaultTimeToLive) * 1000L;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+    }
+
+    private static class CacheEntry {
+        final List<Serializable> ids;
+        final Set spaces;
+        final long generation;
+        final long expires;
+
+        CacheEntry(List<Serializable> ids, Set spaces, long generation, long timeToLive) {
+            this.ids = ids;
+            this.spaces = spaces;
+            this.generation = generation;
+            this.expires = System.currentTimeMillis() + timeToLive;
+        }
+    }
+
+    /**
+     * A bounded, least recently used map of query keys to cached entries
+     */
+    private static class Region {
+        private final Map<List<Object>, CacheEntry> entries;
+
+        Region(final int maxSize) {
+            entries = new LinkedHashMap<List<Object>, CacheEntry>(16, 0.75f, true) {
+                protected boolean removeEldestEntry(Map.Entry eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized CacheEntry get(List<Object> key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(List<Object> key, CacheEntry entry) {
+            entries.put(key, entry);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.hibernate.support;
+
+import org.hibernate.engine.EntityEntry;
+import org.hibernate.engine.Status;
+import org.hibernate.event.EventSource;
+import org.hibernate.event.PostLoadEvent;
+import org.hibernate.event.PostLoadEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks entities loaded by the read-only session of the current request as read-only, which discards
+ * their loaded state snapshot and excludes them from flush-time dirty checking
+ *
+ * @see GrailsOpenSessionInViewInterceptor
+ * @since 1.3
+ */
+public class ReadOnlySessionEventListener implements PostLoadEventListener {
+
+    public void onPostLoad(PostLoadEvent event) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if(requestAttributes == null) return;
+
+        EventSource session = event.getSession();
+        Object readOnlySession = requestAttributes.getAttribute(GrailsOpenSessionInViewInterceptor.READ_ONLY_SESSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if(readOnlySession == session) {
+            Object entity = event.getEntity();
+            EntityEntry entry = session.getPersistenceContext().getEntry(entity);
+            if(entry != null && entry.getStatus() == Status.MANAGED) {
+                session.setReadOnly(entity, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2004-2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.orm.support;
+
+/**
+ * Implemented by domain classes that track changes to their properties, typically through the
+ * {@link grails.persistence.ChangeTracking} AST transformation. Allows the persistence layer to skip
+ * comparing the properties of an entity against its snapshot when nothing has changed.
+ *
+ * @since 1.3
+ */
+public interface ChangeTrackable {
+
+    /**
+     * @return True if a property has been assigned since the last call to {@link #resetChanged()}
+     */
+    boolean hasChanged();
+
+    /**
+     * Marks this instance as changed
+     */
+    void markChanged();
+
+    /**
+     * Clears the changed state, called once the state of the instance has been loaded or flushed
+     */
+    void resetChanged();
+}
@@ -6,6 +6,8 @@ package org.codehaus.groovy.grails.plugins;
 import grails.util.BuildScope;
 import grails.util.GrailsNameUtils;
 import groovy.lang.ExpandoMetaClass;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.codehaus.groovy.grails.commons.ArtefactHandler;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsResourceUtils;
@@ -28,6 +30,7 @@ import java.util.*;
  */
 public abstract class AbstractGrailsPluginManager implements GrailsPluginManager {
 
+	private static final Log LOG = LogFactory.getLog(AbstractGrailsPluginManager.class);
 	private static final String BLANK = "";
 	protected List<GrailsPlugin> pluginList = new ArrayList<GrailsPlugin>();
 	protected GrailsApplication application;
@@ -89,7 +92,9 @@ public abstract class AbstractGrailsPluginManager implements GrailsPluginManager
 		checkInitialised();
         for (GrailsPlugin plugin : pluginList) {
             if (plugin.supportsCurrentScopeAndEnvironment()) {
+                long start = System.currentTimeMillis();
                 plugin.doWithRuntimeConfiguration(springConfig);
+                logPluginTiming(plugin, "doWithSpring", start);
             }
         }
 	}
@@ -135,10 +140,25 @@ public abstract class AbstractGrailsPluginManager implements GrailsPluginManager
         for (Object aPluginList : pluginList) {
             GrailsPlugin plugin = (GrailsPlugin) aPluginList;
             if (plugin.supportsCurrentScopeAndEnvironment()) {
+                long start = System.currentTimeMillis();
                 plugin.doWithApplicationContext(applicationContext);
+                logPluginTiming(plugin, "doWithApplicationContext", start);
             }
         }
 	}
+
+    /**
+     * Reports the time a plugin took for a phase of its initialization at info level
+     *
+     * @param plugin The plugin
+     * @param phase The name of the phase
+     * @param start The time the phase started at in milliseconds
+     */
+    protected void logPluginTiming(GrailsPlugin plugin, String phase, long start) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Plugin [" + plugin.getName() + "] " + phase + " took " + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
 	public Resource[] getPluginResources() {
 		return this.pluginResources;
 	}
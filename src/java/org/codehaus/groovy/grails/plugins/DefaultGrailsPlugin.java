@@ -93,9 +93,11 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
     private Resource[] watchedResources = new Resource[0];
 
     private long[] modifiedTimes = new long[0];
+    private File[] watchedFiles = new File[0];
     private PathMatchingResourcePatternResolver resolver;
     private String[] resourcesReferences;
     private int[] resourceCount;
+    private DirectoryModificationTracker[] resourceDirectories;
     private String[] loadAfterNames = new String[0];
     private String[] loadBeforeNames = new String[0];
     private String[] influencedPluginNames = new String[0];
@@ -510,8 +512,10 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
 
     private void initializeModifiedTimes() throws IOException {
         modifiedTimes = new long[watchedResources.length];
+        watchedFiles = new File[watchedResources.length];
         for (int i = 0; i < watchedResources.length; i++) {
             Resource r = watchedResources[i];
+            watchedFiles[i] = getFileOrNull(r);
             URLConnection c = null;
             try {
                 c = r.getURL().openConnection();
@@ -534,6 +538,16 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
         }
     }
 
+    private static File getFileOrNull(Resource r) {
+        try {
+            return r.getFile();
+        }
+        catch (IOException e) {
+            // not a file of the file system, checked through the resource
+            return null;
+        }
+    }
+
     public void doWithApplicationContext(ApplicationContext ctx) {
         try {
             if(this.pluginBean.isReadableProperty(DO_WITH_APPLICATION_CONTEXT)) {
@@ -713,17 +727,22 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
             if(LOG.isDebugEnabled()) {
                 LOG.debug("Plugin "+this+" checking ["+watchedResources.length+"] resources for changes..");
             }
+            boolean modified = false;
             for (int i = 0; i < watchedResources.length; i++) {
                 final Resource r = watchedResources[i];
-                long modifiedFlag = checkModified(r, modifiedTimes[i]) ;
+                long modifiedFlag = watchedFiles[i] != null ? checkModified(watchedFiles[i], modifiedTimes[i]) : checkModified(r, modifiedTimes[i]);
                 if( modifiedFlag > -1) {
                     if(LOG.isInfoEnabled()) LOG.info("Grails plug-in resource ["+r+"] changed, reloading changes..");
 
                     modifiedTimes[i] = modifiedFlag;
                     fireModifiedEvent(r, this);
-                    refreshInfluencedPlugins();
+                    modified = true;
                 }
             }
+            // changes found in the same check refresh the influenced plugins once
+            if(modified) {
+                refreshInfluencedPlugins();
+            }
         }
         return false;
     }
@@ -785,6 +804,37 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
         return -1;
     }
 
+    /**
+     * Checks a watched file with a single file system call
+     *
+     * @param file The file
+     * @param previousModifiedTime the last time the file was modified
+     * @return the new modified time or -1 if the file wasn't modified or doesn't exist
+     */
+    private long checkModified(File file, long previousModifiedTime) {
+        long lastModified = file.lastModified();
+        return lastModified > previousModifiedTime ? lastModified : -1;
+    }
+
+    /**
+     * The watched resource patterns are resolved again only if a directory below the root directory of the
+     * pattern was modified since the last check. Patterns outside of the file system are always resolved.
+     *
+     * @param i The index of the resource pattern
+     * @return True if the pattern may match new resources
+     */
+    private boolean mayHaveNewResources(int i) {
+        if(resourceDirectories == null) {
+            resourceDirectories = new DirectoryModificationTracker[resourcesReferences.length];
+        }
+        DirectoryModificationTracker tracker = resourceDirectories[i];
+        if(tracker == null) {
+            resourceDirectories[i] = DirectoryModificationTracker.forPattern(resourcesReferences[i]);
+            return true;
+        }
+        return tracker.hasChanged();
+    }
+
     private void checkForNewResources(final GrailsPlugin plugin) {
 
         if (resourcesReferences == null) {
@@ -796,21 +846,17 @@ public class DefaultGrailsPlugin extends AbstractGrailsPlugin implements ParentA
         }
 
         for (int i = 0; i < resourcesReferences.length; i++) {
+            if(!mayHaveNewResources(i)) continue;
             String resourcesReference = resourcesReferences[i];
             try {
                 Resource[] tmp = resolver.getResources(resourcesReference);
                 if(resourceCount[i] < tmp.length) {
-                    Resource newResource = null;
                     resourceCount[i] = tmp.length;
 
-                    for (Resource resource : tmp) {
-                        if (!ArrayUtils.contains(watchedResources, resource)) {
-                            newResource = resource;
-                            break;
-                        }
-                    }
+                    // several resources may have been added since the directories were checked last
+                    for (Resource newResource : tmp) {
+                        if (ArrayUtils.contains(watchedResources, newResource)) continue;
 
-                    if(newResource!=null) {
                         watchedResources = (Resource[])ArrayUtils.add(watchedResources, newResource);
 
                         if(LOG.isInfoEnabled())
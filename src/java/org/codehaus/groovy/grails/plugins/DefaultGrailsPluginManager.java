@@ -53,6 +53,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.servlet.ServletContext;
 import javax.xml.parsers.ParserConfigurationException;
@@ -64,6 +70,8 @@ import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.grails.commons.ConfigurationHolder;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsResourceUtils;
+import org.codehaus.groovy.grails.commons.spring.LayeredRuntimeSpringConfiguration;
+import org.codehaus.groovy.grails.commons.spring.RuntimeSpringConfiguration;
 import org.codehaus.groovy.grails.commons.spring.WebRuntimeSpringConfiguration;
 import org.codehaus.groovy.grails.plugins.exceptions.PluginException;
 import org.codehaus.groovy.grails.support.ParentApplicationContextAware;
@@ -121,6 +129,8 @@ public class DefaultGrailsPluginManager extends AbstractGrailsPluginManager impl
 
     private GrailsPluginChangeChecker pluginChangeScanner = null;
     private static final int SCAN_INTERVAL = Integer.getInteger("grails.scan.interval", 5000).intValue(); //in ms
+    // number of threads that configure the beans and dynamic methods of independent plugins, 1 configures them one by one
+    private static final int PARALLEL_INIT_THREADS = Integer.getInteger("grails.plugins.init.threads", 1).intValue();
 
     private List<GrailsPlugin> delayedLoadPlugins = new LinkedList<GrailsPlugin>();
     private ApplicationContext parentCtx;
@@ -297,32 +307,7 @@ public class DefaultGrailsPluginManager extends AbstractGrailsPluginManager impl
     }
 
     private List<GrailsPlugin> sortPlugins(List<GrailsPlugin> pluginList) {
-
-        List<GrailsPlugin> newList = new ArrayList<GrailsPlugin>(pluginList);
-
-        for (GrailsPlugin plugin : pluginList) {
-            int i = newList.indexOf(plugin);
-            for (String loadBefore : plugin.getLoadBeforeNames()) {
-                final GrailsPlugin loadBeforePlugin = getGrailsPlugin(loadBefore);
-                int j = newList.indexOf(loadBeforePlugin);
-                if(i > j) {
-                    newList.remove(plugin);
-                    newList.add(j,plugin);
-                }
-            }
-
-            i = newList.indexOf(plugin);
-            for(String loadAfter : plugin.getLoadAfterNames()) {
-                final GrailsPlugin loadAfterPlugin = getGrailsPlugin(loadAfter);
-                int j = newList.indexOf(loadAfterPlugin);
-                if(i < j) {
-                    newList.remove(plugin);
-                    newList.add(j,plugin);
-                }
-            }
-        }
-        return newList;
-
+        return new PluginDependencyGraph(pluginList).sort();
     }
 
 
@@ -840,17 +825,170 @@ public class DefaultGrailsPluginManager extends AbstractGrailsPluginManager impl
         for (int i = 0; i < COMMON_CLASSES.length; i++) {
             registry.removeMetaClass(COMMON_CLASSES[i]);
         }
-        for (GrailsPlugin plugin : pluginList) {
-            if (plugin.supportsCurrentScopeAndEnvironment()) {
-                try {
-                    plugin.doWithDynamicMethods(applicationContext);
+        if (PARALLEL_INIT_THREADS > 1) {
+            doDynamicMethodsInParallel();
+        }
+        else {
+            for (GrailsPlugin plugin : pluginList) {
+                doDynamicMethodsForPlugin(plugin);
+            }
+        }
+    }
+
+    /**
+     * Configures the dynamic methods of plugins that don't depend on each other concurrently
+     */
+    private void doDynamicMethodsInParallel() {
+        executeInLevels("configuring dynamic methods of", new PluginTask<Object>() {
+            public Object execute(GrailsPlugin plugin) {
+                doDynamicMethodsForPlugin(plugin);
+                return null;
+            }
+
+            public void levelCompleted(List<GrailsPlugin> level, List<Object> results) {
+                // nothing to collect
+            }
+        });
+    }
+
+    @Override
+    public void doRuntimeConfiguration(RuntimeSpringConfiguration springConfig) {
+        if (PARALLEL_INIT_THREADS > 1) {
+            checkInitialised();
+            doRuntimeConfigurationInParallel(springConfig);
+        }
+        else {
+            super.doRuntimeConfiguration(springConfig);
+        }
+    }
+
+    /**
+     * Evaluates the <code>doWithSpring</code> closures of plugins that don't depend on each other concurrently, each
+     * into its own layer on top of the given configuration. A plugin sees the beans of the plugins it depends on or
+     * loads after, but not those of the plugins it is evaluated alongside. The layers are merged in load order, so
+     * a bean defined by several plugins is defined by the last of them, as when the plugins are evaluated one by one.
+     * If a plugin changes a bean of a previous level that another plugin of its level also uses or defines, the
+     * result would depend on the plugins seeing each other's changes, so the level is evaluated again one by one.
+     */
+    private void doRuntimeConfigurationInParallel(final RuntimeSpringConfiguration springConfig) {
+        // the layers share the context of the configuration, create it before they are filled
+        springConfig.getUnrefreshedApplicationContext();
+        executeInLevels("configuring beans of", new PluginTask<LayeredRuntimeSpringConfiguration>() {
+            public LayeredRuntimeSpringConfiguration execute(GrailsPlugin plugin) {
+                if (!plugin.supportsCurrentScopeAndEnvironment()) return null;
+
+                long start = System.currentTimeMillis();
+                LayeredRuntimeSpringConfiguration layer = new LayeredRuntimeSpringConfiguration(springConfig);
+                plugin.doWithRuntimeConfiguration(layer);
+                logPluginTiming(plugin, "doWithSpring", start);
+                return layer;
+            }
+
+            public void levelCompleted(List<GrailsPlugin> level, List<LayeredRuntimeSpringConfiguration> layers) {
+                if (hasConflictingChanges(layers)) {
+                    LOG.debug("Plugins " + level + " change the same beans, evaluating their doWithSpring one by one");
+                    for (GrailsPlugin plugin : level) {
+                        if (plugin.supportsCurrentScopeAndEnvironment()) {
+                            plugin.doWithRuntimeConfiguration(springConfig);
+                        }
+                    }
+                    return;
+                }
+                for (LayeredRuntimeSpringConfiguration layer : layers) {
+                    if (layer != null) layer.mergeIntoBase();
                 }
-                catch (Throwable t) {
-                    GrailsUtil.deepSanitize(t);
-                    LOG.error("Error configuring dynamic methods for plugin "+plugin+": " + t.getMessage(), t);
+            }
+        });
+    }
+
+    /**
+     * Returns whether a layer changed a bean of the base configuration that another layer of the same level also
+     * looked up or defined
+     */
+    private boolean hasConflictingChanges(List<LayeredRuntimeSpringConfiguration> layers) {
+        for (LayeredRuntimeSpringConfiguration layer : layers) {
+            if (layer == null) continue;
+            for (String name : layer.getModifiedBaseBeanNames()) {
+                for (LayeredRuntimeSpringConfiguration other : layers) {
+                    if (other != null && other != layer && other.getBeanNames().contains(name)) {
+                        return true;
+                    }
                 }
             }
         }
+        return false;
+    }
+
+    /**
+     * A unit of plugin initialization that runs concurrently for the plugins of a level
+     */
+    private interface PluginTask<T> {
+        T execute(GrailsPlugin plugin);
+
+        /**
+         * Called once all plugins of a level are done, with their results in load order
+         */
+        void levelCompleted(List<GrailsPlugin> level, List<T> results);
+    }
+
+    /**
+     * Runs a task for plugins that don't depend on each other concurrently. The plugins are processed in the levels
+     * of their dependency graph, each level once all plugins of the previous level are done.
+     */
+    private <T> void executeInLevels(String description, final PluginTask<T> task) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_INIT_THREADS, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Grails plugin initialization");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            }
+        });
+        try {
+            for (List<GrailsPlugin> level : new PluginDependencyGraph(pluginList).getLevels()) {
+                List<Callable<T>> tasks = new ArrayList<Callable<T>>(level.size());
+                for (final GrailsPlugin plugin : level) {
+                    tasks.add(new Callable<T>() {
+                        public T call() {
+                            return task.execute(plugin);
+                        }
+                    });
+                }
+                List<T> results = new ArrayList<T>(level.size());
+                for (Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+                task.levelCompleted(level, results);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PluginException("Interrupted while " + description + " plugins", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new PluginException("Error " + description + " plugins: " + cause.getMessage(), cause);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private void doDynamicMethodsForPlugin(GrailsPlugin plugin) {
+        if (plugin.supportsCurrentScopeAndEnvironment()) {
+            long start = System.currentTimeMillis();
+            try {
+                plugin.doWithDynamicMethods(applicationContext);
+            }
+            catch (Throwable t) {
+                GrailsUtil.deepSanitize(t);
+                LOG.error("Error configuring dynamic methods for plugin "+plugin+": " + t.getMessage(), t);
+            }
+            logPluginTiming(plugin, "doWithDynamicMethods", start);
+        }
     }
 
     public void setServletContext(ServletContext servletContext) {
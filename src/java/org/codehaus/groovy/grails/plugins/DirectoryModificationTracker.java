@@ -0,0 +1,110 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Tracks the modification times of the directories below the root directory of a watched resource pattern.
+ * Adding, removing or renaming a file changes the modification time of its directory, so a plugin only has
+ * to resolve the pattern again to find new resources when one of the directories changed. Checking the
+ * directories costs one file system call per directory instead of walking and matching the whole tree.
+ *
+ * @since 1.3
+ */
+class DirectoryModificationTracker {
+
+    // file systems that store modification times in seconds can't tell changes within the same second apart,
+    // so recently modified directories are reported as changed until they are older than this
+    static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+    private final File root;
+    private final Map<File, Long> modifiedTimes = new HashMap<File, Long>();
+    private long snapshotTime;
+
+    DirectoryModificationTracker(File root) {
+        this.root = root;
+        takeSnapshot();
+    }
+
+    /**
+     * Creates a tracker for the root directory of the given resource pattern
+     *
+     * @param pattern A resource pattern such as <code>file:./grails-app/controllers/**&#47;*Controller.groovy</code>
+     * @return The tracker or null if the pattern doesn't refer to an existing directory of the file system
+     */
+    static DirectoryModificationTracker forPattern(String pattern) {
+        String path = pattern;
+        if(path.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+            path = path.substring(ResourceUtils.FILE_URL_PREFIX.length());
+        }
+        else if(path.indexOf(':') > 1) {
+            // classpath: and other URL prefixes, but not Windows drive letters
+            return null;
+        }
+        int wildcard = path.length();
+        for (char c : new char[] { '*', '?', '{', '[' }) {
+            int index = path.indexOf(c);
+            if(index > -1 && index < wildcard) wildcard = index;
+        }
+        int lastSeparator = Math.max(path.lastIndexOf('/', wildcard), path.lastIndexOf('\\', wildcard));
+        File root = new File(lastSeparator > -1 ? path.substring(0, lastSeparator + 1) : ".");
+        return root.isDirectory() ? new DirectoryModificationTracker(root) : null;
+    }
+
+    /**
+     * Checks whether any of the tracked directories changed since the last check. If so, the directories are
+     * tracked from their current state on.
+     *
+     * @return True if a directory was modified, added or removed
+     */
+    boolean hasChanged() {
+        boolean changed = false;
+        for (Map.Entry<File, Long> entry : modifiedTimes.entrySet()) {
+            long modified = entry.getKey().lastModified();
+            if(modified != entry.getValue() || modified > snapshotTime - MODIFICATION_TIME_RESOLUTION) {
+                changed = true;
+                break;
+            }
+        }
+        if(changed) {
+            takeSnapshot();
+        }
+        return changed;
+    }
+
+    private void takeSnapshot() {
+        modifiedTimes.clear();
+        snapshotTime = System.currentTimeMillis();
+        addDirectory(root);
+    }
+
+    private void addDirectory(File dir) {
+        modifiedTimes.put(dir, dir.lastModified());
+        File[] files = dir.listFiles();
+        if(files != null) {
+            for (File file : files) {
+                if(file.isDirectory()) {
+                    addDirectory(file);
+                }
+            }
+        }
+    }
+}
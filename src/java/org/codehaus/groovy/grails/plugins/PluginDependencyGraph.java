@@ -0,0 +1,191 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins;
+
+import grails.util.GrailsNameUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The load order constraints between plugins as a directed graph. A plugin has an edge to each plugin that
+ * depends on it (<code>dependsOn</code>), that loads after it (<code>loadAfter</code>) or that it loads before
+ * (<code>loadBefore</code>). Names of plugins that aren't part of the graph are ignored.
+ *
+ * <p>Where the constraints allow it, the sort keeps the order of the earlier sort, which moved each plugin in front
+ * of the plugins it loads before and behind the plugins it loads after, one plugin at a time. That order is only
+ * followed as a preference, so constraints it missed are still honoured. Plugins whose constraints form a cycle are
+ * reported and appended in their given order.</p>
+ *
+ * @since 1.3
+ */
+class PluginDependencyGraph {
+
+    private static final Log LOG = LogFactory.getLog(PluginDependencyGraph.class);
+
+    private final List<GrailsPlugin> plugins;
+    private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+    private final List<List<Integer>> successors = new ArrayList<List<Integer>>();
+    private final int[] predecessorCounts;
+    private final int[] preferredPositions;
+
+    /**
+     * @param plugins The plugins in the order they were registered
+     */
+    PluginDependencyGraph(List<GrailsPlugin> plugins) {
+        this.plugins = new ArrayList<GrailsPlugin>(plugins);
+        this.predecessorCounts = new int[plugins.size()];
+        for (int i = 0; i < this.plugins.size(); i++) {
+            indexes.put(this.plugins.get(i).getName(), i);
+            successors.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < this.plugins.size(); i++) {
+            GrailsPlugin plugin = this.plugins.get(i);
+            for (String name : plugin.getDependencyNames()) {
+                addEdge(indexOf(name), i);
+            }
+            for (String name : plugin.getLoadAfterNames()) {
+                addEdge(indexOf(name), i);
+            }
+            for (String name : plugin.getLoadBeforeNames()) {
+                addEdge(i, indexOf(name));
+            }
+        }
+        this.preferredPositions = computePreferredPositions();
+    }
+
+    /**
+     * Moves the plugins like the earlier sort did: each plugin in turn goes in front of the first plugin it loads
+     * before and behind the last plugin it loads after, if it isn't already.
+     */
+    private int[] computePreferredPositions() {
+        List<Integer> order = new ArrayList<Integer>(plugins.size());
+        for (int i = 0; i < plugins.size(); i++) {
+            order.add(i);
+        }
+        for (int i = 0; i < plugins.size(); i++) {
+            GrailsPlugin plugin = plugins.get(i);
+            Integer current = i;
+            int position = order.indexOf(current);
+            for (String name : plugin.getLoadBeforeNames()) {
+                int target = order.indexOf(indexOf(name));
+                if(target > -1 && position > target) {
+                    order.remove(current);
+                    order.add(target, current);
+                }
+            }
+
+            position = order.indexOf(current);
+            for (String name : plugin.getLoadAfterNames()) {
+                int target = order.indexOf(indexOf(name));
+                if(position < target) {
+                    order.remove(current);
+                    order.add(target, current);
+                }
+            }
+        }
+
+        int[] positions = new int[plugins.size()];
+        for (int position = 0; position < order.size(); position++) {
+            positions[order.get(position)] = position;
+        }
+        return positions;
+    }
+
+    private int indexOf(String name) {
+        if(name.indexOf('-') > -1) name = GrailsNameUtils.getPropertyNameForLowerCaseHyphenSeparatedName(name);
+        Integer index = indexes.get(name);
+        return index != null ? index : -1;
+    }
+
+    private void addEdge(int from, int to) {
+        if(from < 0 || to < 0 || from == to) return;
+        List<Integer> targets = successors.get(from);
+        if(!targets.contains(to)) {
+            targets.add(to);
+            predecessorCounts[to]++;
+        }
+    }
+
+    /**
+     * @return The plugins in load order
+     */
+    List<GrailsPlugin> sort() {
+        List<GrailsPlugin> sorted = new ArrayList<GrailsPlugin>(plugins.size());
+        for (List<GrailsPlugin> level : getLevels()) {
+            sorted.addAll(level);
+        }
+        return sorted;
+    }
+
+    /**
+     * Groups the plugins into levels: the plugins of a level only have constraints on plugins of earlier levels,
+     * so the plugins of one level are independent of each other. Concatenating the levels yields the load order.
+     *
+     * @return The levels
+     */
+    List<List<GrailsPlugin>> getLevels() {
+        int size = plugins.size();
+        int[] remaining = predecessorCounts.clone();
+        int[] levelOf = new int[size];
+        List<List<GrailsPlugin>> levels = new ArrayList<List<GrailsPlugin>>();
+
+        // always continue with the plugin that came first in the earlier sort, to keep its order where possible
+        PriorityQueue<Integer> ready = new PriorityQueue<Integer>(Math.max(size, 1), new Comparator<Integer>() {
+            public int compare(Integer left, Integer right) {
+                return preferredPositions[left] - preferredPositions[right];
+            }
+        });
+        for (int i = 0; i < size; i++) {
+            if(remaining[i] == 0) ready.add(i);
+        }
+        int sortedCount = 0;
+        int lastLevel = 0;
+        while(!ready.isEmpty()) {
+            int current = ready.poll();
+            sortedCount++;
+            // levels follow the load order, a plugin never goes to a level before the previous plugin's level
+            lastLevel = Math.max(lastLevel, levelOf[current]);
+            levelOf[current] = lastLevel;
+            while(levels.size() <= lastLevel) {
+                levels.add(new ArrayList<GrailsPlugin>());
+            }
+            levels.get(lastLevel).add(plugins.get(current));
+            for (Integer next : successors.get(current)) {
+                levelOf[next] = Math.max(levelOf[next], lastLevel + 1);
+                if(--remaining[next] == 0) ready.add(next);
+            }
+        }
+
+        if(sortedCount < size) {
+            List<GrailsPlugin> cyclic = new ArrayList<GrailsPlugin>();
+            for (int i = 0; i < size; i++) {
+                if(remaining[i] > 0) cyclic.add(plugins.get(i));
+            }
+            LOG.warn("The load order of plugins " + cyclic + " contains a cycle (check their dependsOn, loadAfter and " +
+                    "loadBefore settings). They are loaded in the order they were registered.");
+            levels.add(cyclic);
+        }
+        return levels;
+    }
+}
@@ -20,7 +20,7 @@ import org.codehaus.groovy.grails.commons.GrailsClassUtils as GCU
 
 import grails.util.GrailsUtil
 import org.codehaus.groovy.grails.plugins.DomainClassPluginSupport
-import org.codehaus.groovy.grails.support.SoftThreadLocalMap
+import org.codehaus.groovy.grails.validation.InstanceErrorsHolder
 import org.codehaus.groovy.grails.validation.ConstrainedPropertyBuilder
 import org.codehaus.groovy.grails.validation.Validateable
 import org.springframework.context.ApplicationContext
@@ -34,8 +34,6 @@ public class ValidationGrailsPlugin {
     def loadAfter = ['hibernate', 'controllers']
     def typeFilters = [new AnnotationTypeFilter(Validateable)]
 
-    static final PROPERTY_INSTANCE_MAP = new SoftThreadLocalMap()
-
     def doWithDynamicMethods = { ApplicationContext ctx ->
         // list of validateable classes
         def validateables = []
@@ -63,47 +61,11 @@ public class ValidationGrailsPlugin {
         def metaClass = validateableClass.metaClass
         metaClass.hasErrors = {-> delegate.errors?.hasErrors() }
 
-        def get
-        def put
-        try {
-            def rch = application.classLoader.loadClass("org.springframework.web.context.request.RequestContextHolder")
-            get = {
-                def attributes = rch.getRequestAttributes()
-                if (attributes) {
-                    return attributes.request.getAttribute(it)
-                }
-                else {
-                    return PROPERTY_INSTANCE_MAP.get().get(it)
-                }
-            }
-            put = {key, val ->
-                def attributes = rch.getRequestAttributes()
-                if (attributes) {
-                    attributes.request.setAttribute(key, val)
-                }
-                else {
-                    PROPERTY_INSTANCE_MAP.get().put(key, val)
-                }
-            }
-        }
-        catch (Throwable e) {
-            get = { PROPERTY_INSTANCE_MAP.get().get(it) }
-            put = {key, val -> PROPERTY_INSTANCE_MAP.get().put(key, val) }
-        }
-
         metaClass.getErrors = {->
-            def errors
-            def key = "org.codehaus.groovy.grails.ERRORS_${delegate.class.name}_${System.identityHashCode(delegate)}"
-            errors = get(key)
-            if (!errors) {
-                errors = new BeanPropertyBindingResult(delegate, delegate.getClass().getName())
-                put key, errors
-            }
-            errors
+            InstanceErrorsHolder.getErrors(delegate)
         }
         metaClass.setErrors = {Errors errors ->
-            def key = "org.codehaus.groovy.grails.ERRORS_${delegate.class.name}_${System.identityHashCode(delegate)}"
-            put key, errors
+            InstanceErrorsHolder.setErrors(delegate, errors)
         }
         metaClass.clearErrors = {->
             delegate.setErrors(new BeanPropertyBindingResult(delegate, delegate.getClass().getName()))
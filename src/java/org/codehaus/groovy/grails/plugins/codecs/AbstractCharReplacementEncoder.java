@@ -0,0 +1,100 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Base class for streaming encoders that replace single characters. Runs of characters that need no
+ * replacement are written to the target in one call, so encoding text that contains no special
+ * characters costs a single scan and no copying.
+ *
+ * @since 1.3
+ */
+public abstract class AbstractCharReplacementEncoder implements StreamingEncoder {
+
+    /**
+     * @param ch The character to escape
+     * @param previousChar The character preceding it or 0 at the start of the source
+     * @return The replacement of the character or null if the character is written unchanged
+     */
+    protected abstract String escapeCharacter(char ch, char previousChar);
+
+    /**
+     * Encodes the given characters
+     *
+     * @param source The characters to encode
+     * @return The encoded characters, the characters of the source if none of them needs replacing
+     */
+    public String encode(CharSequence source) {
+        if(source == null) return null;
+        int length = source.length();
+        char previousChar = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = source.charAt(i);
+            if(escapeCharacter(ch, previousChar) != null) {
+                StringBuilder encoded = new StringBuilder(length + 16);
+                encoded.append(source, 0, i);
+                try {
+                    encode(source, i, length, previousChar, encoded);
+                }
+                catch (IOException e) {
+                    // not thrown by a StringBuilder
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                return encoded.toString();
+            }
+            previousChar = ch;
+        }
+        return source.toString();
+    }
+
+    public void encode(CharSequence source, int offset, int length, Writer out) throws IOException {
+        encode(source, offset, offset + length, offset > 0 ? source.charAt(offset - 1) : 0, out);
+    }
+
+    private void encode(CharSequence source, int start, int end, char previousChar, Appendable out) throws IOException {
+        int unescapedStart = start;
+        for (int i = start; i < end; i++) {
+            char ch = source.charAt(i);
+            String escaped = escapeCharacter(ch, previousChar);
+            if(escaped != null) {
+                if(i > unescapedStart) {
+                    append(source, unescapedStart, i, out);
+                }
+                if(escaped.length() > 0) {
+                    out.append(escaped);
+                }
+                unescapedStart = i + 1;
+            }
+            previousChar = ch;
+        }
+        if(end > unescapedStart) {
+            append(source, unescapedStart, end, out);
+        }
+    }
+
+    private static void append(CharSequence source, int start, int end, Appendable out) throws IOException {
+        if(source instanceof String && out instanceof Writer) {
+            // avoids the sub sequence Writer.append creates
+            ((Writer) out).write((String) source, start, end - start);
+        }
+        else {
+            out.append(source, start, end);
+        }
+    }
+}
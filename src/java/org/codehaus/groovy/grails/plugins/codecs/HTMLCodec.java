@@ -26,13 +26,19 @@ import org.springframework.web.context.request.RequestAttributes;
  */
 public class HTMLCodec {
 
+    private static final HTMLStreamingEncoder ENCODER = new HTMLStreamingEncoder();
+
     public static String encode(Object target) {
         if(target != null) {
-            return HtmlUtils.htmlEscape(target.toString());
+            return ENCODER.encode(target.toString());
         }
         return null;
     }
 
+    public static StreamingEncoder getStreamingEncoder() {
+        return ENCODER;
+    }
+
     
     public static boolean shouldEncode() {
         final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
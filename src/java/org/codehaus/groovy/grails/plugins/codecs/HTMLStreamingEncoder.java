@@ -0,0 +1,54 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Escapes HTML like {@link HtmlUtils#htmlEscape(String)}: every character that has a named HTML 4 entity
+ * reference is replaced by the reference.
+ *
+ * @since 1.3
+ */
+public class HTMLStreamingEncoder extends AbstractCharReplacementEncoder {
+
+    private static final String[] REFERENCES = createReferences();
+
+    /**
+     * Builds the table of references from HtmlUtils, so that the encoded output stays identical to
+     * the output of {@link HTMLCodec} in earlier versions
+     */
+    private static String[] createReferences() {
+        String[] references = new String[Character.MAX_VALUE + 1];
+        int maxReferencedChar = 0;
+        for (int ch = 0; ch <= Character.MAX_VALUE; ch++) {
+            String unescaped = String.valueOf((char) ch);
+            String escaped = HtmlUtils.htmlEscape(unescaped);
+            if(!unescaped.equals(escaped)) {
+                references[ch] = escaped;
+                maxReferencedChar = ch;
+            }
+        }
+        String[] table = new String[maxReferencedChar + 1];
+        System.arraycopy(references, 0, table, 0, table.length);
+        return table;
+    }
+
+    @Override
+    protected String escapeCharacter(char ch, char previousChar) {
+        return ch < REFERENCES.length ? REFERENCES[ch] : null;
+    }
+}
@@ -15,8 +15,6 @@
  */
 package org.codehaus.groovy.grails.plugins.codecs
 
-import org.springframework.web.util.JavaScriptUtils
-
 /**
  * A codec that encodes strings to Javascript
  *
@@ -24,7 +22,9 @@ import org.springframework.web.util.JavaScriptUtils
  * @since 0.5
  */
 class JavaScriptCodec {
+    static streamingEncoder = new JavaScriptStreamingEncoder()
+
     static encode = { theTarget ->
-        JavaScriptUtils.javaScriptEscape(theTarget.toString())
+        JavaScriptCodec.streamingEncoder.encode(theTarget.toString())
     }
 }
\ No newline at end of file
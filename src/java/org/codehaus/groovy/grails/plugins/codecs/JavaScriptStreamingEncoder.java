@@ -0,0 +1,41 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+/**
+ * Escapes characters for JavaScript string literals like
+ * {@link org.springframework.web.util.JavaScriptUtils#javaScriptEscape(String)}.
+ *
+ * @since 1.3
+ */
+public class JavaScriptStreamingEncoder extends AbstractCharReplacementEncoder {
+
+    @Override
+    protected String escapeCharacter(char ch, char previousChar) {
+        switch (ch) {
+            case '"': return "\\\"";
+            case '\'': return "\\'";
+            case '\\': return "\\\\";
+            case '/': return "\\/";
+            case '\t': return "\\t";
+            // a CRLF line break is escaped as a single \n
+            case '\n': return previousChar == '\r' ? "" : "\\n";
+            case '\r': return "\\n";
+            case '\f': return "\\f";
+            default: return null;
+        }
+    }
+}
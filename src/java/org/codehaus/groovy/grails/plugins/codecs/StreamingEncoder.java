@@ -0,0 +1,41 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * An encoder that writes the encoded form of character data directly to a Writer, typically the writer
+ * of a {@link org.codehaus.groovy.grails.web.util.StreamCharBuffer}, instead of returning it as a String.
+ * Codec classes make their streaming encoder available with a static <code>streamingEncoder</code> property.
+ *
+ * @see org.codehaus.groovy.grails.commons.GrailsCodecClass#getStreamingEncoder()
+ * @since 1.3
+ */
+public interface StreamingEncoder {
+
+    /**
+     * Encodes a range of the given characters and writes the result to the writer
+     *
+     * @param source The characters to encode
+     * @param offset The index of the first character to encode
+     * @param length The number of characters to encode
+     * @param out The writer to write the encoded characters to
+     * @throws IOException If the writer cannot be written to
+     */
+    void encode(CharSequence source, int offset, int length, Writer out) throws IOException;
+}
@@ -16,7 +16,6 @@
 
 package org.codehaus.groovy.grails.plugins.codecs
 
-import java.net.URLEncoder
 import java.net.URLDecoder
 import org.springframework.web.context.request.RequestContextHolder
 
@@ -27,8 +26,10 @@ import org.springframework.web.context.request.RequestContextHolder
  * @since 0.5
  */
 class URLCodec {
+    static streamingEncoder = new URLStreamingEncoder()
+
     static encode = { obj ->
-        URLEncoder.encode(obj.toString(), URLCodec.getEncoding())
+        URLCodec.streamingEncoder.encode(obj.toString())
     }
 
     static decode = { obj ->
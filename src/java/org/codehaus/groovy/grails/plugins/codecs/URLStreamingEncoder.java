@@ -0,0 +1,159 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.plugins.codecs;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Encodes characters in the <code>application/x-www-form-urlencoded</code> format like
+ * {@link java.net.URLEncoder#encode(String, String)}. Unless an encoding is given, the characters are encoded
+ * with the character encoding of the current request or UTF-8.
+ *
+ * @since 1.3
+ */
+public class URLStreamingEncoder implements StreamingEncoder {
+
+    private static final String DEFAULT_ENCODING = "UTF-8";
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED = new boolean[128];
+    static {
+        for (char ch = 'a'; ch <= 'z'; ch++) UNRESERVED[ch] = true;
+        for (char ch = 'A'; ch <= 'Z'; ch++) UNRESERVED[ch] = true;
+        for (char ch = '0'; ch <= '9'; ch++) UNRESERVED[ch] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['*'] = true;
+    }
+
+    private final String encoding;
+
+    public URLStreamingEncoder() {
+        this(null);
+    }
+
+    /**
+     * @param encoding The character encoding or null to use the encoding of the current request
+     */
+    public URLStreamingEncoder(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Encodes the given characters
+     *
+     * @param source The characters to encode
+     * @return The encoded characters
+     * @throws UnsupportedEncodingException If the encoding isn't supported
+     */
+    public String encode(CharSequence source) throws UnsupportedEncodingException {
+        if(source == null) return null;
+        int length = source.length();
+        for (int i = 0; i < length; i++) {
+            if(!isUnreserved(source.charAt(i))) {
+                StringWriter encoded = new StringWriter(length + 16);
+                try {
+                    encode(source, 0, length, encoded);
+                }
+                catch (UnsupportedEncodingException e) {
+                    throw e;
+                }
+                catch (IOException e) {
+                    // not thrown by a StringWriter
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                return encoded.toString();
+            }
+        }
+        return source.toString();
+    }
+
+    public void encode(CharSequence source, int offset, int length, Writer out) throws IOException {
+        String charsetName = null;
+        int end = offset + length;
+        int unencodedStart = offset;
+        int i = offset;
+        while (i < end) {
+            char ch = source.charAt(i);
+            if(isUnreserved(ch)) {
+                i++;
+                continue;
+            }
+            if(i > unencodedStart) {
+                write(source, unencodedStart, i, out);
+            }
+            if(ch == ' ') {
+                out.write('+');
+                i++;
+            }
+            else {
+                // like URLEncoder, encode the whole run of reserved characters at once so surrogate pairs stay together
+                int runEnd = i + 1;
+                while (runEnd < end && !isUnreserved(source.charAt(runEnd)) && source.charAt(runEnd) != ' ') {
+                    runEnd++;
+                }
+                if(charsetName == null) {
+                    charsetName = getEncoding();
+                }
+                byte[] bytes = source.subSequence(i, runEnd).toString().getBytes(charsetName);
+                for (byte b : bytes) {
+                    out.write('%');
+                    out.write(HEX_DIGITS[(b >> 4) & 0xF]);
+                    out.write(HEX_DIGITS[b & 0xF]);
+                }
+                i = runEnd;
+            }
+            unencodedStart = i;
+        }
+        if(end > unencodedStart) {
+            write(source, unencodedStart, end, out);
+        }
+    }
+
+    private static void write(CharSequence source, int start, int end, Writer out) throws IOException {
+        if(source instanceof String) {
+            out.write((String) source, start, end - start);
+        }
+        else {
+            out.append(source, start, end);
+        }
+    }
+
+    private static boolean isUnreserved(char ch) {
+        return ch < 128 && UNRESERVED[ch];
+    }
+
+    private String getEncoding() {
+        if(encoding != null) {
+            return encoding;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes instanceof ServletRequestAttributes) {
+            String requestEncoding = ((ServletRequestAttributes) attributes).getRequest().getCharacterEncoding();
+            if(requestEncoding != null && requestEncoding.length() > 0) {
+                return requestEncoding;
+            }
+        }
+        return DEFAULT_ENCODING;
+    }
+}
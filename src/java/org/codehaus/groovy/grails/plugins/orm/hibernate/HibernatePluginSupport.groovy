@@ -47,7 +47,6 @@ import org.codehaus.groovy.grails.orm.hibernate.validation.UniqueConstraint
 import org.codehaus.groovy.grails.validation.ConstrainedProperty
 
 import org.hibernate.Criteria
-import org.hibernate.EmptyInterceptor
 import org.hibernate.FlushMode
 import org.hibernate.LockMode
 import org.hibernate.Session
@@ -172,7 +171,17 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
             }
             proxyHandler(HibernateProxyHandler)
             eventTriggeringInterceptor(ClosureEventTriggeringInterceptor)
-            entityInterceptor(EmptyInterceptor)
+            readOnlySessionEventListener(ReadOnlySessionEventListener)
+            entityInterceptor(ChangeTrackingInterceptor)
+            queryResultCache(QueryResultCache) {
+                def queryCacheConfig = application.config.grails.gorm.queryCache
+                if (queryCacheConfig.ttl instanceof Number) {
+                    defaultTimeToLive = queryCacheConfig.ttl
+                }
+                if (queryCacheConfig.maxSize instanceof Number) {
+                    defaultMaxSize = queryCacheConfig.maxSize
+                }
+            }
             sessionFactory(ConfigurableLocalSessionFactoryBean) {
                 dataSource = dataSource
                 List hibConfigLocations = []
@@ -198,14 +207,17 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
                 entityInterceptor = entityInterceptor
                 eventListeners = ['flush': new PatchedDefaultFlushEventListener(),
                                   'pre-load':eventTriggeringInterceptor,
-                                  'post-load':eventTriggeringInterceptor,
+                                  'post-load':[eventTriggeringInterceptor, readOnlySessionEventListener],
                                   'save':eventTriggeringInterceptor,
                                   'save-update':eventTriggeringInterceptor,
-                                  'post-insert':eventTriggeringInterceptor,
+                                  'post-insert':[eventTriggeringInterceptor, queryResultCache],
                                   'pre-update':eventTriggeringInterceptor,
-                                  'post-update':eventTriggeringInterceptor,
+                                  'post-update':[eventTriggeringInterceptor, queryResultCache],
                                   'pre-delete':eventTriggeringInterceptor,
-                                  'post-delete':eventTriggeringInterceptor]
+                                  'post-delete':[eventTriggeringInterceptor, queryResultCache],
+                                  'post-collection-recreate':queryResultCache,
+                                  'post-collection-update':queryResultCache,
+                                  'post-collection-remove':queryResultCache]
             }
 
             transactionManager(HibernateTransactionManager) {
@@ -234,6 +246,10 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
                     else {
                         flushMode = HibernateAccessor.FLUSH_AUTO
                     }
+                    def readOnlyMethods = application.config.grails.gorm.readOnlyRequestMethods
+                    if (readOnlyMethods instanceof Collection) {
+                        readOnlyRequestMethods = readOnlyMethods.collect { it.toString() }
+                    }
                     sessionFactory = sessionFactory
                 }
                 if (getSpringConfig().containsBean("controllerHandlerMappings")) {
@@ -430,6 +446,8 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
                               new FindByBooleanPropertyPersistentMethod(application, sessionFactory, classLoader),
                               new CountByPersistentMethod(application, sessionFactory, classLoader),
                               new ListOrderByPersistentMethod(sessionFactory, classLoader)]
+        def queryResultCache = getQueryResultCache(ctx)
+        dynamicMethods.each { if (it instanceof AbstractStaticPersistentMethod) it.queryResultCache = queryResultCache }
 
         // This is the code that deals with dynamic finders. It looks up a static method, if it exists it invokes it
         // otherwise it trys to match the method invocation to one of the dynamic methods. If it matches it will
@@ -527,6 +545,10 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
         }
     }
 
+    private static QueryResultCache getQueryResultCache(ApplicationContext ctx) {
+        ctx.containsBean('queryResultCache') ? ctx.getBean('queryResultCache') : null
+    }
+
     private static addQueryMethods(GrailsDomainClass dc, GrailsApplication application, ApplicationContext ctx) {
         def metaClass = dc.metaClass
         SessionFactory sessionFactory = ctx.getBean('sessionFactory')
@@ -534,6 +556,7 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
         Class domainClassType = dc.clazz
 
         ClassLoader classLoader = application.classLoader
+        def queryResultCache = getQueryResultCache(ctx)
         def findAllMethod = new FindAllPersistentMethod(sessionFactory, classLoader)
         metaClass.static.findAll = {String query ->
             findAllMethod.invoke(domainClassType, "findAll", [query] as Object[])
@@ -583,6 +606,7 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
         }
 
         def executeUpdateMethod = new ExecuteUpdatePersistentMethod(sessionFactory, classLoader)
+        executeUpdateMethod.queryResultCache = queryResultCache
         metaClass.static.executeUpdate = { String query ->
             executeUpdateMethod.invoke(domainClassType, "executeUpdate", [query] as Object[])
         }
@@ -594,6 +618,7 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
         }
 
         def listMethod = new ListPersistentMethod(sessionFactory, classLoader)
+        listMethod.queryResultCache = queryResultCache
         metaClass.static.list = {-> listMethod.invoke(domainClassType, "list", [] as Object[])}
         metaClass.static.list = {Map args -> listMethod.invoke(domainClassType, "list", [args] as Object[])}
         metaClass.static.findWhere = {Map query ->
@@ -651,12 +676,19 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
             } as HibernateCallback) == 1
         }
 
-        metaClass.static.createCriteria = {-> new HibernateCriteriaBuilder(domainClassType, sessionFactory)}
+        metaClass.static.createCriteria = {->
+            def builder = new HibernateCriteriaBuilder(domainClassType, sessionFactory)
+            builder.queryResultCache = queryResultCache
+            builder
+        }
         metaClass.static.withCriteria = {Closure callable ->
-            new HibernateCriteriaBuilder(domainClassType, sessionFactory).invokeMethod("doCall", callable)
+            def builder = new HibernateCriteriaBuilder(domainClassType, sessionFactory)
+            builder.queryResultCache = queryResultCache
+            builder.invokeMethod("doCall", callable)
         }
         metaClass.static.withCriteria = {Map builderArgs, Closure callable ->
             def builder = new HibernateCriteriaBuilder(domainClassType, sessionFactory)
+            builder.queryResultCache = queryResultCache
             def builderBean = new BeanWrapperImpl(builder)
             for (entry in builderArgs) {
                 if (builderBean.isWritableProperty(entry.key)) {
@@ -665,6 +697,15 @@ Using Grails' default cache provider: 'net.sf.ehcache.hibernate.EhCacheProvider'
             }
             builder.invokeMethod("doCall", callable)
         }
+        metaClass.static.stream = {Closure rowHandler ->
+            new HibernateCriteriaBuilder(domainClassType, sessionFactory).stream({}, rowHandler)
+        }
+        metaClass.static.stream = {Closure callable, Closure rowHandler ->
+            new HibernateCriteriaBuilder(domainClassType, sessionFactory).stream(callable, rowHandler)
+        }
+        metaClass.static.stream = {Map args, Closure callable, Closure rowHandler ->
+            new HibernateCriteriaBuilder(domainClassType, sessionFactory).stream(args, callable, rowHandler)
+        }
 
         // TODO: deprecated methods planned for removing from further releases
 
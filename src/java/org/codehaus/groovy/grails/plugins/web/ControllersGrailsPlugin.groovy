@@ -33,8 +33,10 @@ import org.codehaus.groovy.grails.web.metaclass.ChainMethod
 import org.codehaus.groovy.grails.web.metaclass.RedirectDynamicMethod
 import org.codehaus.groovy.grails.web.metaclass.RenderDynamicMethod
 import org.codehaus.groovy.grails.web.multipart.ContentLengthAwareCommonsMultipartResolver
+import org.codehaus.groovy.grails.web.multipart.StreamingMultipartIterator
 import org.codehaus.groovy.grails.web.plugins.support.WebMetaUtils
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
+import org.codehaus.groovy.grails.web.servlet.mvc.ControllerInstancePool
 import org.codehaus.groovy.grails.web.servlet.mvc.SimpleGrailsController
 import org.codehaus.groovy.grails.web.servlet.mvc.exceptions.ControllerExecutionException
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory
@@ -95,11 +97,13 @@ class ControllersGrailsPlugin {
         viewNameTranslator(DefaultRequestToViewNameTranslator) {
              stripLeadingSlash = false
         }   
+        controllerInstancePool(ControllerInstancePool)
         for(controller in application.controllerClasses) {
             log.debug "Configuring controller $controller.fullName"
             if (controller.available) {
                 "${controller.fullName}"(controller.clazz) { bean ->
-                    bean.scope = "prototype"
+                    // pooled controllers are created from the prototype bean by the controllerInstancePool
+                    bean.scope = controller.scope == GrailsControllerClass.SCOPE_SINGLETON ? "singleton" : "prototype"
                     bean.autowire = "byName"
                 }
             }
@@ -308,6 +312,11 @@ class ControllersGrailsPlugin {
         mc.hasErrors = {->
             errors?.hasErrors() ? true : false
         }
+        // the parts of a multipart request to an action that declares streamingMultipart
+        mc.getMultipartParts = {->
+            def resolver = ctx.containsBean("multipartResolver") ? ctx.getBean("multipartResolver") : null
+            StreamingMultipartIterator.getInstance(RCH.currentRequestAttributes().currentRequest, resolver)
+        }
 
         def redirect = new RedirectDynamicMethod(ctx)
         def render = new RenderDynamicMethod()
@@ -381,7 +390,7 @@ class ControllersGrailsPlugin {
             def controllerClass = application.addArtefact(ControllerArtefactHandler.TYPE, event.source)
             def beanDefinitions = beans {
                 "${controllerClass.fullName}"(controllerClass.clazz) { bean ->
-                    bean.scope = "prototype"
+                    bean.scope = controllerClass.scope == GrailsControllerClass.SCOPE_SINGLETON ? "singleton" : "prototype"
                     bean.autowire = true
                 }
             }
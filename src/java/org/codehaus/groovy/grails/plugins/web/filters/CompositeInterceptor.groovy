@@ -15,28 +15,58 @@
  */
 package org.codehaus.groovy.grails.plugins.web.filters
 
+import java.util.concurrent.ConcurrentHashMap
 import org.springframework.web.servlet.HandlerInterceptor
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
 import org.springframework.web.servlet.ModelAndView
+import org.springframework.util.AntPathMatcher
 import org.apache.commons.logging.LogFactory
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 
 /**
- * A HandlerInterceptor that is composed of other HandlerInterceptor instances
+ * A HandlerInterceptor that is composed of other HandlerInterceptor instances.
+ *
+ * Filters that are selected by controller and action names are resolved once per controller and action
+ * and the resulting chain is cached, so that their patterns are not evaluated on every request. Filters
+ * selected by URI are matched per request, but each distinct URI pattern is only evaluated once.
  * 
  * @author mike
  * @author Graeme Rocher
  */
 class CompositeInterceptor implements HandlerInterceptor {
     static final LOG = LogFactory.getLog(CompositeInterceptor)
-    
-    def handlers
+
+    /**
+     * The maximum number of cached chains. Action names come from the request so they are not bounded
+     * by the actions that actually exist.
+     */
+    static final int MAX_CACHED_CHAINS = 1000
+
+    private static final String ROOT_KEY = "\u0000/"
+    private static final String NO_CONTROLLER_KEY = "\u0000"
+
+    List handlers = []
+
+    private Map chains = new ConcurrentHashMap()
+    private boolean uriScoped
+    private pathMatcher = new AntPathMatcher()
+
+    void setHandlers(List handlers) {
+        this.handlers = handlers ?: []
+        this.uriScoped = this.handlers.any { it instanceof FilterToHandlerAdapter && it.uriScoped }
+        this.chains = new ConcurrentHashMap()
+    }
 
     boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object o) {
         if (LOG.isDebugEnabled()) LOG.debug "preHandle ${request}, ${response}, ${o}"
 
-        for (handler in handlers) {
-            if (!handler.preHandle(request, response, o)) return false;
+        String controllerName = controllerName(request)
+        for (handler in resolveHandlers(request)) {
+            if (handler instanceof FilterToHandlerAdapter) {
+                if (!handler.invokeBefore(request, response, controllerName)) return false;
+            }
+            else if (!handler.preHandle(request, response, o)) return false;
         }
         return true;
     }
@@ -44,16 +74,73 @@ class CompositeInterceptor implements HandlerInterceptor {
     void postHandle(HttpServletRequest request, HttpServletResponse response,Object o, ModelAndView modelAndView) throws java.lang.Exception {
         if (LOG.isDebugEnabled()) LOG.debug "postHandle ${request}, ${response}, ${o}, ${modelAndView}"
 
-        handlers.reverseEach{ handler ->
-            handler.postHandle(request, response, o, modelAndView);
+        String controllerName = controllerName(request)
+        resolveHandlers(request).reverseEach{ handler ->
+            if (handler instanceof FilterToHandlerAdapter) {
+                handler.invokeAfter(request, response, controllerName, modelAndView)
+            }
+            else {
+                handler.postHandle(request, response, o, modelAndView);
+            }
         }
     }
 
     void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object o, Exception e) throws java.lang.Exception {
         if (LOG.isDebugEnabled()) LOG.debug "afterCompletion ${request}, ${response}, ${o}, ${e}"
 
-        handlers.reverseEach{ handler ->
-            handler.afterCompletion(request, response, o, e);
+        resolveHandlers(request).reverseEach{ handler ->
+            if (handler instanceof FilterToHandlerAdapter) {
+                handler.invokeAfterView(e)
+            }
+            else {
+                handler.afterCompletion(request, response, o, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the handlers that apply to the given request, in the order they were configured.
+     */
+    List resolveHandlers(HttpServletRequest request) {
+        String controllerName = controllerName(request)
+        String actionName = request.getAttribute(GrailsApplicationAttributes.ACTION_NAME_ATTRIBUTE)?.toString()
+        String uri = (uriScoped || controllerName == null) ? FilterToHandlerAdapter.requestUri(request) : null
+
+        String key
+        if (controllerName == null) {
+            key = '/' == uri ? ROOT_KEY : NO_CONTROLLER_KEY
         }
+        else {
+            key = actionName ? "${controllerName}/${actionName}".toString() : controllerName
+        }
+
+        Map chains = this.chains
+        List chain = chains.get(key)
+        if (chain == null) {
+            chain = handlers.findAll { handler ->
+                !(handler instanceof FilterToHandlerAdapter) || handler.uriScoped || handler.accept(controllerName, actionName, uri)
+            }
+            if (chains.size() < MAX_CACHED_CHAINS) chains.put(key, chain)
+        }
+
+        if (!uriScoped) return chain
+
+        Map uriMatches = [:]
+        return chain.findAll { handler ->
+            !(handler instanceof FilterToHandlerAdapter) || !handler.uriScoped || acceptUri(handler, uri, uriMatches)
+        }
+    }
+
+    private boolean acceptUri(FilterToHandlerAdapter handler, String uri, Map uriMatches) {
+        Boolean matched = uriMatches.get(handler.uriPattern)
+        if (matched == null) {
+            matched = pathMatcher.match(handler.uriPattern, uri)
+            uriMatches.put(handler.uriPattern, matched)
+        }
+        return handler.invertRule ? !matched : matched
+    }
+
+    private String controllerName(HttpServletRequest request) {
+        return request.getAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE)?.toString()
     }
-}
\ No newline at end of file
+}
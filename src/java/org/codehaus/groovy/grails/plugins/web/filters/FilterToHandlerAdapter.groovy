@@ -88,11 +88,25 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean {
     }
 
     String uri(HttpServletRequest request) {
+        return requestUri(request)
+    }
+
+    /**
+     * Returns the URI of the given request relative to the context path.
+     */
+    static String requestUri(HttpServletRequest request) {
         def uri = request.getAttribute(WebUtils.FORWARD_REQUEST_URI_ATTRIBUTE)
         if(!uri) uri = request.getRequestURI()
         return uri.substring(request.getContextPath().length())
     }
 
+    /**
+     * Whether this filter is selected by a URI pattern rather than by controller and action names.
+     */
+    boolean isUriScoped() {
+        return uriPattern != null
+    }
+
     boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object o) {
         if (filterConfig.before) {
 
@@ -102,19 +116,29 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean {
 
             if (!accept(controllerName, actionName, uri)) return true;
 
-            def callable = filterConfig.before.clone()
-            def result = callable.call();
-            if(result instanceof Boolean) {
-                if(!result && filterConfig.modelAndView) {
-                    renderModelAndView(filterConfig, request, response, controllerName)
-                }
-                return result
-            }
+            return invokeBefore(request, response, controllerName)
         }
 
         return true;
     }
 
+    /**
+     * Invokes the before closure of the filter without checking whether the filter applies to the request.
+     */
+    boolean invokeBefore(HttpServletRequest request, HttpServletResponse response, String controllerName) {
+        if (!filterConfig.before) return true
+
+        def callable = filterConfig.before.clone()
+        def result = callable.call();
+        if(result instanceof Boolean) {
+            if(!result && filterConfig.modelAndView) {
+                renderModelAndView(filterConfig, request, response, controllerName)
+            }
+            return result
+        }
+        return true
+    }
+
     void postHandle(HttpServletRequest request, HttpServletResponse response, o, ModelAndView modelAndView) throws java.lang.Exception {
         if (filterConfig.after) {
 
@@ -124,25 +148,33 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean {
 
             if (!accept(controllerName, actionName, uri)) return;
 
-            def callable = filterConfig.after.clone()
-            def result = callable.call(modelAndView?.model);
-            if(result instanceof Boolean) {
-                // if false is returned don't render a view
-                if(!result) {
-                    modelAndView.viewName = null
-                    modelAndView.view = new NullView(response.contentType)
-                }
-            }
-            else if(filterConfig.modelAndView && modelAndView) {
-                if(filterConfig.modelAndView.viewName) {
-                    modelAndView.viewName = filterConfig.modelAndView.viewName
-                }
-                modelAndView.model.putAll(filterConfig.modelAndView.model)
+            invokeAfter(request, response, controllerName, modelAndView)
+        }
+    }
+
+    /**
+     * Invokes the after closure of the filter without checking whether the filter applies to the request.
+     */
+    void invokeAfter(HttpServletRequest request, HttpServletResponse response, String controllerName, ModelAndView modelAndView) {
+        if (!filterConfig.after) return
+
+        def callable = filterConfig.after.clone()
+        def result = callable.call(modelAndView?.model);
+        if(result instanceof Boolean) {
+            // if false is returned don't render a view
+            if(!result) {
+                modelAndView.viewName = null
+                modelAndView.view = new NullView(response.contentType)
             }
-            else if(filterConfig.modelAndView?.viewName) {
-                renderModelAndView(filterConfig, request, response, controllerName)
+        }
+        else if(filterConfig.modelAndView && modelAndView) {
+            if(filterConfig.modelAndView.viewName) {
+                modelAndView.viewName = filterConfig.modelAndView.viewName
             }
-
+            modelAndView.model.putAll(filterConfig.modelAndView.model)
+        }
+        else if(filterConfig.modelAndView?.viewName) {
+            renderModelAndView(filterConfig, request, response, controllerName)
         }
     }
 
@@ -165,11 +197,20 @@ class FilterToHandlerAdapter implements HandlerInterceptor, InitializingBean {
             String uri = uri(request)
 
             if (!accept(controllerName, actionName, uri)) return;
-            def callable = filterConfig.afterView.clone()
-            callable.call(e);
+            invokeAfterView(e)
         }
     }
 
+    /**
+     * Invokes the afterView closure of the filter without checking whether the filter applies to the request.
+     */
+    void invokeAfterView(Exception e) {
+        if (!filterConfig.afterView) return
+
+        def callable = filterConfig.afterView.clone()
+        callable.call(e);
+    }
+
     boolean accept(String controllerName, String actionName, String uri) {
     	boolean matched=true
         if(uriPattern) {
@@ -43,6 +43,8 @@ class MimeTypesGrailsPlugin {
 
         def config = application.config.grails.mime
         boolean useAcceptHeader = config.use.accept.header ? true : false
+        // shared so that parsed headers are cached across requests
+        def parser = new DefaultAcceptHeaderParser()
 
 	    // Reads the request format by parsing request headers. Will check for the existance of a format parameter first as an override
         HttpServletRequest.metaClass.getFormat = {->
@@ -82,7 +84,6 @@ class MimeTypesGrailsPlugin {
                 def userAgent = delegate.getHeader(HttpHeaders.USER_AGENT)
                 def msie = userAgent && useAgent ==~ /msie(?i)/ ?: false 
 
-                def parser = new DefaultAcceptHeaderParser()
                 def header = delegate.contentType
                 if(!header) header = delegate.getHeader(HttpHeaders.CONTENT_TYPE)
                 if(msie) header = "*/*"
@@ -26,6 +26,8 @@ import org.codehaus.groovy.grails.plugins.GrailsPluginManager
 import org.codehaus.groovy.grails.web.mapping.ForwardUrlMappingInfo
 import org.codehaus.groovy.grails.web.metaclass.ControllerDynamicMethods
 import org.codehaus.groovy.grails.web.pages.GroovyPage
+import org.codehaus.groovy.grails.web.pages.GroovyPageBinding
+import org.codehaus.groovy.grails.web.pages.GroovyPageTemplate
 import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 import org.codehaus.groovy.grails.web.sitemesh.FactoryHolder
@@ -522,19 +524,21 @@ class RenderTagLib implements com.opensymphony.module.sitemesh.RequestConstants
                     def first = collection.iterator().next()
                     key = first ? GrailsNameUtils.getPropertyName(first.getClass()) : 'it'
                 }
+                // the body and model are bound once and shared by the templates of all elements,
+                // each of which only binds its element on top of them
+                def modelScope = new GroovyPageBinding()
+                modelScope.addModel(body:body)
+                if (attrs.model instanceof Map) {
+                    modelScope.addModel(attrs.model)
+                }
                 collection.each {
-                    def b = [body:body]
-                    if (attrs.model instanceof Map) {
-                        b += attrs.model
-                    }
-                    if (var) {
-                        b.put(var, it)
+                    def b = var ? [(var): it] : [it: it, (key): it]
+                    if (t instanceof GroovyPageTemplate) {
+                        t.make(b, modelScope).writeTo(out)
                     }
                     else {
-                        b.put('it', it)
-                        b.put(key, it)
+                        t.make(modelScope.variables + b).writeTo(out)
                     }
-                    t.make(b).writeTo(out)
                 }
             }
             else if(attrs.model instanceof Map) {
@@ -119,6 +119,20 @@ public class SitemeshTagLib implements RequestConstants {
      * Used to capture the <body> tag
      */
     def captureBody = { attrs, body ->
+		GSPSitemeshPage streamedPage=request[GrailsPageFilter.GSP_SITEMESH_PAGE]
+		if(streamedPage?.isStreamingLayout()) {
+			attrs?.each { k, v ->
+				if(k != SitemeshPreprocessor.XML_CLOSING_FOR_EMPTY_TAG_ATTRIBUTE_NAME) {
+					streamedPage.addProperty("body.${k.toLowerCase()}", v?.toString())
+				}
+			}
+			streamedPage.setLazyBody { body != null ? wrapContentInBuffer(body) : new StreamCharBuffer() }
+			if(streamedPage.renderStreamingLayout()) {
+				// the layout has rendered the body, the rest of the page output is discarded
+				return
+			}
+			streamedPage.setLazyBody(null)
+		}
 		def content=captureTagContent(out, 'body', attrs, body)
 		if(content != null) {
     		GSPSitemeshPage smpage=request[GrailsPageFilter.GSP_SITEMESH_PAGE]
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.validation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.collections.map.AbstractReferenceMap;
+import org.apache.commons.collections.map.ReferenceIdentityMap;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Holds the Errors of domain class and validateable instances, keyed by the identity of the instance.
+ *
+ * <p>During a request the errors are held in a single map bound to the request, which is cleared when the
+ * request completes. Outside of a request they are held in a thread local map with weak keys and soft values,
+ * so that they don't prevent instances from being garbage collected.</p>
+ *
+ * @since 1.3
+ */
+public class InstanceErrorsHolder {
+
+    private static final String REQUEST_ERRORS = "org.codehaus.groovy.grails.INSTANCE_ERRORS";
+
+    private static final ThreadLocal<Map<Object, Errors>> THREAD_ERRORS = new ThreadLocal<Map<Object, Errors>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Map<Object, Errors> initialValue() {
+            return new ReferenceIdentityMap(AbstractReferenceMap.WEAK, AbstractReferenceMap.SOFT);
+        }
+    };
+
+    private InstanceErrorsHolder() {
+    }
+
+    /**
+     * Returns the errors of the given instance, creating and storing empty errors if the instance has none
+     *
+     * @param instance The instance
+     * @return The errors of the instance
+     */
+    public static Errors getErrors(Object instance) {
+        Map<Object, Errors> errorsMap = getErrorsMap();
+        Errors errors = errorsMap.get(instance);
+        if(errors == null) {
+            errors = new BeanPropertyBindingResult(instance, instance.getClass().getName());
+            errorsMap.put(instance, errors);
+        }
+        return errors;
+    }
+
+    /**
+     * Stores the errors of the given instance
+     *
+     * @param instance The instance
+     * @param errors The errors or null to remove the errors of the instance
+     */
+    public static void setErrors(Object instance, Errors errors) {
+        if(errors == null) {
+            getErrorsMap().remove(instance);
+        }
+        else {
+            getErrorsMap().put(instance, errors);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Errors> getErrorsMap() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes == null) {
+            return THREAD_ERRORS.get();
+        }
+
+        Map<Object, Errors> errorsMap = (Map<Object, Errors>) attributes.getAttribute(REQUEST_ERRORS, RequestAttributes.SCOPE_REQUEST);
+        if(errorsMap == null) {
+            final Map<Object, Errors> newMap = Collections.synchronizedMap(new IdentityHashMap<Object, Errors>());
+            attributes.setAttribute(REQUEST_ERRORS, newMap, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(REQUEST_ERRORS, new Runnable() {
+                public void run() {
+                    newMap.clear();
+                }
+            }, RequestAttributes.SCOPE_REQUEST);
+            errorsMap = newMap;
+        }
+        return errorsMap;
+    }
+}
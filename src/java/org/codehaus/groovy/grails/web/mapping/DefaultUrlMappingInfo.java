@@ -16,6 +16,9 @@ package org.codehaus.groovy.grails.web.mapping;
 
 import grails.util.GrailsNameUtils;
 import groovy.util.ConfigObject;
+import org.codehaus.groovy.grails.commons.ArtefactHandler;
+import org.codehaus.groovy.grails.commons.ControllerActionDescriptor;
+import org.codehaus.groovy.grails.commons.ControllerArtefactHandler;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.web.mapping.exceptions.UrlMappingException;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
@@ -153,7 +156,7 @@ public class DefaultUrlMappingInfo extends AbstractUrlMappingInfo implements Url
         boolean disabled = getMultipartDisabled();
         if (!disabled) {
             MultipartResolver resolver = getResolver();
-            if (resolver.isMultipart(request)) {
+            if (resolver.isMultipart(request) && !isStreamingMultipartAction()) {
                 MultipartHttpServletRequest resolvedMultipartRequest = getResolvedRequest(request, resolver);
                 paramNames = resolvedMultipartRequest.getParameterNames();
             }
@@ -161,6 +164,22 @@ public class DefaultUrlMappingInfo extends AbstractUrlMappingInfo implements Url
         return paramNames;
     }
 
+    /**
+     * Checks whether the mapped action reads multipart requests as a stream, in which case the request must be left unparsed
+     */
+    private boolean isStreamingMultipartAction() {
+        String controllerName = evaluateNameForValue(this.controllerName);
+        if (controllerName == null) return false;
+
+        ArtefactHandler handler = WebUtils.lookupApplication(servletContext).getArtefactHandler(ControllerArtefactHandler.TYPE);
+        if (!(handler instanceof ControllerArtefactHandler)) return false;
+
+        String actionName = evaluateNameForValue(this.actionName);
+        String uri = actionName != null ? "/" + controllerName + "/" + actionName : "/" + controllerName;
+        ControllerActionDescriptor action = ((ControllerArtefactHandler) handler).getActionForURI(uri);
+        return action != null && action.isStreamingMultipart();
+    }
+
     private MultipartHttpServletRequest getResolvedRequest(HttpServletRequest request, MultipartResolver resolver) {
         MultipartHttpServletRequest resolvedMultipartRequest = (MultipartHttpServletRequest) request.getAttribute(MultipartHttpServletRequest.class.getName());
         if (resolvedMultipartRequest == null) {
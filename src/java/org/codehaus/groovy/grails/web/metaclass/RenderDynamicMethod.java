@@ -33,15 +33,19 @@ import org.codehaus.groovy.grails.web.pages.GSPResponseWriter;
 import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.codehaus.groovy.grails.web.servlet.mvc.exceptions.ControllerExecutionException;
+import org.codehaus.groovy.grails.web.util.FileResponseSender;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.springframework.context.ApplicationContext;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -72,6 +76,9 @@ public class RenderDynamicMethod extends AbstractDynamicMethodInvocation {
     public static final String ARGUMENT_COLLECTION = "collection";
     public static final String ARGUMENT_BUILDER = "builder";
     public static final String ARGUMENT_VAR = "var";
+    public static final String ARGUMENT_FILE = "file";
+    public static final String ARGUMENT_STREAM = "stream";
+    public static final String ARGUMENT_FILE_NAME = "fileName";
     private static final String DEFAULT_ARGUMENT = "it";
     private static final String BUILDER_TYPE_RICO = "rico";
     private static final String BUILDER_TYPE_JSON = "json";
@@ -120,6 +127,8 @@ public class RenderDynamicMethod extends AbstractDynamicMethodInvocation {
             setContentType(response, TEXT_HTML, gspEncoding, true);
             Closure closure = (Closure) arguments[arguments.length - 1];
             renderView = renderMarkup(closure, response);
+        } else if (arguments[0] instanceof Map && isFileArgument((Map) arguments[0])) {
+            renderView = renderFile(webRequest, (Map) arguments[0]);
         } else if (arguments[0] instanceof Map) {
             Map argMap = (Map) arguments[0];
             Writer out;
@@ -136,17 +145,7 @@ public class RenderDynamicMethod extends AbstractDynamicMethodInvocation {
                 out = GSPResponseWriter.getInstance(response);
             }
 
-            if(argMap.containsKey(ARGUMENT_STATUS)) {
-                Object statusObj = argMap.get(ARGUMENT_STATUS);
-                if(statusObj!=null) {
-                    try {
-                        response.setStatus(Integer.parseInt(statusObj.toString()));
-                    }
-                    catch (NumberFormatException e) {
-                        throw new ControllerExecutionException("Argument [status] of method [render] must be a valid integer.");
-                    }
-                }
-            }
+            setStatus(response, argMap);
 
             webRequest.setOut(out);
 
@@ -261,6 +260,73 @@ public class RenderDynamicMethod extends AbstractDynamicMethodInvocation {
         return contextPath;
     }
 
+    private void setStatus(HttpServletResponse response, Map argMap) {
+        if(argMap.containsKey(ARGUMENT_STATUS)) {
+            Object statusObj = argMap.get(ARGUMENT_STATUS);
+            if(statusObj!=null) {
+                try {
+                    response.setStatus(Integer.parseInt(statusObj.toString()));
+                }
+                catch (NumberFormatException e) {
+                    throw new ControllerExecutionException("Argument [status] of method [render] must be a valid integer.");
+                }
+            }
+        }
+    }
+
+    private boolean isFileArgument(Map argMap) {
+        return argMap.containsKey(ARGUMENT_FILE) || argMap.containsKey(ARGUMENT_STREAM);
+    }
+
+    /**
+     * Sends a file or stream as the response body through the output stream rather than the response writer,
+     * see {@link FileResponseSender}
+     */
+    private boolean renderFile(GrailsWebRequest webRequest, Map argMap) {
+        HttpServletResponse response = webRequest.getCurrentResponse();
+        FileResponseSender sender = new FileResponseSender(webRequest.getCurrentRequest(), response);
+        Object fileNameObj = argMap.get(ARGUMENT_FILE_NAME);
+        String fileName = fileNameObj != null ? fileNameObj.toString() : null;
+        String contentType = null;
+        if (argMap.get(ARGUMENT_CONTENT_TYPE) != null) {
+            contentType = argMap.get(ARGUMENT_CONTENT_TYPE).toString();
+            if (argMap.get(ARGUMENT_ENCODING) != null) {
+                contentType = GrailsWebUtil.getContentType(contentType, argMap.get(ARGUMENT_ENCODING).toString());
+            }
+        }
+
+        try {
+            if (argMap.containsKey(ARGUMENT_FILE)) {
+                Object fileObj = argMap.get(ARGUMENT_FILE);
+                if (fileObj == null) {
+                    throw new ControllerExecutionException("Argument [file] of method [render] cannot be null.");
+                }
+                File file = fileObj instanceof File ? (File) fileObj : new File(fileObj.toString());
+                if (contentType == null) {
+                    contentType = webRequest.getServletContext().getMimeType(file.getName());
+                }
+                sender.sendFile(file, contentType, fileName);
+            }
+            else {
+                Object stream = argMap.get(ARGUMENT_STREAM);
+                setStatus(response, argMap);
+                if (stream instanceof InputStream) {
+                    sender.sendStream((InputStream) stream, contentType, fileName);
+                }
+                else if (stream instanceof ReadableByteChannel) {
+                    sender.sendChannel((ReadableByteChannel) stream, contentType, fileName);
+                }
+                else {
+                    throw new ControllerExecutionException("Argument [stream] of method [render] must be an InputStream or a ReadableByteChannel.");
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new ControllerExecutionException("I/O error executing render method for arguments [" + argMap + "]: " + e.getMessage(), e);
+        }
+        return false;
+    }
+
     private void setContentType(HttpServletResponse response, String contentType, String encoding) {
         setContentType(response, contentType, encoding, false);
     }
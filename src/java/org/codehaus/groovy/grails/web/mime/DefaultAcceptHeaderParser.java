@@ -0,0 +1,216 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.mime;
+
+import groovy.util.ConfigObject;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.commons.ConfigurationHolder;
+
+/**
+ * Parses the HTTP accept header into a list of MimeType instances in the order of priority. Priority is dictated
+ * by the order of the mime entries and the associated q parameter. The higher the q parameter the higher the priority.
+ *
+ * <p>Since clients send a small number of distinct headers, parsed headers are cached per parser instance. The cache
+ * is bounded and is discarded when the configured mime types change.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ *
+ * Created: Nov 23, 2007
+ */
+public class DefaultAcceptHeaderParser implements AcceptHeaderParser {
+
+    private static final Log LOG = LogFactory.getLog(DefaultAcceptHeaderParser.class);
+
+    /**
+     * The maximum number of cached headers. Headers come from the request, so they are not bounded by the
+     * clients an application actually serves.
+     */
+    public static final int MAX_CACHED_HEADERS = 500;
+
+    private static final Pattern SPECIFIC_XML_TYPE = Pattern.compile("\\S+?\\+xml$");
+    private static final Comparator<MimeType> QUALITY_COMPARATOR = new Comparator<MimeType>() {
+        public int compare(MimeType left, MimeType right) {
+            // higher quality first
+            return getQuality(right).compareTo(getQuality(left));
+        }
+    };
+
+    private volatile ParsedHeaders parsedHeaders;
+
+    public MimeType[] parse(String header) {
+        Map mimeConfig = getMimeConfig();
+        if(mimeConfig == null || mimeConfig.isEmpty()) {
+            LOG.debug("No mime types configured, defaulting to 'text/html'");
+            return MimeType.createDefaults();
+        }
+        if(header == null || header.length() == 0) {
+            return MimeType.getConfiguredMimeTypes();
+        }
+
+        ParsedHeaders parsed = parsedHeaders;
+        if(parsed == null || parsed.mimeConfig != mimeConfig) {
+            parsed = new ParsedHeaders(mimeConfig);
+            parsedHeaders = parsed;
+        }
+
+        MimeType[] mimes = parsed.cache.get(header);
+        if(mimes == null) {
+            mimes = parseHeader(header, parsed.extensions);
+            if(mimes == null) {
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("No configured mime types found for Accept header: " + header);
+                }
+                return MimeType.createDefaults();
+            }
+            if(parsed.cache.size() < MAX_CACHED_HEADERS) {
+                parsed.cache.put(header, mimes);
+            }
+        }
+        return mimes.clone();
+    }
+
+    private MimeType[] parseHeader(String header, Map<String, String> extensions) {
+        List<MimeType> mimes = new ArrayList<MimeType>();
+        for (String token : header.split(",")) {
+            String name = token;
+            Map<String, Object> params = null;
+            if(token.indexOf(';') > -1) {
+                String[] parts = token.split(";");
+                name = parts[0];
+                for (int i = 1; i < parts.length; i++) {
+                    int j = parts[i].indexOf('=');
+                    if(j > -1) {
+                        if(params == null) params = new LinkedHashMap<String, Object>();
+                        params.put(parts[i].substring(0, j).trim(), parts[i].substring(j + 1).trim());
+                    }
+                }
+            }
+            name = name.trim();
+            String extension = extensions.get(name);
+            if(extension != null) {
+                MimeType mime = new MimeType(name);
+                if(params != null) mime.getParameters().putAll(params);
+                mime.setExtension(extension);
+                mimes.add(mime);
+            }
+        }
+
+        if(mimes.isEmpty()) {
+            return null;
+        }
+
+        // remove duplicate text/xml and application/xml entries
+        MimeType textXml = findByName(mimes, "text/xml");
+        MimeType appXml = findByName(mimes, MimeType.XML);
+        if(textXml != null && appXml != null) {
+            // take the largest q value
+            appXml.getParameters().put("q", getQuality(textXml).max(getQuality(appXml)));
+            mimes.remove(textXml);
+        }
+        else if(textXml != null) {
+            textXml.setName(MimeType.XML);
+        }
+
+        if(appXml != null) {
+            // prioritise more specific XML types like xhtml+xml if they are of equal quality
+            List<MimeType> specificTypes = new ArrayList<MimeType>();
+            for (MimeType mime : mimes) {
+                if(SPECIFIC_XML_TYPE.matcher(mime.getName()).matches()) specificTypes.add(mime);
+            }
+            int appXmlIndex = mimes.indexOf(appXml);
+            BigDecimal appXmlQuality = getQuality(appXml);
+            for (MimeType mime : specificTypes) {
+                if(getQuality(mime).compareTo(appXmlQuality) < 0) continue;
+
+                int mimeIndex = mimes.indexOf(mime);
+                if(mimeIndex > appXmlIndex) {
+                    mimes.remove(mime);
+                    mimes.add(appXmlIndex, mime);
+                }
+            }
+        }
+
+        Collections.sort(mimes, QUALITY_COMPARATOR);
+        return mimes.toArray(new MimeType[mimes.size()]);
+    }
+
+    private static MimeType findByName(List<MimeType> mimes, String name) {
+        for (MimeType mime : mimes) {
+            if(name.equals(mime.getName())) return mime;
+        }
+        return null;
+    }
+
+    private static BigDecimal getQuality(MimeType mime) {
+        Object q = mime.getParameters().get("q");
+        return q instanceof BigDecimal ? (BigDecimal) q : new BigDecimal(q.toString().trim());
+    }
+
+    private static Map getMimeConfig() {
+        ConfigObject config = ConfigurationHolder.getConfig();
+        if(config == null) return null;
+        Object grails = config.get("grails");
+        Object mime = grails instanceof Map ? ((Map) grails).get("mime") : null;
+        Object types = mime instanceof Map ? ((Map) mime).get("types") : null;
+        return types instanceof Map ? (Map) types : null;
+    }
+
+    /**
+     * The parsed headers for a mime type configuration, along with the mime type names mapped to their extensions.
+     */
+    private static class ParsedHeaders {
+        final Map mimeConfig;
+        final Map<String, String> extensions = new HashMap<String, String>();
+        final Map<String, MimeType[]> cache = new ConcurrentHashMap<String, MimeType[]>();
+
+        ParsedHeaders(Map mimeConfig) {
+            this.mimeConfig = mimeConfig;
+            // mime types configured on their own take precedence over those in a list
+            for (Iterator i = mimeConfig.entrySet().iterator(); i.hasNext();) {
+                Map.Entry entry = (Map.Entry) i.next();
+                if(entry.getValue() != null && !(entry.getValue() instanceof List)) {
+                    String name = entry.getValue().toString();
+                    if(!extensions.containsKey(name)) extensions.put(name, entry.getKey().toString());
+                }
+            }
+            for (Iterator i = mimeConfig.entrySet().iterator(); i.hasNext();) {
+                Map.Entry entry = (Map.Entry) i.next();
+                if(entry.getValue() instanceof List) {
+                    for (Object name : (List) entry.getValue()) {
+                        if(name != null && !extensions.containsKey(name.toString())) {
+                            extensions.put(name.toString(), entry.getKey().toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
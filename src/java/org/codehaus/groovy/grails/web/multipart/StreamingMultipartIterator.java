@@ -0,0 +1,147 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.multipart;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.commons.CommonsFileUploadSupport;
+
+/**
+ * <p>Iterates over the parts of a multipart request in the order they arrive, without buffering them in memory
+ * or in temporary files. Data is only read from the request as the content of the current part is consumed.</p>
+ *
+ * <p>Multipart requests are normally parsed before the action runs. Actions listed in the static
+ * <code>streamingMultipart</code> property of a controller (or all actions if it is <code>true</code>) receive
+ * the request unparsed and can read it through the <code>multipartParts</code> property of the controller:</p>
+ *
+ * <pre>
+ * static streamingMultipart = ['upload']
+ *
+ * def upload = {
+ *     for(part in multipartParts) {
+ *         if(!part.formField) part.transferTo(new File(uploadDir, part.originalFilename))
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>The form fields of such requests are not available in params.</p>
+ *
+ * @since 1.3
+ */
+public class StreamingMultipartIterator implements Iterator<StreamingPart> {
+
+    private static final String REQUEST_ATTRIBUTE = StreamingMultipartIterator.class.getName();
+
+    private final FileItemIterator items;
+    private final String encoding;
+
+    /**
+     * @param request The multipart request
+     * @param maxRequestSize The maximum size of the request or -1 for no limit
+     * @param maxFileSize The maximum size of an uploaded file or -1 for no limit
+     */
+    public StreamingMultipartIterator(HttpServletRequest request, long maxRequestSize, long maxFileSize) {
+        if(request instanceof MultipartHttpServletRequest || request.getAttribute(MultipartHttpServletRequest.class.getName()) != null) {
+            throw new IllegalStateException("The multipart request has already been parsed. Add the action to the " +
+                    "static streamingMultipart property of the controller to read it as a stream.");
+        }
+
+        encoding = request.getCharacterEncoding();
+        if(ServletFileUpload.isMultipartContent(request)) {
+            ServletFileUpload upload = new ServletFileUpload();
+            upload.setSizeMax(maxRequestSize);
+            upload.setFileSizeMax(maxFileSize);
+            upload.setHeaderEncoding(encoding);
+            try {
+                items = upload.getItemIterator(request);
+            }
+            catch (FileUploadException e) {
+                throw new MultipartException("Could not parse multipart servlet request", e);
+            }
+            catch (IOException e) {
+                throw new MultipartException("Could not parse multipart servlet request", e);
+            }
+        }
+        else {
+            items = null;
+        }
+    }
+
+    /**
+     * Returns the iterator for the given request, creating it if necessary with the size limits configured
+     * for the given resolver
+     *
+     * @param request The multipart request
+     * @param resolver The multipart resolver of the application or null if there is none
+     * @return The iterator for the request
+     */
+    public static StreamingMultipartIterator getInstance(HttpServletRequest request, MultipartResolver resolver) {
+        StreamingMultipartIterator iterator = (StreamingMultipartIterator) request.getAttribute(REQUEST_ATTRIBUTE);
+        if(iterator == null) {
+            long maxRequestSize = -1;
+            long maxFileSize = -1;
+            if(resolver instanceof CommonsFileUploadSupport) {
+                FileUploadBase fileUpload = ((CommonsFileUploadSupport) resolver).getFileUpload();
+                maxRequestSize = fileUpload.getSizeMax();
+                maxFileSize = fileUpload.getFileSizeMax();
+            }
+            iterator = new StreamingMultipartIterator(request, maxRequestSize, maxFileSize);
+            request.setAttribute(REQUEST_ATTRIBUTE, iterator);
+        }
+        return iterator;
+    }
+
+    public boolean hasNext() {
+        if(items == null) return false;
+        try {
+            return items.hasNext();
+        }
+        catch (FileUploadException e) {
+            throw new MultipartException("Could not parse multipart servlet request", e);
+        }
+        catch (IOException e) {
+            throw new MultipartException("Could not read multipart servlet request", e);
+        }
+    }
+
+    public StreamingPart next() {
+        if(!hasNext()) throw new NoSuchElementException();
+        try {
+            return new StreamingPart(items.next(), encoding);
+        }
+        catch (FileUploadException e) {
+            throw new MultipartException("Could not parse multipart servlet request", e);
+        }
+        catch (IOException e) {
+            throw new MultipartException("Could not read multipart servlet request", e);
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("Parts of a multipart request cannot be removed");
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.multipart;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.util.Streams;
+
+/**
+ * A part of a multipart request that is read as it arrives. The content of a part can only be read until the
+ * next part is requested from the {@link StreamingMultipartIterator} and it can only be read once.
+ *
+ * @since 1.3
+ */
+public class StreamingPart {
+
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
+    private final FileItemStream item;
+    private final String encoding;
+    private InputStream inputStream;
+
+    StreamingPart(FileItemStream item, String encoding) {
+        this.item = item;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return The name of the form field of the part
+     */
+    public String getFieldName() {
+        return item.getFieldName();
+    }
+
+    /**
+     * @return The name of the uploaded file as given by the client or null if the part is a form field
+     */
+    public String getOriginalFilename() {
+        return item.getName();
+    }
+
+    public String getContentType() {
+        return item.getContentType();
+    }
+
+    /**
+     * @return True if the part is a simple form field rather than an uploaded file
+     */
+    public boolean isFormField() {
+        return item.isFormField();
+    }
+
+    /**
+     * @return A stream of the content of the part, which reads from the request as it is consumed
+     * @throws IOException If the stream can't be opened, for example because a later part has been requested
+     */
+    public InputStream getInputStream() throws IOException {
+        if(inputStream == null) {
+            inputStream = item.openStream();
+        }
+        return inputStream;
+    }
+
+    /**
+     * @return A channel over the content of the part
+     * @throws IOException If the stream of the part can't be opened
+     */
+    public ReadableByteChannel getChannel() throws IOException {
+        return Channels.newChannel(getInputStream());
+    }
+
+    /**
+     * Reads the content of the part as a String, which is intended for form fields
+     *
+     * @return The content of the part
+     * @throws IOException If the content can't be read
+     */
+    public String getString() throws IOException {
+        return encoding != null ? Streams.asString(getInputStream(), encoding) : Streams.asString(getInputStream());
+    }
+
+    /**
+     * Writes the content of the part to the given file as it is read from the request
+     *
+     * @param destination The file to write to, which is replaced if it exists
+     * @return The number of bytes written
+     * @throws IOException If the content can't be read or written, including when it exceeds the size limits
+     */
+    public long transferTo(File destination) throws IOException {
+        ReadableByteChannel in = getChannel();
+        FileOutputStream out = new FileOutputStream(destination);
+        try {
+            FileChannel channel = out.getChannel();
+            long position = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(in, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    public String toString() {
+        return "StreamingPart[" + getFieldName() + (isFormField() ? "" : ", " + getOriginalFilename()) + "]";
+    }
+}
@@ -53,6 +53,22 @@ public class GSPWriter extends PrintWriter {
         println();
     }
 
+    /**
+     * Prints an expression whose value is encoded with the codec of the page
+     *
+     * @param s The expression
+     */
+    public void printlnEncodedToResponse(String s) {
+    	if(StringUtils.isEmpty(s)) {
+    		return;
+    	}
+    	parse.flushTagBuffering();
+        super.print("printEncoded(");
+        super.print(s);
+        super.print(")");
+        println();
+    }
+
     public void printlnToBuffer(String s, int index) {
         if(s == null) s = "''";
         super.print("buf"+index+" << ");
@@ -15,6 +15,7 @@
  */
 package org.codehaus.groovy.grails.web.pages;
 
+import groovy.lang.Binding;
 import groovy.lang.Closure;
 import groovy.lang.GroovyObject;
 import groovy.lang.MetaProperty;
@@ -22,6 +23,7 @@ import groovy.lang.Script;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.codehaus.groovy.grails.plugins.GrailsPluginManager;
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
 import org.codehaus.groovy.grails.web.errors.GrailsExceptionResolver;
 import org.codehaus.groovy.grails.web.pages.exceptions.GroovyPagesException;
 import org.codehaus.groovy.grails.web.pages.ext.jsp.TagLibraryResolver;
@@ -33,6 +35,7 @@ import org.codehaus.groovy.grails.web.taglib.GroovyPageTagBody;
 import org.codehaus.groovy.grails.web.taglib.GroovyPageTagWriter;
 import org.codehaus.groovy.grails.web.taglib.exceptions.GrailsTagException;
 import org.codehaus.groovy.grails.web.util.GrailsPrintWriter;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.springframework.context.ApplicationContext;
 
 import javax.servlet.http.HttpServletRequest;
@@ -92,6 +95,8 @@ public abstract class GroovyPage extends Script {
     
     private static final String BINDING = "binding";
     private static final String BLANK_STRING = "";
+    private static final String CODEC = "Codec";
+    private static final String ENCODE_METHOD = "encode";
     private Map jspTags = Collections.EMPTY_MAP;
     private TagLibraryResolver jspTagLibraryResolver;
     private TagLibraryLookup gspTagLibraryLookup;
@@ -100,6 +105,9 @@ public abstract class GroovyPage extends Script {
     private GroovyPageOutputStack outputStack;
     private GrailsWebRequest webRequest;
     private String pluginContextPath;
+    private Object codec;
+    private StreamingEncoder streamingEncoder;
+    private TagHandle[] tagHandles;
     
     public static final class ConstantClosure extends Closure {
 		private static final long serialVersionUID = 1L;
@@ -145,23 +153,28 @@ public abstract class GroovyPage extends Script {
     public void setOut(Writer newWriter) {
     	throw new IllegalStateException("Setting out in page isn't allowed.");
     }
+
+    /**
+     * @return The request the page is rendered in
+     */
+    public GrailsWebRequest getWebRequest() {
+        return webRequest;
+    }
         
 	public void initRun(Writer target, GrailsWebRequest webRequest) {
 		this.outputStack = GroovyPageOutputStack.currentStack(true, target, false, true);
 		this.out = outputStack.getProxyWriter();
 		this.webRequest = webRequest;
-        final Map map = getBinding().getVariables();
-        if(map.containsKey(APPLICATION_CONTEXT)) {
-            final ApplicationContext applicationContext = (ApplicationContext) map.get(APPLICATION_CONTEXT);
-            if(applicationContext!=null && applicationContext.containsBean(GrailsPluginManager.BEAN_NAME)) {
-                final GrailsPluginManager pluginManager = applicationContext.getBean(GrailsPluginManager.BEAN_NAME, GrailsPluginManager.class);
-                this.pluginContextPath = pluginManager.getPluginPathForInstance(this);
-            }
+        final ApplicationContext applicationContext = (ApplicationContext) lookupBindingVariable(APPLICATION_CONTEXT);
+        if(applicationContext!=null && applicationContext.containsBean(GrailsPluginManager.BEAN_NAME)) {
+            final GrailsPluginManager pluginManager = applicationContext.getBean(GrailsPluginManager.BEAN_NAME, GrailsPluginManager.class);
+            this.pluginContextPath = pluginManager.getPluginPathForInstance(this);
         }
         if(webRequest != null) {
 			this.webRequest.setOut(this.out);
 		}
 		getBinding().setVariable(OUT, this.out);
+		this.codec = lookupBindingVariable(CODEC);
 	}
 
     public String getPluginContextPath() {
@@ -231,7 +244,7 @@ public abstract class GroovyPage extends Script {
         // with the Groovy Truth
         if(BINDING.equals(property)) return getBinding();
 
-        Object value = getBinding().getVariables().get(property);
+        Object value = lookupBindingVariable(property);
         if(value != null) {
         	return value;
         }
@@ -261,6 +274,19 @@ public abstract class GroovyPage extends Script {
         return value;
     }
 
+    /**
+     * Looks up a variable in the binding of the page, including the scopes the binding is layered on
+     *
+     * @param name The name of the variable
+     * @return The value or null if the variable isn't defined
+     */
+    protected final Object lookupBindingVariable(String name) {
+        Binding binding = getBinding();
+        if(binding instanceof GroovyPageBinding) {
+            return ((GroovyPageBinding) binding).lookupVariable(name);
+        }
+        return binding.getVariables().get(name);
+    }
 
     /**
      * Attempts to invokes a dynamic tag
@@ -316,37 +342,8 @@ public abstract class GroovyPage extends Script {
                 	boolean returnsObject = gspTagLibraryLookup.doesTagReturnObject(tagNamespace, tagName);
                     Object tagLibProp = tagLib.getProperty(tagName);
                     if(tagLibProp instanceof Closure) {
-                        Closure tag = (Closure) ((Closure)tagLibProp).clone();
-                        Object tagresult=null;
-                        
                         // GSP<->Sitemesh integration requires that the body or head subchunk isn't written to output
-                    	boolean preferSubChunkWhenWritingToOtherBuffer = resolvePreferSubChunk(tagNamespace, tagName);
-                    	if(body instanceof GroovyPageTagBody && preferSubChunkWhenWritingToOtherBuffer) {
-                    		((GroovyPageTagBody)body).setPreferSubChunkWhenWritingToOtherBuffer(true);
-                    	}
-                        
-                        switch(tag.getParameterTypes().length) {
-                            case 1:
-                                tagresult=tag.call( new Object[]{ attrs });
-                                if(returnsObject && tagresult != null && !(tagresult instanceof Writer)) {
-                                	out.print(tagresult);
-                                }
-                                if(body != null && body != EMPTY_BODY_CLOSURE) {
-                                    body.call();
-                                }
-
-                            break;
-
-                            case 2:
-                                if(tag.getParameterTypes().length == 2) {
-                                	tagresult=tag.call( new Object[] { attrs, (body!=null)?body:EMPTY_BODY_CLOSURE });
-                                    if(returnsObject && tagresult != null && !(tagresult instanceof Writer)) {
-                                    	out.print(tagresult);
-                                    }
-                                }
-                            break;
-                        }
-
+                        invokeTagClosure((Closure)tagLibProp, returnsObject, resolvePreferSubChunk(tagNamespace, tagName), attrs, body);
                     }else {
                        throw new GrailsTagException("Tag ["+tagName+"] does not exist in tag library ["+tagLib.getClass().getName()+"]", getGroovyPageFileName(),lineNumber);
                     }
@@ -381,24 +378,136 @@ public abstract class GroovyPage extends Script {
             }
 		}
         catch(Throwable e) {
-        	if(LOG.isTraceEnabled()) {
-        		LOG.trace("Full exception for problem at " + getGroovyPageFileName() + ":" + lineNumber, e);
-        	}
-
-           // The capture* tags are internal tags and not to be displayed to the user
-           // hence we don't wrap the exception and simple rethrow it
-           if(tagName.matches("capture(Body|Head|Meta|Title|Component)")) {
-               RuntimeException rte = GrailsExceptionResolver.getFirstRuntimeException(e);
-               if(rte == null) {
-                   throwRootCause(tagName, tagNamespace, lineNumber, e);                   
-               }
-               else {
-                   throw rte;
-               }
-           }
-           else {
-               throwRootCause(tagName, tagNamespace, lineNumber, e);
-           }
+            handleTagException(tagName, tagNamespace, lineNumber, e);
+        }
+    }
+
+    /**
+     * Invokes a tag through a handle that is resolved the first time the tag is invoked by the page. Pages generated
+     * for production use this method for the tags of their own namespaces so that the tag library, the tag closure
+     * and the tag's properties are looked up once per page instead of on every invocation.
+     *
+     * @param handleIndex The index of the handle, unique for each tag name and namespace in the page
+     * @param tagName The name of the tag
+     * @param tagNamespace The taglib's namespace
+     * @param lineNumber The line number
+     * @param attrs The tags attributes
+     * @param body The body of the tag as a closure
+     */
+    public final void invokeTag(int handleIndex, String tagName, String tagNamespace, int lineNumber, Map attrs, Closure body) {
+        try {
+            TagHandle handle = getTagHandle(handleIndex, tagNamespace, tagName);
+            if(handle.tag != null) {
+                invokeTagClosure(handle.tag, handle.returnsObject, handle.preferSubChunk, attrs, body);
+                return;
+            }
+        }
+        catch(Throwable e) {
+            handleTagException(tagName, tagNamespace, lineNumber, e);
+            return;
+        }
+        // unknown tags and tags that aren't closures are handled, and reported, by the dynamic invocation
+        invokeTag(tagName, tagNamespace, lineNumber, attrs, body);
+    }
+
+    /**
+     * Allocates the handles used by {@link #invokeTag(int, String, String, int, Map, Closure)}
+     *
+     * @param count The number of distinct tags the page invokes through handles
+     */
+    protected final void initTagHandles(int count) {
+        this.tagHandles = new TagHandle[count];
+    }
+
+    private TagHandle getTagHandle(int handleIndex, String tagNamespace, String tagName) {
+        boolean cacheable = tagHandles != null && handleIndex < tagHandles.length;
+        TagHandle handle = cacheable ? tagHandles[handleIndex] : null;
+        if(handle == null) {
+            handle = resolveTagHandle(tagNamespace, tagName);
+            if(cacheable) {
+                tagHandles[handleIndex] = handle;
+            }
+        }
+        return handle;
+    }
+
+    private TagHandle resolveTagHandle(String tagNamespace, String tagName) {
+        Closure tag = null;
+        boolean returnsObject = false;
+        if(!TEMPLATE_NAMESPACE.equals(tagNamespace) && !LINK_NAMESPACE.equals(tagNamespace)) {
+            GroovyObject tagLib = getTagLib(tagNamespace, tagName);
+            if(tagLib != null) {
+                Object tagLibProp = tagLib.getProperty(tagName);
+                if(tagLibProp instanceof Closure) {
+                    tag = (Closure) tagLibProp;
+                    returnsObject = gspTagLibraryLookup.doesTagReturnObject(tagNamespace, tagName);
+                }
+            }
+        }
+        return new TagHandle(tag, returnsObject, resolvePreferSubChunk(tagNamespace, tagName));
+    }
+
+    private void invokeTagClosure(Closure tagClosure, boolean returnsObject, boolean preferSubChunkWhenWritingToOtherBuffer, Map attrs, Closure body) {
+        Closure tag = (Closure) tagClosure.clone();
+        Object tagresult=null;
+
+        if(body instanceof GroovyPageTagBody && preferSubChunkWhenWritingToOtherBuffer) {
+            ((GroovyPageTagBody)body).setPreferSubChunkWhenWritingToOtherBuffer(true);
+        }
+
+        switch(tag.getParameterTypes().length) {
+            case 1:
+                tagresult=tag.call( new Object[]{ attrs });
+                if(returnsObject && tagresult != null && !(tagresult instanceof Writer)) {
+                    out.print(tagresult);
+                }
+                if(body != null && body != EMPTY_BODY_CLOSURE) {
+                    body.call();
+                }
+            break;
+
+            case 2:
+                tagresult=tag.call( new Object[] { attrs, (body!=null)?body:EMPTY_BODY_CLOSURE });
+                if(returnsObject && tagresult != null && !(tagresult instanceof Writer)) {
+                    out.print(tagresult);
+                }
+            break;
+        }
+    }
+
+    private void handleTagException(String tagName, String tagNamespace, int lineNumber, Throwable e) {
+        if(LOG.isTraceEnabled()) {
+            LOG.trace("Full exception for problem at " + getGroovyPageFileName() + ":" + lineNumber, e);
+        }
+
+        // The capture* tags are internal tags and not to be displayed to the user
+        // hence we don't wrap the exception and simple rethrow it
+        if(tagName.matches("capture(Body|Head|Meta|Title|Component)")) {
+            RuntimeException rte = GrailsExceptionResolver.getFirstRuntimeException(e);
+            if(rte == null) {
+                throwRootCause(tagName, tagNamespace, lineNumber, e);
+            }
+            else {
+                throw rte;
+            }
+        }
+        else {
+            throwRootCause(tagName, tagNamespace, lineNumber, e);
+        }
+    }
+
+    /**
+     * A tag resolved for the invocations of a page
+     */
+    private static final class TagHandle {
+        final Closure tag;
+        final boolean returnsObject;
+        final boolean preferSubChunk;
+
+        TagHandle(Closure tag, boolean returnsObject, boolean preferSubChunk) {
+            this.tag = tag;
+            this.returnsObject = returnsObject;
+            this.preferSubChunk = preferSubChunk;
         }
     }
 
@@ -567,8 +676,47 @@ public abstract class GroovyPage extends Script {
         return RESERVED_NAMES.contains(name);
     }
 
+    /**
+     * Prints a static part of the page. When the codec of the page provides a streaming encoder, the
+     * markup is marked as encoded with it so that encoding the output again leaves it unchanged.
+     *
+     * @param partNumber The index of the part
+     */
     public final void printHtmlPart(final int partNumber) {
-    	out.write(htmlParts[partNumber]);
+        if(streamingEncoder != null) {
+            out.writeEncoded(htmlParts[partNumber], streamingEncoder);
+        }
+        else {
+            out.write(htmlParts[partNumber]);
+        }
+    }
+
+    /**
+     * Prints the value of an expression encoded with the codec of the page. If the codec provides a
+     * streaming encoder the value is encoded directly into the output, skipping content of buffers that
+     * is already encoded with it.
+     *
+     * @param value The value of the expression
+     */
+    public final void printEncoded(final Object value) {
+        if(streamingEncoder != null && value != null) {
+            out.printEncoded(value, streamingEncoder);
+        }
+        else if(codec != null) {
+            out.print(InvokerHelper.invokeMethod(codec, ENCODE_METHOD, new Object[] { value }));
+        }
+        else {
+            out.print(value);
+        }
+    }
+
+    /**
+     * Sets the streaming encoder of the codec of the page
+     *
+     * @param streamingEncoder The encoder or null if the codec doesn't provide one
+     */
+    public void setStreamingEncoder(StreamingEncoder streamingEncoder) {
+        this.streamingEncoder = streamingEncoder;
     }
 
     /**
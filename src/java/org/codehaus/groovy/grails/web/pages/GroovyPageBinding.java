@@ -4,11 +4,23 @@
 package org.codehaus.groovy.grails.web.pages;
 
 import groovy.lang.Binding;
+import groovy.lang.MissingPropertyException;
 
 import java.util.Map;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The binding of a GSP page. A binding may have a parent binding, variables that are not defined in the
+ * binding itself are then looked up in the parent without being copied. Variables are always set in the
+ * binding itself, so they shadow the variables of the parent.
+ */
 public class GroovyPageBinding extends Binding {
+    private static final Log LOG = LogFactory.getLog(GroovyPageBinding.class);
+
     private String pluginContextPath;
+    private Binding parent;
 
     public GroovyPageBinding() {
 		super();
@@ -34,6 +46,78 @@ public class GroovyPageBinding extends Binding {
         this.pluginContextPath = pluginContextPath;
     }
 
+    /**
+     * @return The binding variables are looked up in when they are not defined in this binding
+     */
+    public Binding getParent() {
+        return parent;
+    }
+
+    public void setParent(Binding parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Adds the given model to the binding, skipping the variables whose names are reserved for GSP
+     *
+     * @param model The model variables
+     * @see GroovyPage#isReservedName(String)
+     */
+    public void addModel(Map model) {
+        Map variables = getVariables();
+        for (Object o : model.entrySet()) {
+            Map.Entry entry = (Map.Entry) o;
+            String key = (String) entry.getKey();
+            if (!GroovyPage.isReservedName(key)) {
+                variables.put(key, entry.getValue());
+            }
+            else {
+                LOG.debug("Variable [" + key + "] cannot be placed within the GSP model, the name used is a reserved name.");
+            }
+        }
+    }
+
+    /**
+     * Looks up a variable in this binding and then in its parents
+     *
+     * @param name The name of the variable
+     * @return The value of the variable or null if it isn't defined
+     */
+    public Object lookupVariable(String name) {
+        Map variables = getVariables();
+        Object value = variables.get(name);
+        if(value == null && parent != null && !variables.containsKey(name)) {
+            if(parent instanceof GroovyPageBinding) {
+                return ((GroovyPageBinding) parent).lookupVariable(name);
+            }
+            return parent.getVariables().get(name);
+        }
+        return value;
+    }
+
+    /**
+     * @param name The name of the variable
+     * @return True if the variable is defined in this binding or one of its parents
+     */
+    public boolean hasVariable(String name) {
+        if(getVariables().containsKey(name)) {
+            return true;
+        }
+        if(parent instanceof GroovyPageBinding) {
+            return ((GroovyPageBinding) parent).hasVariable(name);
+        }
+        return parent != null && parent.getVariables().containsKey(name);
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        Object value = lookupVariable(name);
+        if(value == null && !hasVariable(name)) {
+            throw new MissingPropertyException(name, getClass());
+        }
+        return value;
+    }
+
     @Override
 	public Object getProperty(String property) {
         if(getMetaClass().hasProperty(this, property)!=null) {
@@ -46,4 +130,4 @@ public class GroovyPageBinding extends Binding {
 	public void setProperty(String property, Object newValue) {
 		setVariable(property, newValue);
 	}
-}
\ No newline at end of file
+}
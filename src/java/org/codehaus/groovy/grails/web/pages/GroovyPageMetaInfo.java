@@ -29,6 +29,8 @@ import org.codehaus.groovy.grails.commons.CodecArtefactHandler;
 import org.codehaus.groovy.grails.commons.ConfigurationHolder;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsClass;
+import org.codehaus.groovy.grails.commons.GrailsCodecClass;
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
 import org.codehaus.groovy.grails.web.pages.exceptions.GroovyPagesException;
 import org.codehaus.groovy.grails.web.pages.ext.jsp.TagLibraryResolver;
 import org.springframework.util.ReflectionUtils;
@@ -60,6 +62,7 @@ class GroovyPageMetaInfo {
     private GroovyPagesException compilationException;
 	private String codecName;
 	private Class codecClass;
+	private StreamingEncoder streamingEncoder;
 
     public static final String HTML_DATA_POSTFIX = "_html.data";
     public static final String LINENUMBERS_DATA_POSTFIX = "_linenumbers.data";
@@ -112,6 +115,9 @@ class GroovyPageMetaInfo {
 		}
 		if(codecGrailsClass!=null) {
 			codecClass = codecGrailsClass.getClazz();
+			if(codecGrailsClass instanceof GrailsCodecClass) {
+				streamingEncoder = ((GrailsCodecClass) codecGrailsClass).getStreamingEncoder();
+			}
 		}
 	}
     
@@ -274,6 +280,13 @@ class GroovyPageMetaInfo {
 		return codecClass;
 	}
 
+	/**
+	 * @return The streaming encoder of the codec of the page or null if the codec doesn't provide one
+	 */
+	public StreamingEncoder getStreamingEncoder() {
+		return streamingEncoder;
+	}
+
 	public String getCodecName() {
 		return codecName;
 	}
@@ -88,6 +88,7 @@ public class GroovyPageParser implements Tokens {
 	
 	Set<Integer> bodyVarsDefined=new HashSet<Integer>();
 	Map<Integer, String> attrsVarsMapDefinition=new HashMap<Integer, String>();
+	Map<String, Integer> tagHandleIndexes=new HashMap<String, Integer>();
 
 	int closureLevel=0;
 
@@ -477,11 +478,7 @@ public class GroovyPageParser implements Tokens {
 
 		String text = scan.getToken().trim();
 		text = getExpressionText(text);
-		if(text.startsWith("(") && text.endsWith(")")) {
-			out.printlnToResponse("Codec.encode" + text);
-		} else {
-			out.printlnToResponse("Codec.encode(" + text + ")");
-		}
+		out.printlnEncodedToResponse(text);
 	} // expr()
 
 	/**
@@ -497,8 +494,7 @@ public class GroovyPageParser implements Tokens {
             text = text.substring(0, text.length() - 1);
             safeDereference = true;
         }
-        if (!precompileMode
-				&& (environment == Environment.DEVELOPMENT || environment == Environment.TEST)) {
+        if (isDevelopmentMode()) {
 			String escaped = escapeGroovy(text);
 			text = "evaluate('" + escaped + "', "
 					+ getCurrentOutputLineNumber() + ", it) { return " + text
@@ -512,6 +508,19 @@ public class GroovyPageParser implements Tokens {
 		return text;
 	}
 
+	/**
+	 * In development and test, expressions are wrapped in evaluate calls that report errors with the line
+	 * number of the expression. Pages generated for production leave only the expressions dynamic: they
+	 * access the page's writer and variables through GroovyPage methods instead of the binding and invoke
+	 * tags through handles that are resolved once per page.
+	 *
+	 * @return True if the page is generated for development or test
+	 */
+	private boolean isDevelopmentMode() {
+		return !precompileMode
+				&& (environment == Environment.DEVELOPMENT || environment == Environment.TEST);
+	}
+
 	private String escapeGroovy(String text) {
 		return text.replace("\\", "\\\\").replace("'", "\\'").replace("\n",
 				"\\n").replace("\r", "\\r");
@@ -681,11 +690,19 @@ public class GroovyPageParser implements Tokens {
 			out.println("public String getGroovyPageFileName() { \""
 					+ pageName.replaceAll("\\\\", "/") + "\" }");
 			out.println("public Object run() {");
-			out.println("def params = binding.params");
-			out.println("def request = binding.request");
-			out.println("def flash = binding.flash");
-			out.println("def response = binding.response");
-			out.println("def out = binding.out");
+			if(isDevelopmentMode()) {
+				out.println("def params = binding.params");
+				out.println("def request = binding.request");
+				out.println("def flash = binding.flash");
+				out.println("def response = binding.response");
+				out.println("def out = binding.out");
+			} else {
+				out.println("def params = lookupBindingVariable('params')");
+				out.println("def request = lookupBindingVariable('request')");
+				out.println("def flash = lookupBindingVariable('flash')");
+				out.println("def response = lookupBindingVariable('response')");
+				out.println("org.codehaus.groovy.grails.web.util.GrailsPrintWriter out = getOut()");
+			}
 			if(sitemeshPreprocessMode) {
 				out.println("registerSitemeshPreprocessMode(request)");
 			}
@@ -773,6 +790,9 @@ public class GroovyPageParser implements Tokens {
 
 			out.println("protected void init() {");
 			out.println("\tthis.jspTags = " + CONSTANT_NAME_JSP_TAGS);
+			if(!tagHandleIndexes.isEmpty()) {
+				out.println("\tinitTagHandles(" + tagHandleIndexes.size() + ")");
+			}
 			out.println("}");
 			
 			out.println("public static final String "
@@ -868,12 +888,17 @@ public class GroovyPageParser implements Tokens {
 				out.println("jspTag.doTag(out," + attrsVarsMapDefinition.get(tagIndex) + ", "
 						+ bodyTagClosureName + ")");
 			} else {
+				String handleIndex = "";
+				if (!isDevelopmentMode() && !GroovyPage.TEMPLATE_NAMESPACE.equals(ns)
+						&& !GroovyPage.LINK_NAMESPACE.equals(ns)) {
+					handleIndex = getTagHandleIndex(ns, tagName) + ",";
+				}
 				if (tm.hasAttributes) {
-					out.println("invokeTag('" + tagName + "','" + ns + "',"
+					out.println("invokeTag(" + handleIndex + "'" + tagName + "','" + ns + "',"
 							+ getCurrentOutputLineNumber() + "," + attrsVarsMapDefinition.get(tagIndex) +
 							"," + bodyTagClosureName + ")");
 				} else {
-					out.println("invokeTag('" + tagName + "','" + ns + "',"
+					out.println("invokeTag(" + handleIndex + "'" + tagName + "','" + ns + "',"
 							+ getCurrentOutputLineNumber() + ",[:],"
 							+ bodyTagClosureName + ")");
 				}
@@ -884,6 +909,16 @@ public class GroovyPageParser implements Tokens {
 		tagIndex--;
 	}
 
+	private int getTagHandleIndex(String ns, String tagName) {
+		String key = ns + ":" + tagName;
+		Integer index = tagHandleIndexes.get(key);
+		if (index == null) {
+			index = tagHandleIndexes.size();
+			tagHandleIndexes.put(key, index);
+		}
+		return index;
+	}
+
 	private void startTag() {
 		if (!finalPass)
 			return;
@@ -1019,7 +1054,7 @@ public class GroovyPageParser implements Tokens {
 			out
 					.println("body"
 							+ tm.tagIndex
-							+ " = new GroovyPageTagBody(this,binding.webRequest, {");
+							+ " = new GroovyPageTagBody(this," + (isDevelopmentMode() ? "binding.webRequest" : "getWebRequest()") + ", {");
 			closureLevel++;
 		}
 	}
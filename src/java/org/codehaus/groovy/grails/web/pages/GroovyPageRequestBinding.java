@@ -0,0 +1,115 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.pages;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.codehaus.groovy.grails.commons.GrailsApplication;
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
+import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The scope of the variables a GSP page obtains from the current request: the request, response, session,
+ * params and so on, the domain classes and the request attributes. The variables are resolved when they
+ * are looked up, so nested templates can use this binding as their parent scope instead of copying the
+ * variables into their own binding.
+ *
+ * @since 1.3
+ */
+class GroovyPageRequestBinding extends GroovyPageBinding {
+
+    private final GrailsWebRequest webRequest;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final ServletContext servletContext;
+    private Map<String, Class> domainClasses;
+
+    GroovyPageRequestBinding(GrailsWebRequest webRequest, HttpServletRequest request,
+                             HttpServletResponse response, ServletContext servletContext) {
+        this.webRequest = webRequest;
+        this.request = request;
+        this.response = response;
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        Map variables = getVariables();
+        Object value = variables.get(name);
+        if(value != null || variables.containsKey(name)) {
+            return value;
+        }
+        if(GroovyPage.WEB_REQUEST.equals(name)) return webRequest;
+        if(GroovyPage.REQUEST.equals(name)) return request;
+        if(GroovyPage.RESPONSE.equals(name)) return response;
+        if(GroovyPage.SERVLET_CONTEXT.equals(name)) return servletContext;
+        if(GroovyPage.FLASH.equals(name)) return webRequest.getFlashScope();
+        if(GroovyPage.SESSION.equals(name)) return webRequest.getSession();
+        if(GroovyPage.PARAMS.equals(name)) return webRequest.getParams();
+        if(GroovyPage.ACTION_NAME.equals(name)) return webRequest.getActionName();
+        if(GroovyPage.CONTROLLER_NAME.equals(name)) return webRequest.getControllerName();
+        if(GroovyPage.APPLICATION_CONTEXT.equals(name)) return getApplicationContext();
+        if(GrailsApplication.APPLICATION_ID.equals(name)) return getGrailsApplication();
+
+        Class domainClass = getDomainClasses().get(name);
+        if(domainClass != null) {
+            return domainClass;
+        }
+        if(GrailsApplicationAttributes.CONTROLLER.equals(name) || !GroovyPage.isReservedName(name)) {
+            return request.getAttribute(name);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasVariable(String name) {
+        return getVariables().containsKey(name) ||
+                GroovyPage.WEB_REQUEST.equals(name) ||
+                GroovyPage.REQUEST.equals(name) ||
+                GroovyPage.RESPONSE.equals(name) ||
+                GroovyPage.SERVLET_CONTEXT.equals(name) ||
+                GroovyPage.FLASH.equals(name) ||
+                GroovyPage.SESSION.equals(name) ||
+                GroovyPage.PARAMS.equals(name) ||
+                GroovyPage.ACTION_NAME.equals(name) ||
+                GroovyPage.CONTROLLER_NAME.equals(name) ||
+                GroovyPage.APPLICATION_CONTEXT.equals(name) ||
+                lookupVariable(name) != null;
+    }
+
+    private ApplicationContext getApplicationContext() {
+        return webRequest.getAttributes().getApplicationContext();
+    }
+
+    private GrailsApplication getGrailsApplication() {
+        ApplicationContext appCtx = getApplicationContext();
+        return appCtx != null ? appCtx.getBean(GrailsApplication.APPLICATION_ID, GrailsApplication.class) : null;
+    }
+
+    private Map<String, Class> getDomainClasses() {
+        if(domainClasses == null) {
+            GrailsApplication application = getGrailsApplication();
+            domainClasses = application != null ? GroovyPageWritable.getDomainClassMap(application) : Collections.<String, Class>emptyMap();
+        }
+        return domainClasses;
+    }
+}
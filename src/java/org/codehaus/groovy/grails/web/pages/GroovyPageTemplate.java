@@ -15,6 +15,7 @@
 package org.codehaus.groovy.grails.web.pages;
 
 import groovy.text.Template;
+import groovy.lang.Binding;
 import groovy.lang.Writable;
 
 import java.util.Map;
@@ -46,6 +47,23 @@ public class GroovyPageTemplate implements Template {
         return gptw;
     }
 
+    /**
+     * Creates a Writable whose binding holds the given variables and looks up all other variables in the
+     * given scope instead of copying them, which makes rendering the same template repeatedly with a
+     * shared model cheap
+     *
+     * @param binding The variables of the template
+     * @param parentScope The scope to look up other variables in
+     * @return The Writable
+     * @since 1.3
+     */
+    public Writable make(Map binding, Binding parentScope) {
+        GroovyPageWritable gptw = new GroovyPageWritable(metaInfo);
+        gptw.setBinding(binding);
+        gptw.setParentScope(parentScope);
+        return gptw;
+    }
+
 	public GroovyPageMetaInfo getMetaInfo() {
 		return metaInfo;
 	}
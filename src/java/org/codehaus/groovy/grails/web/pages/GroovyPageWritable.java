@@ -68,6 +68,7 @@ class GroovyPageWritable implements Writable {
 
     private ServletContext context;
     private Map additionalBinding = new HashMap();
+    private Binding parentScope;
     private static final String GROOVY_SOURCE_CONTENT_TYPE = "text/plain";
     private GrailsPluginManager pluginManager;
 
@@ -103,6 +104,16 @@ class GroovyPageWritable implements Writable {
             this.additionalBinding = binding;
     }
 
+    /**
+     * Sets a scope that variables not found in the binding of a nested page are looked up in before
+     * they are looked up in the current request
+     *
+     * @param parentScope The parent scope
+     */
+    public void setParentScope(Binding parentScope) {
+        this.parentScope = parentScope;
+    }
+
     /**
      * Set to true if the generated source should be output instead
      * @param showSource True if source output should be output
@@ -145,15 +156,25 @@ class GroovyPageWritable implements Writable {
 
             if(binding == null) {
                 binding = createBinding(metaInfo.getPageClass(), pluginManager);
+                if(parentScope != null) {
+                    // without an enclosing page there is no Binding to look the shared scope up through, so the
+                    // template binds its variables directly, below its own model
+                    Map model = new HashMap(parentScope.getVariables());
+                    model.putAll(additionalBinding);
+                    additionalBinding = model;
+                }
                 formulateBinding(request, response, binding, out);
             }
             else {
                 // if the Binding already exists then we're a template being included/rendered as part of a larger template
-                // in this case we need our own Binding and the old Binding needs to be restored after rendering
+                // in this case we need our own Binding and the old Binding needs to be restored after rendering.
+                // The Binding only holds the model of the template, the request variables are looked up through its parent
                 oldBinding = binding;
                 binding = createBinding(metaInfo.getPageClass(), pluginManager);
                 binding.setPluginContextPath(oldBinding.getPluginContextPath());
-                formulateBinding(request, response, binding, out);
+                binding.setParent(createParentScope());
+                binding.setVariable(GroovyPage.OUT, out);
+                binding.addModel(additionalBinding);
             }
 
             if(metaInfo.getCodecClass() != null) {
@@ -168,6 +189,7 @@ class GroovyPageWritable implements Writable {
             page.setJspTagLibraryResolver(metaInfo.getJspTagLibraryResolver());
             page.setGspTagLibraryLookup(metaInfo.getTagLibraryLookup());
             page.setHtmlParts(metaInfo.getHtmlParts());
+            page.setStreamingEncoder(metaInfo.getStreamingEncoder());
             page.initRun(out, webRequest);
             try {
             	page.run();
@@ -202,6 +224,20 @@ class GroovyPageWritable implements Writable {
         }
 	}
 
+    private Binding createParentScope() {
+        if(parentScope instanceof GroovyPageBinding) {
+            GroovyPageBinding scope = (GroovyPageBinding) parentScope;
+            if(scope.getParent() == null) {
+                scope.setParent(new GroovyPageRequestBinding(GrailsWebRequest.lookup(request), request, response, context));
+            }
+            return scope;
+        }
+        else if(parentScope != null) {
+            return parentScope;
+        }
+        return new GroovyPageRequestBinding(GrailsWebRequest.lookup(request), request, response, context);
+    }
+
     private GroovyPageBinding createBinding(Class pageClass, GrailsPluginManager pluginManager) {
         GroovyPageBinding binding = pluginManager != null ? new GroovyPageBinding(pluginManager.getPluginPathForClass(pageClass)) : new GroovyPageBinding(); 
         request.setAttribute(GrailsApplicationAttributes.PAGE_SCOPE, binding);
@@ -367,7 +403,7 @@ class GroovyPageWritable implements Writable {
 
     private static Map<String,Class> cachedDomainsWithoutPackage = null;
     
-    private static synchronized Map<String,Class> getDomainClassMap(GrailsApplication application) {
+    static synchronized Map<String,Class> getDomainClassMap(GrailsApplication application) {
     	Map<String,Class> domainsWithoutPackage = (cachedDomainsWithoutPackage != null) ? cachedDomainsWithoutPackage : new HashMap<String,Class>();
         GrailsClass[] domainClasses = application.getArtefacts(DomainClassArtefactHandler.TYPE);
         if(domainClasses.length!=domainsWithoutPackage.size()) {
@@ -18,6 +18,7 @@ import groovy.lang.Binding;
 import org.apache.commons.collections.ArrayStack;
 import org.apache.commons.collections.iterators.IteratorEnumeration;
 import org.codehaus.groovy.grails.web.pages.GroovyPage;
+import org.codehaus.groovy.grails.web.pages.GroovyPageBinding;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
 import org.springframework.util.Assert;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -240,6 +241,8 @@ public class GroovyPagesPageContext extends PageContext {
 
     public Object getAttribute(String name) {
         if(name == null) throw new NullPointerException("Attribute name cannot be null");
+        if(pageScope instanceof GroovyPageBinding)
+            return ((GroovyPageBinding) pageScope).lookupVariable(name);
         if(pageScope.getVariables().containsKey(name))
             return pageScope.getVariable(name);
         return null;
@@ -299,7 +302,7 @@ public class GroovyPagesPageContext extends PageContext {
 
     public int getAttributesScope(String name) {
         if(name == null) throw new NullPointerException("Attribute name cannot be null");
-        if(pageScope.getVariables().containsKey(name))
+        if(pageScope instanceof GroovyPageBinding ? ((GroovyPageBinding) pageScope).hasVariable(name) : pageScope.getVariables().containsKey(name))
             return PAGE_SCOPE;
         else if(request.getAttribute(name) != null)
             return REQUEST_SCOPE;
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.servlet.mvc;
+
+import groovy.lang.GroovyObject;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.groovy.grails.commons.GrailsControllerClass;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.web.context.request.RequestAttributes;
+
+/**
+ * <p>Pools the instances of controllers that declare <code>static scope = "pooled"</code>. An instance is borrowed
+ * for a request and returned to the pool when the request completes, after the view has been rendered, so an
+ * instance is never used by two requests at the same time but is reused by later requests. Controllers
+ * in this scope avoid the cost of creating and autowiring an instance per request while still being able to
+ * hold state in fields during a request, which they must not rely on across requests.</p>
+ *
+ * <p>New instances are obtained from the application context whenever the pool of a controller is empty, so
+ * the pool never blocks. At most {@link #setMaxIdle(int) maxIdle} instances are kept per controller.</p>
+ *
+ * @since 1.3
+ */
+public class ControllerInstancePool implements ApplicationContextAware {
+
+    public static final String BEAN_ID = "controllerInstancePool";
+    private static final String RETURN_CALLBACK = "org.codehaus.groovy.grails.RETURN_POOLED_CONTROLLER_";
+
+    private ApplicationContext applicationContext;
+    private int maxIdle = 16;
+    private final ConcurrentMap<String, InstancePool> pools = new ConcurrentHashMap<String, InstancePool>();
+
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * @param maxIdle The maximum number of idle instances kept per controller
+     */
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Borrows an instance of the given controller until the given request completes
+     *
+     * @param controllerClass The controller class
+     * @param webRequest The current request
+     * @return The controller instance
+     */
+    public GroovyObject borrowController(GrailsControllerClass controllerClass, GrailsWebRequest webRequest) {
+        final InstancePool pool = getPool(controllerClass.getFullName());
+        GroovyObject controller;
+        while ((controller = pool.instances.poll()) != null) {
+            pool.idle.decrementAndGet();
+            // discard instances of a controller class that has since been reloaded
+            if(controller.getClass() == controllerClass.getClazz()) break;
+        }
+        if(controller == null) {
+            controller = (GroovyObject) applicationContext.getBean(controllerClass.getFullName());
+        }
+
+        final GroovyObject borrowed = controller;
+        webRequest.registerDestructionCallback(RETURN_CALLBACK + controllerClass.getFullName() + '@' +
+                System.identityHashCode(borrowed), new Runnable() {
+            public void run() {
+                pool.release(borrowed, maxIdle);
+            }
+        }, RequestAttributes.SCOPE_REQUEST);
+        return borrowed;
+    }
+
+    /**
+     * @param controllerClass The controller class
+     * @return The number of idle instances of the given controller
+     */
+    public int getIdleCount(GrailsControllerClass controllerClass) {
+        InstancePool pool = pools.get(controllerClass.getFullName());
+        return pool != null ? pool.idle.get() : 0;
+    }
+
+    private InstancePool getPool(String beanName) {
+        InstancePool pool = pools.get(beanName);
+        if(pool == null) {
+            pool = new InstancePool();
+            InstancePool existing = pools.putIfAbsent(beanName, pool);
+            if(existing != null) pool = existing;
+        }
+        return pool;
+    }
+
+    private static class InstancePool {
+        final Queue<GroovyObject> instances = new ConcurrentLinkedQueue<GroovyObject>();
+        final AtomicInteger idle = new AtomicInteger();
+
+        void release(GroovyObject controller, int maxIdle) {
+            if(idle.incrementAndGet() <= maxIdle) {
+                instances.offer(controller);
+            }
+            else {
+                idle.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.servlet.mvc;
+
+import groovy.lang.MissingMethodException;
+
+import java.io.UnsupportedEncodingException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.codehaus.groovy.grails.web.binding.GrailsDataBinder;
+import org.codehaus.groovy.grails.web.binding.StructuredDateEditor;
+import org.codehaus.groovy.grails.web.servlet.mvc.exceptions.ControllerExecutionException;
+import org.codehaus.groovy.grails.web.util.TypeConvertingMap;
+import org.codehaus.groovy.grails.web.util.WebUtils;
+import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+/**
+ * A parameter map class that allows mixing of request parameters and controller parameters. If a controller
+ * parameter is set with the same name as a request parameter the controller parameter value is retrieved.
+ *
+ * <p>The map is populated from the request lazily. Looking up a parameter by name reads the request parameters
+ * directly, and the parameters are only copied into the map, along with the nested maps for keys such as
+ * "book.author.name", when the map is iterated or modified or a nested map is requested. The results of the
+ * type conversion methods are cached for as long as the value of the parameter doesn't change.</p>
+ *
+ * @author Graeme Rocher
+ * @author Kate Rhodes
+ *
+ * @since Oct 24, 2005
+ */
+public class GrailsParameterMap extends TypeConvertingMap {
+
+    private static final Object NOT_CONVERTED = new Object();
+    private static final int BYTE = 0;
+    private static final int SHORT = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int FLOAT = 4;
+    private static final int DOUBLE = 5;
+    private static final int BOOLEAN = 6;
+
+    private HttpServletRequest request;
+    private Map parameterMap;
+    private Map requestParameters;
+    private Set<String> nestedPrefixes;
+    private Map nestedDateMap = new HashMap();
+    private Map<Object, Object[]> convertedValues;
+
+    /**
+     * Creates a GrailsParameterMap populating from the given request object
+     * @param request The request object
+     */
+    public GrailsParameterMap(HttpServletRequest request) {
+        super();
+        this.request = request;
+    }
+
+    /**
+     * This constructor does not populate the GrailsParameterMap from the request but instead uses
+     * the supplied values
+     *
+     * @param values The values to populate with
+     * @param request The request object
+     */
+    public GrailsParameterMap(Map values, HttpServletRequest request) {
+        super();
+        this.request = request;
+        this.parameterMap = values;
+    }
+
+    /**
+     * @return Returns the request.
+     */
+    public HttpServletRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return The parameters, populating them from the request if they haven't been already
+     */
+    private Map getParameters() {
+        if(parameterMap == null) {
+            Map requestMap = getRequestParameters();
+            Map parameters = new LinkedHashMap();
+            for (Iterator i = requestMap.keySet().iterator(); i.hasNext();) {
+                String key = (String) i.next();
+                parameters.put(key, getParameterValue(requestMap, key));
+                processNestedKeys(requestMap, key, key, parameters);
+            }
+            parameterMap = parameters;
+            requestParameters = null;
+            nestedPrefixes = null;
+        }
+        return parameterMap;
+    }
+
+    private Map getRequestParameters() {
+        if(requestParameters == null) {
+            Map requestMap = request.getParameterMap();
+            if(request instanceof MultipartHttpServletRequest) {
+                requestMap = new LinkedHashMap(requestMap);
+                requestMap.putAll(((MultipartHttpServletRequest) request).getFileMap());
+            }
+            requestParameters = requestMap;
+        }
+        return requestParameters;
+    }
+
+    private Object getParameterValue(Map requestMap, String key) {
+        Object paramValue = requestMap.get(key);
+        if(paramValue instanceof String[]) {
+            String[] multiParams = (String[])paramValue;
+            if(multiParams.length == 1) {
+                paramValue = multiParams[0];
+            }
+        }
+        return paramValue;
+    }
+
+    /*
+     * This method builds up a multi dimensional hash structure from the parameters so that nested keys such as "book.author.name"
+     * can be addressed like params['author'].name
+     *
+     * This also allows data binding to occur for only a subset of the properties in the parameter map
+     */
+    private void processNestedKeys(Map requestMap, String key, String nestedKey, Map nestedLevel) {
+        final int nestedIndex = nestedKey.indexOf('.');
+        if(nestedIndex > -1) {
+            // We have at least one sub-key, so extract the first element
+            // of the nested key as the prfix. In other words, if we have
+            // 'nestedKey' == "a.b.c", the prefix is "a".
+            final String nestedPrefix = nestedKey.substring(0, nestedIndex);
+
+            // Let's see if we already have a value in the current map
+            // for the prefix.
+            Object prefixValue = nestedLevel.get(nestedPrefix);
+            if(prefixValue == null) {
+                // No value. So, since there is at least one sub-key,
+                // we create a sub-map for this prefix.
+                prefixValue = new GrailsParameterMap(new HashMap(), request);
+                nestedLevel.put(nestedPrefix, prefixValue);
+            }
+
+            // If the value against the prefix is a map, then we store
+            // the sub-keys in that map.
+            if (prefixValue instanceof Map) {
+                Map nestedMap = (Map)prefixValue;
+                if(nestedIndex < nestedKey.length()-1) {
+                    final String remainderOfKey = nestedKey.substring(nestedIndex + 1, nestedKey.length());
+                    nestedMap.put(remainderOfKey,getParameterValue(requestMap, key) );
+                    if(remainderOfKey.indexOf('.') >-1) {
+                        processNestedKeys(requestMap,key,remainderOfKey,nestedMap);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up a value without populating the map from the request unless the key is the prefix of nested keys
+     */
+    private Object lookup(Object key) {
+        if(parameterMap != null || !(key instanceof String)) {
+            return getParameters().get(key);
+        }
+
+        Map requestMap = getRequestParameters();
+        if(requestMap.containsKey(key)) {
+            return getParameterValue(requestMap, (String) key);
+        }
+        return isNestedPrefix((String) key, requestMap) ? getParameters().get(key) : null;
+    }
+
+    private boolean isNestedPrefix(String key, Map requestMap) {
+        if(nestedPrefixes == null) {
+            Set<String> prefixes = new HashSet<String>();
+            for (Iterator i = requestMap.keySet().iterator(); i.hasNext();) {
+                String name = (String) i.next();
+                int nestedIndex = name.indexOf('.');
+                if(nestedIndex > -1) prefixes.add(name.substring(0, nestedIndex));
+            }
+            nestedPrefixes = prefixes;
+        }
+        return nestedPrefixes.contains(key);
+    }
+
+    public int size() {
+        return getParameters().size();
+    }
+
+    public boolean isEmpty() {
+        return getParameters().isEmpty();
+    }
+
+    public boolean containsKey(Object key) {
+        if(parameterMap == null && key instanceof String) {
+            Map requestMap = getRequestParameters();
+            return requestMap.containsKey(key) || isNestedPrefix((String) key, requestMap);
+        }
+        return getParameters().containsKey(key);
+    }
+
+    public boolean containsValue(Object value) {
+        return getParameters().containsValue(value);
+    }
+
+    public Object get(Object key) {
+        // removed test for String key because there
+        // should be no limitations on what you shove in or take out
+        Object returnValue;
+        if(nestedDateMap.containsKey(key)) {
+            returnValue = nestedDateMap.get(key);
+        }
+        else {
+            returnValue = lookup(key);
+            if(returnValue instanceof String[]) {
+                String[] valueArray = (String[]) returnValue;
+                if(valueArray.length == 1) {
+                    returnValue = valueArray[0];
+                }
+            }
+        }
+
+        if("date.struct".equals(returnValue)) {
+            returnValue = lazyEvaluateDateParam(key);
+            nestedDateMap.put(key, returnValue);
+        }
+        return returnValue;
+    }
+
+    private Date lazyEvaluateDateParam(Object key) {
+        // parse date structs automatically
+        Map dateParams = new HashMap();
+        final String prefix = key + "_";
+        for (Iterator i = getParameters().entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            Object entryKey = entry.getKey();
+            if(entryKey instanceof String) {
+                String paramName = (String) entryKey;
+                if(paramName.startsWith(prefix)) {
+                    dateParams.put(paramName.substring(prefix.length(), paramName.length()), entry.getValue());
+                }
+            }
+        }
+
+        DateFormat dateFormat = new SimpleDateFormat(GrailsDataBinder.DEFAULT_DATE_FORMAT, LocaleContextHolder.getLocale());
+        StructuredDateEditor editor = new StructuredDateEditor(dateFormat, true);
+        try {
+            return (Date) editor.assemble(Date.class, dateParams);
+        }
+        catch(IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public Object put(Object key, Object value) {
+        if(value instanceof CharSequence) value = value.toString();
+        if(nestedDateMap.containsKey(key)) nestedDateMap.remove(key);
+        return getParameters().put(key, value);
+    }
+
+    public Object remove(Object key) {
+        nestedDateMap.remove(key);
+        return getParameters().remove(key);
+    }
+
+    public void putAll(Map map) {
+        for (Iterator i = map.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void clear() {
+        nestedDateMap.clear();
+        getParameters().clear();
+    }
+
+    public Set keySet() {
+        return getParameters().keySet();
+    }
+
+    public Collection values() {
+        return getParameters().values();
+    }
+
+    public Set entrySet() {
+        return getParameters().entrySet();
+    }
+
+    protected Object clone() {
+        return new GrailsParameterMap(new LinkedHashMap(getParameters()), request);
+    }
+
+    /**
+     * Converts this parameter map into a query String. Note that this will flatten nested keys separating them with the
+     * . character and URL encode the result
+     *
+     * @return A query String starting with the ? character
+     */
+    public String toQueryString() {
+        String encoding = request.getCharacterEncoding();
+        try {
+            return WebUtils.toQueryString(this,encoding);
+        }
+        catch (UnsupportedEncodingException e) {
+            throw new ControllerExecutionException("Unable to convert parameter map ["+this+"] to a query string: " + e.getMessage(),e);
+        }
+    }
+
+    public String toString() {
+        return DefaultGroovyMethods.inspect(getParameters());
+    }
+
+    public Byte getByte(String name) {
+        return (Byte) getConvertedValue(name, BYTE);
+    }
+
+    public Short getShort(String name) {
+        return (Short) getConvertedValue(name, SHORT);
+    }
+
+    public Integer getInt(String name) {
+        return (Integer) getConvertedValue(name, INT);
+    }
+
+    public Long getLong(String name) {
+        return (Long) getConvertedValue(name, LONG);
+    }
+
+    public Float getFloat(String name) {
+        return (Float) getConvertedValue(name, FLOAT);
+    }
+
+    public Double getDouble(String name) {
+        return (Double) getConvertedValue(name, DOUBLE);
+    }
+
+    public Boolean getBoolean(String name) {
+        return (Boolean) getConvertedValue(name, BOOLEAN);
+    }
+
+    /**
+     * Helper method for obtaining a list of values from parameter
+     * @param name The name of the parameter
+     * @return A list of values
+     */
+    public List list(String name) {
+        return getList(name);
+    }
+
+    /**
+     * Provides the params.int('name') style helpers, whose names are reserved words in Java
+     */
+    @SuppressWarnings("unused")
+    public Object methodMissing(String name, Object args) {
+        Object[] argsArray = (Object[]) args;
+        if(argsArray != null && argsArray.length == 1 && (argsArray[0] == null || argsArray[0] instanceof CharSequence)) {
+            String parameterName = argsArray[0] == null ? null : argsArray[0].toString();
+            if("byte".equals(name)) return getByte(parameterName);
+            if("short".equals(name)) return getShort(parameterName);
+            if("int".equals(name)) return getInt(parameterName);
+            if("long".equals(name)) return getLong(parameterName);
+            if("float".equals(name)) return getFloat(parameterName);
+            if("double".equals(name)) return getDouble(parameterName);
+            if("boolean".equals(name)) return getBoolean(parameterName);
+        }
+        throw new MissingMethodException(name, GrailsParameterMap.class, argsArray);
+    }
+
+    /**
+     * Converts the value of the given parameter, reusing the previous conversion if the value hasn't changed
+     */
+    private Object getConvertedValue(String name, int type) {
+        Object value = get(name);
+        if(value == null) return null;
+
+        if(convertedValues == null) {
+            convertedValues = new HashMap<Object, Object[]>();
+        }
+        Object[] converted = convertedValues.get(name);
+        if(converted == null || converted[0] != value) {
+            converted = new Object[BOOLEAN + 2];
+            Arrays.fill(converted, NOT_CONVERTED);
+            converted[0] = value;
+            convertedValues.put(name, converted);
+        }
+
+        Object result = converted[type + 1];
+        if(result == NOT_CONVERTED) {
+            result = convert(value, type);
+            converted[type + 1] = result;
+        }
+        return result;
+    }
+
+    private static Object convert(Object value, int type) {
+        if(type == BOOLEAN) {
+            if(value instanceof Boolean) return value;
+            String string = value.toString();
+            return string.length() > 0 ? Boolean.valueOf(string) : null;
+        }
+
+        if(value instanceof Number) {
+            Number number = (Number) value;
+            switch (type) {
+                case BYTE: return number.byteValue();
+                case SHORT: return number.shortValue();
+                case INT: return number.intValue();
+                case LONG: return number.longValue();
+                case FLOAT: return number.floatValue();
+                default: return number.doubleValue();
+            }
+        }
+
+        String string = value.toString();
+        if(string.length() == 0) return null;
+        try {
+            switch (type) {
+                case BYTE: return Byte.valueOf(string);
+                case SHORT: return Short.valueOf(string);
+                case INT: return Integer.valueOf(string);
+                case LONG: return Long.valueOf(string);
+                case FLOAT: return Float.valueOf(string);
+                default: return Double.valueOf(string);
+            }
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.commons.collections.map.CompositeMap;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.commons.ControllerActionDescriptor;
 import org.codehaus.groovy.grails.commons.ControllerArtefactHandler;
 import org.codehaus.groovy.grails.commons.GrailsApplication;
 import org.codehaus.groovy.grails.commons.GrailsControllerClass;
@@ -77,6 +78,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
     private String id;
     private String controllerName;
     private String actionName;
+    private ControllerActionDescriptor actionDescriptor;
     
     public SimpleGrailsControllerHelper(GrailsApplication application, ApplicationContext context, ServletContext servletContext) {
         super();
@@ -103,14 +105,30 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
       * @see org.codehaus.groovy.grails.web.servlet.mvc.GrailsControllerHelper#getControllerClassByURI(java.lang.String)
       */
     public GrailsControllerClass getControllerClassByURI(String uri) {
-        return (GrailsControllerClass) this.application.getArtefactForFeature(
-            ControllerArtefactHandler.TYPE, uri);
+        ControllerActionDescriptor action = getActionByURI(uri);
+        return action != null ? action.getControllerClass() : null;
+    }
+
+    /**
+     * Resolves the action for the given URI from the dispatch table of the controller artefact handler
+     *
+     * @param uri The URI
+     * @return The ControllerActionDescriptor or null if no controller maps to the URI
+     */
+    public ControllerActionDescriptor getActionByURI(String uri) {
+        ControllerArtefactHandler handler = (ControllerArtefactHandler) this.application.getArtefactHandler(ControllerArtefactHandler.TYPE);
+        return handler != null ? handler.getActionForURI(uri) : null;
     }
 
     /* (non-Javadoc)
       * @see org.codehaus.groovy.grails.web.servlet.mvc.GrailsControllerHelper#getControllerInstance(org.codehaus.groovy.grails.commons.GrailsControllerClass)
       */
     public GroovyObject getControllerInstance(GrailsControllerClass controllerClass) {
+        if(GrailsControllerClass.SCOPE_POOLED.equals(controllerClass.getScope()) && webRequest != null &&
+                this.applicationContext.containsBean(ControllerInstancePool.BEAN_ID)) {
+            ControllerInstancePool pool = (ControllerInstancePool)this.applicationContext.getBean(ControllerInstancePool.BEAN_ID);
+            return pool.borrowController(controllerClass, webRequest);
+        }
         return (GroovyObject)this.applicationContext.getBean(controllerClass.getFullName());
     }
 
@@ -156,14 +174,15 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
 
         // if the id is blank check if its a request parameter
 
-        // Step 2: lookup the controller in the application.
-        GrailsControllerClass controllerClass = getControllerClassByURI(uri);
+        // Step 2: lookup the controller action in the application.
+        actionDescriptor = getActionByURI(uri);
 
-        if (controllerClass == null) {
+        if (actionDescriptor == null) {
             throw new UnknownControllerException("No controller found for URI [" + uri + "]!");
         }
 
-        actionName = controllerClass.getClosurePropertyName(uri);
+        GrailsControllerClass controllerClass = actionDescriptor.getControllerClass();
+        actionName = actionDescriptor.getName();
         webRequest.setActionName(actionName);
 
         
@@ -174,7 +193,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
         GroovyObject controller = getControllerInstance(controllerClass);
 
 
-        if(!controllerClass.isHttpMethodAllowedForAction(controller, request.getMethod(), actionName)) {
+        if(!actionDescriptor.isHttpMethodAllowed(request.getMethod())) {
         	try {
 				response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
 				return null;
@@ -190,7 +209,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
         request.setAttribute(GrailsApplicationAttributes.REQUEST_SCOPE_ID,this.grailsAttributes);
 
         // Step 5: get the view name for this URI.
-        String viewName = controllerClass.getViewByURI(uri);
+        String viewName = actionDescriptor.getViewName();
 
         boolean executeAction = invokeBeforeInterceptor(controller, controllerClass);
         // if the interceptor returned false don't execute the action
@@ -225,7 +244,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
             // Step 6: get closure from closure property
             Closure action;
             try {
-                action = (Closure)controller.getProperty(actionName);
+                action = actionDescriptor.getAction(controller);
                 if(WebMetaUtils.isCommandObjectAction(action)) {
                 	action = WebMetaUtils.createAndPrepareCommandObjectAction(controller, action, actionName, this.applicationContext);                	
                 }
@@ -305,7 +324,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
 
     private boolean invokeBeforeInterceptor(GroovyObject controller, GrailsControllerClass controllerClass) {
         boolean executeAction = true;
-        if(controllerClass.isInterceptedBefore(controller,actionName)) {
+        if(actionDescriptor.isInterceptedBefore()) {
             Closure beforeInterceptor = controllerClass.getBeforeInterceptor(controller);
             if(beforeInterceptor!= null) {
                 if(beforeInterceptor.getDelegate() != controller) {
@@ -336,7 +355,7 @@ public class SimpleGrailsControllerHelper implements GrailsControllerHelper {
     private boolean invokeAfterInterceptor(GrailsControllerClass controllerClass, GroovyObject controller, ModelAndView mv) {
         // Step 9: Check if there is after interceptor
         Object interceptorResult = null;
-        if(controllerClass.isInterceptedAfter(controller,actionName)) {
+        if(actionDescriptor.isInterceptedAfter()) {
             Closure afterInterceptor = controllerClass.getAfterInterceptor(controller);
             if(afterInterceptor.getDelegate() != controller) {
                 afterInterceptor.setDelegate(controller);
@@ -3,6 +3,8 @@ package org.codehaus.groovy.grails.web.sitemesh;
 import com.opensymphony.module.sitemesh.parser.AbstractHTMLPage;
 import com.opensymphony.sitemesh.Content;
 
+import groovy.lang.Closure;
+
 import org.codehaus.groovy.grails.web.pages.SitemeshPreprocessor;
 import org.codehaus.groovy.grails.web.util.StreamCharBuffer;
 
@@ -18,6 +20,10 @@ import java.util.Map;
  * g:capture* tags in RenderTagLib are used to capture head, meta, title, component & body contents.
  * No html parsing is required for templating since capture tags are added at GSP compilation time.
  * 
+ * When a {@link LayoutRenderer} has been set (streaming layouts, see {@link GrailsPageFilter}) the layout
+ * is applied as soon as the page reaches its body. The body is then rendered lazily when the layout asks
+ * for it, so the layout head and everything before the body are written before the body is rendered.
+ * 
  * 
  * @see SitemeshPreprocessor
  * @author Lari Hotari, Sagire Software Oy
@@ -30,7 +36,21 @@ public class GSPSitemeshPage extends AbstractHTMLPage implements Content{
 	boolean used=false;
 	boolean titleCaptured=false;
 	Map<String, StreamCharBuffer> contentBuffers;
+	Closure lazyBody;
+	LayoutRenderer layoutRenderer;
+	boolean decorated=false;
 	
+	/**
+	 * Applies a layout to a page whose head has been captured while the rest of the page is still rendering
+	 */
+	public interface LayoutRenderer {
+		/**
+		 * @param page The page to decorate, with its body available through {@link GSPSitemeshPage#setLazyBody(Closure)}
+		 * @return True if a layout was rendered, false if the page should be decorated once it has been rendered
+		 */
+		boolean renderLayout(GSPSitemeshPage page) throws IOException;
+	}
+
 	public GSPSitemeshPage() {
 
 	}
@@ -63,6 +83,11 @@ public class GSPSitemeshPage extends AbstractHTMLPage implements Content{
 
 	@Override
 	public void writeBody(Writer out) throws IOException {
+		if(bodyBuffer == null && lazyBody != null) {
+			// send what the layout has written so far before the body is rendered
+			out.flush();
+			resolveLazyBody();
+		}
 		if(bodyBuffer != null) {
 			bodyBuffer.writeTo(out);
 		} else if (pageBuffer != null) {
@@ -87,6 +112,7 @@ public class GSPSitemeshPage extends AbstractHTMLPage implements Content{
 
 	@Override
 	public String getBody() {
+		resolveLazyBody();
 		if(bodyBuffer != null) {
 			return bodyBuffer.toString();
 		}
@@ -123,6 +149,55 @@ public class GSPSitemeshPage extends AbstractHTMLPage implements Content{
 		this.pageBuffer = pageBuffer;
 	}
 
+	/**
+	 * @param lazyBody A closure returning the body of the page as a StreamCharBuffer, called the first time the body is needed
+	 */
+	public void setLazyBody(Closure lazyBody) {
+		this.lazyBody = lazyBody;
+		if(lazyBody != null) {
+			this.used=true;
+		}
+	}
+
+	private void resolveLazyBody() {
+		if(bodyBuffer == null && lazyBody != null) {
+			Closure body = lazyBody;
+			lazyBody = null;
+			setBodyBuffer((StreamCharBuffer)body.call());
+		}
+	}
+
+	public void setLayoutRenderer(LayoutRenderer layoutRenderer) {
+		this.layoutRenderer = layoutRenderer;
+	}
+
+	/**
+	 * @return True if the layout may be applied before the page has finished rendering
+	 */
+	public boolean isStreamingLayout() {
+		return layoutRenderer != null && headBuffer != null && !decorated;
+	}
+
+	/**
+	 * Applies the layout to the page while it is rendering, see {@link LayoutRenderer}
+	 *
+	 * @return True if the layout has been rendered
+	 */
+	public boolean renderStreamingLayout() throws IOException {
+		if(!isStreamingLayout()) {
+			return false;
+		}
+		decorated = layoutRenderer.renderLayout(this);
+		return decorated;
+	}
+
+	/**
+	 * @return True if the layout has already been applied to the page while it was rendering
+	 */
+	public boolean isDecorated() {
+		return decorated;
+	}
+
 	public boolean isUsed() {
 		return used;
 	}
@@ -44,6 +44,20 @@ public class GrailsContentBufferingResponse extends HttpServletResponseWrapper {
         return pageResponseWrapper.isUsingStream();
     }
 
+    /**
+     * @return True if the content type of the response is one that gets decorated
+     */
+    public boolean isSitemeshActive() {
+        return pageResponseWrapper.isSitemeshActive();
+    }
+
+    /**
+     * @return The response that decorated content is written to
+     */
+    public HttpServletResponse getTargetResponse() {
+        return (HttpServletResponse) pageResponseWrapper.getResponse();
+    }
+
     public boolean isActive() {
         GrailsPageResponseWrapper superResponse= (GrailsPageResponseWrapper) getResponse();
         return superResponse.isSitemeshActive() || superResponse.isGspSitemeshActive();
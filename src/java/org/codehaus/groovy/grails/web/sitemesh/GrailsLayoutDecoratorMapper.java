@@ -40,6 +40,7 @@ import org.codehaus.groovy.grails.plugins.GrailsPluginManager;
 import org.codehaus.groovy.grails.plugins.GrailsPluginUtils;
 import org.codehaus.groovy.grails.plugins.PluginInfo;
 import org.codehaus.groovy.grails.web.metaclass.ControllerDynamicMethods;
+import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine;
 import org.codehaus.groovy.grails.web.pages.GroovyPageResourceLoader;
 import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes;
 import org.codehaus.groovy.grails.web.servlet.mvc.GrailsWebRequest;
@@ -72,8 +73,12 @@ public class GrailsLayoutDecoratorMapper extends AbstractDecoratorMapper impleme
 
 	private static final Log LOG = LogFactory.getLog( GrailsLayoutDecoratorMapper.class );
 
+	private static final int MAX_RESOLVED_DECORATORS = 1000;
+	private static final Decorator NO_DECORATOR = new DefaultDecorator("none", null, Collections.EMPTY_MAP);
 
 	private Map<String, Decorator> decoratorMap = new ConcurrentHashMap<String, Decorator>();
+	// decorators resolved for a controller, action and explicit layout, NO_DECORATOR if none was found
+	private Map<String, Decorator> resolvedDecorators = new ConcurrentHashMap<String, Decorator>();
 	private ServletContext servletContext;
     private WebApplicationContext applicationContext;
     private GrailsPluginManager pluginManager;
@@ -84,6 +89,46 @@ public class GrailsLayoutDecoratorMapper extends AbstractDecoratorMapper impleme
         this.applicationContext = WebApplicationContextUtils.getRequiredWebApplicationContext(servletContext);
         if(applicationContext.containsBean(GrailsPluginManager.BEAN_NAME))
             this.pluginManager = applicationContext.getBean(GrailsPluginManager.BEAN_NAME, GrailsPluginManager.class);
+        if(isCachingDecorators()) {
+            precompileLayouts();
+        }
+    }
+
+    /**
+     * Compiles the layouts of the application up front so that the first request to use a layout
+     * doesn't pay for its compilation
+     */
+    private void precompileLayouts() {
+        if(!applicationContext.containsBean(GroovyPagesTemplateEngine.BEAN_ID)) return;
+
+        GroovyPagesTemplateEngine templateEngine = (GroovyPagesTemplateEngine) applicationContext.getBean(GroovyPagesTemplateEngine.BEAN_ID);
+        ResourceLoader resourceLoader = establishResourceLoader();
+        ResourcePatternResolver resourceResolver = resourceLoader instanceof ResourcePatternResolver ?
+                (ResourcePatternResolver) resourceLoader : new PathMatchingResourcePatternResolver(resourceLoader);
+        Resource[] layouts;
+        try {
+            layouts = resourceResolver.getResources(DEFAULT_DECORATOR_PATH + "/*" + DEFAULT_VIEW_TYPE);
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to list layouts for precompilation: " + e.getMessage(), e);
+            return;
+        }
+        for (Resource layout : layouts) {
+            String fileName = layout.getFilename();
+            String decoratorName = fileName.substring(0, fileName.length() - DEFAULT_VIEW_TYPE.length());
+            String decoratorPage = DEFAULT_DECORATOR_PATH + '/' + fileName;
+            try {
+                templateEngine.createTemplate(decoratorPage);
+                decoratorMap.put(decoratorName, new DefaultDecorator(decoratorName, decoratorPage, Collections.EMPTY_MAP));
+            }
+            catch (Exception e) {
+                LOG.warn("Unable to precompile layout [" + decoratorPage + "]: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean isCachingDecorators() {
+        return Environment.getCurrent() != Environment.DEVELOPMENT;
     }
 
 	public Decorator getDecorator(HttpServletRequest request, Page page) {
@@ -91,9 +136,48 @@ public class GrailsLayoutDecoratorMapper extends AbstractDecoratorMapper impleme
 			LOG.debug("Evaluating layout for request: " + request.getRequestURI());
 		}
 		String layoutName = page.getProperty("meta.layout");
+		GroovyObject controller = (GroovyObject)request.getAttribute(GrailsApplicationAttributes.CONTROLLER);
+
+		String cacheKey = null;
+		if(isCachingDecorators() && (controller != null || !StringUtils.isBlank(layoutName))) {
+			cacheKey = createCacheKey(controller, layoutName);
+			Decorator d = resolvedDecorators.get(cacheKey);
+			if(d != null) {
+				return d != NO_DECORATOR ? d : getParentDecorator(request, page);
+			}
+		}
 
+		Decorator d = resolveDecorator(request, controller, layoutName);
+		if(cacheKey != null && resolvedDecorators.size() < MAX_RESOLVED_DECORATORS) {
+			resolvedDecorators.put(cacheKey, d != null ? d : NO_DECORATOR);
+		}
+		return d != null ? d : getParentDecorator(request, page);
+	}
+
+	private String createCacheKey(GroovyObject controller, String layoutName) {
+		StringBuilder key = new StringBuilder();
+		if(controller != null) {
+			key.append(controller.getClass().getName())
+			   .append(':')
+			   .append(controller.getProperty(ControllerDynamicMethods.ACTION_URI_PROPERTY));
+		}
+		if(!StringUtils.isBlank(layoutName)) {
+			key.append('#').append(layoutName);
+		}
+		return key.toString();
+	}
+
+	private Decorator getParentDecorator(HttpServletRequest request, Page page) {
+		return parent != null ? super.getDecorator(request, page) : null;
+	}
+
+	/**
+	 * Resolves the layout from the explicit layout of the page or by convention from the controller and action
+	 *
+	 * @return The decorator or null if the parent mapper should decide
+	 */
+	private Decorator resolveDecorator(HttpServletRequest request, GroovyObject controller, String layoutName) {
 		if(StringUtils.isBlank(layoutName)) {
-			GroovyObject controller = (GroovyObject)request.getAttribute(GrailsApplicationAttributes.CONTROLLER);
 			if(controller != null) {
 
 				String controllerName = (String)controller.getProperty(ControllerDynamicMethods.CONTROLLER_NAME_PROPERTY);
@@ -133,31 +217,21 @@ public class GrailsLayoutDecoratorMapper extends AbstractDecoratorMapper impleme
 						} else {
 							defaultDecoratorName = "application";
 						}
-						d = getNamedDecorator(request, defaultDecoratorName);
-						if(d != null) {
-							return d;
-						}
-						return parent != null ? super.getDecorator(request, page) : null;
+						return getNamedDecorator(request, defaultDecoratorName);
 					}
 
 			    }
 
 			}
 			else {
-				return parent != null ? super.getDecorator(request, page) : null;
+				return null;
 			}
 		}
 
 		if(LOG.isDebugEnabled()) {
 			LOG.debug("Evaluated layout for page: " + layoutName);
 		}
-		Decorator d = getNamedDecorator(request, layoutName);
-		if(d != null) {
-			return d;
-		}
-		else {
-			return parent != null ? super.getDecorator(request, page) : null;
-		}
+		return getNamedDecorator(request, layoutName);
 	}
 
 	public Decorator getNamedDecorator(HttpServletRequest request, String name) {
@@ -16,6 +16,7 @@
 package org.codehaus.groovy.grails.web.sitemesh;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 import javax.servlet.FilterChain;
@@ -31,6 +32,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.codehaus.groovy.grails.commons.ConfigurationHolder;
 import org.codehaus.groovy.grails.support.NullPersistentContextInterceptor;
 import org.codehaus.groovy.grails.support.PersistenceContextInterceptor;
+import org.codehaus.groovy.grails.web.pages.GroovyPagesTemplateEngine;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.util.UrlPathHelper;
@@ -38,6 +40,7 @@ import org.springframework.web.util.UrlPathHelper;
 import com.opensymphony.module.sitemesh.Config;
 import com.opensymphony.module.sitemesh.Factory;
 import com.opensymphony.module.sitemesh.HTMLPage;
+import com.opensymphony.module.sitemesh.RequestConstants;
 import com.opensymphony.module.sitemesh.factory.DefaultFactory;
 import com.opensymphony.sitemesh.Content;
 import com.opensymphony.sitemesh.ContentProcessor;
@@ -55,6 +58,12 @@ import com.opensymphony.sitemesh.webapp.SiteMeshWebAppContext;
  * Extends the default page filter to overide the apply decorator behaviour
  * if the page is a GSP
  *
+ * With <code>grails.views.gsp.sitemesh.streaming = true</code> GSP layouts are applied to GSP pages as soon
+ * as the page body is reached, so the layout head is sent before the body has been rendered. The layout
+ * is written directly to the response, so a page using streaming layouts cannot redirect or change
+ * response headers from within its body, and <code>&lt;content&gt;</code> tags inside the body are
+ * only visible to the layout after <code>&lt;g:layoutBody/&gt;</code>.
+ *
  * @author Graeme Rocher
  * @since Apr 19, 2006
  */
@@ -64,6 +73,8 @@ public class GrailsPageFilter extends SiteMeshFilter {
     private static final String HTML_EXT = ".html";
     private static final String UTF_8_ENCODING = "UTF-8";
     private static final String CONFIG_OPTION_GSP_ENCODING = "grails.views.gsp.encoding";
+    private static final String CONFIG_OPTION_STREAMING_LAYOUTS = "grails.views.gsp.sitemesh.streaming";
+    private static final String GSP_EXT = ".gsp";
     public static final String GSP_SITEMESH_PAGE = GrailsPageFilter.class.getName() + ".GSP_SITEMESH_PAGE";
 
 
@@ -238,8 +249,12 @@ public class GrailsPageFilter extends SiteMeshFilter {
 
     	 Object oldGspSiteMeshPage=request.getAttribute(GSP_SITEMESH_PAGE);
     	 try {
-    		 request.setAttribute(GSP_SITEMESH_PAGE, new GSPSitemeshPage());
+    		 GSPSitemeshPage gspSitemeshPage = new GSPSitemeshPage();
+    		 request.setAttribute(GSP_SITEMESH_PAGE, gspSitemeshPage);
 	         GrailsContentBufferingResponse contentBufferingResponse = new GrailsContentBufferingResponse(response, contentProcessor, webAppContext);
+	         if(isStreamingLayouts()) {
+	        	 gspSitemeshPage.setLayoutRenderer(new StreamingLayoutRenderer(request, contentBufferingResponse));
+	         }
 	         
 	         setDefaultConfiguredEncoding(request, contentBufferingResponse);
 	         chain.doFilter(request, contentBufferingResponse);
@@ -250,6 +265,10 @@ public class GrailsPageFilter extends SiteMeshFilter {
 	         //                result = pageResponse.getPage();
 	         //            }
 	         webAppContext.setUsingStream(contentBufferingResponse.isUsingStream());
+	         if(gspSitemeshPage.isDecorated()) {
+	        	 // the layout has been written while the page was rendering
+	        	 return null;
+	         }
 	         return contentBufferingResponse.getContent();
     	 } finally {
     		 if(oldGspSiteMeshPage != null) {
@@ -258,6 +277,11 @@ public class GrailsPageFilter extends SiteMeshFilter {
     	 }
      }
 
+    private boolean isStreamingLayouts() {
+        Map config = ConfigurationHolder.getFlatConfig();
+        return config != null && Boolean.TRUE.equals(config.get(CONFIG_OPTION_STREAMING_LAYOUTS));
+    }
+
     private void setDefaultConfiguredEncoding(HttpServletRequest request, GrailsContentBufferingResponse contentBufferingResponse) {
         UrlPathHelper urlHelper = new UrlPathHelper();
         String requestURI = urlHelper.getOriginatingRequestUri(request);
@@ -286,4 +310,40 @@ public class GrailsPageFilter extends SiteMeshFilter {
          }
      }
 
+    /**
+     * Renders the GSP layout of a GSP page straight to the response once the head of the page has been captured
+     */
+    private class StreamingLayoutRenderer implements GSPSitemeshPage.LayoutRenderer {
+        private final HttpServletRequest request;
+        private final GrailsContentBufferingResponse contentBufferingResponse;
+
+        StreamingLayoutRenderer(HttpServletRequest request, GrailsContentBufferingResponse contentBufferingResponse) {
+            this.request = request;
+            this.contentBufferingResponse = contentBufferingResponse;
+        }
+
+        public boolean renderLayout(GSPSitemeshPage page) throws IOException {
+            if(!contentBufferingResponse.isSitemeshActive()) return false;
+
+            com.opensymphony.module.sitemesh.Decorator decorator =
+                    FactoryHolder.getFactory().getDecoratorMapper().getDecorator(request, page);
+            if(decorator == null || decorator.getPage() == null || !decorator.getPage().endsWith(GSP_EXT)) {
+                return false;
+            }
+
+            GroovyPagesTemplateEngine templateEngine =
+                    (GroovyPagesTemplateEngine) applicationContext.getBean(GroovyPagesTemplateEngine.BEAN_ID);
+            Object oldPage = request.getAttribute(RequestConstants.PAGE);
+            Writer out = contentBufferingResponse.getTargetResponse().getWriter();
+            try {
+                request.setAttribute(RequestConstants.PAGE, page);
+                templateEngine.createTemplate(decorator.getPage()).make().writeTo(out);
+            }
+            finally {
+                request.setAttribute(RequestConstants.PAGE, oldPage);
+            }
+            return true;
+        }
+    }
+
 }
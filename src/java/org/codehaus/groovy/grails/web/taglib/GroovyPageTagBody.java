@@ -101,15 +101,19 @@ public class GroovyPageTagBody extends Closure {
                     // new ones will be overridden for the scope of the host
                     // tag's body.
 
-                    // GRAILS-2675: Copy the current binding so that we can restore
-                    // it to its original state.
+                    // GRAILS-2675: Remember the values the passed variables replace so
+                    // that we can restore the binding to its original state. Only these
+                    // are kept, the rest of the binding is left untouched.
                     Map currentBinding = null;
                     Map originalBinding = null;
                     final Map argsMap = (Map) args;
 
                     if(binding!=null) {
                         currentBinding = binding.getVariables();
-                        originalBinding = new HashMap(currentBinding);
+                        originalBinding = new HashMap(argsMap.size());
+                        for (Object key : argsMap.keySet()) {
+                            originalBinding.put(key, currentBinding.get(key));
+                        }
                         // Add the extra variables passed into the body to the
                         // current binding.
                         
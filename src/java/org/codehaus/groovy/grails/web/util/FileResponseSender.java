@@ -0,0 +1,293 @@
+/*
+ * Copyright 2004-2005 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.grails.web.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>Sends the contents of files and streams as the body of a response without going through the response
+ * writer. File contents are transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+ * or handed to the container when it advertises sendfile support (Tomcat's NIO and APR connectors), so the
+ * bytes are not copied through the heap.</p>
+ *
+ * <p>Files are served with <code>ETag</code> and <code>Last-Modified</code> headers and honour the
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code> conditional request headers as well as
+ * single byte ranges requested with the <code>Range</code> and <code>If-Range</code> headers. Requests
+ * for multiple ranges are answered with the full content.</p>
+ *
+ * @since 1.3
+ */
+public class FileResponseSender {
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final int BUFFER_SIZE = 8192;
+    private static final long[] UNSATISFIABLE_RANGE = new long[0];
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+
+    public FileResponseSender(HttpServletRequest request, HttpServletResponse response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    /**
+     * Sends the contents of the given file, answering conditional and range requests
+     *
+     * @param file The file to send
+     * @param contentType The content type or null for <code>application/octet-stream</code>
+     * @param fileName The name to offer the client in a <code>Content-Disposition</code> header or null
+     * @throws IOException If the file cannot be read or the response cannot be written
+     */
+    public void sendFile(File file, String contentType, String fileName) throws IOException {
+        if(!file.isFile() || !file.canRead()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = file.length();
+        long lastModified = file.lastModified();
+        String etag = "\"" + length + "-" + lastModified + "\"";
+
+        setContentHeaders(contentType, fileName);
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+
+        if(isNotModified(etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long count = length;
+        long[] range = getRequestedRange(etag, lastModified, length);
+        if(range == UNSATISFIABLE_RANGE) {
+            response.setHeader("Content-Range", BYTES_UNIT + " */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if(range != null) {
+            start = range[0];
+            count = range[1] - range[0] + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + length);
+        }
+        setContentLength(count);
+
+        if(isHeadRequest()) return;
+
+        if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+            return;
+        }
+
+        FileInputStream in = new FileInputStream(file);
+        try {
+            transfer(in.getChannel(), start, count);
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Sends the remaining contents of the given stream and closes it. Streams reading from a file are
+     * transferred from the file channel with their content length set.
+     *
+     * @param in The stream to send
+     * @param contentType The content type or null for <code>application/octet-stream</code>
+     * @param fileName The name to offer the client in a <code>Content-Disposition</code> header or null
+     * @throws IOException If the stream cannot be read or the response cannot be written
+     */
+    public void sendStream(InputStream in, String contentType, String fileName) throws IOException {
+        try {
+            if(in instanceof FileInputStream) {
+                FileChannel channel = ((FileInputStream) in).getChannel();
+                long position = channel.position();
+                long count = Math.max(0, channel.size() - position);
+                setContentHeaders(contentType, fileName);
+                setContentLength(count);
+                if(!isHeadRequest()) {
+                    transfer(channel, position, count);
+                }
+            }
+            else {
+                sendChannel(Channels.newChannel(in), contentType, fileName);
+            }
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Sends the remaining contents of the given channel and closes it
+     *
+     * @param in The channel to send
+     * @param contentType The content type or null for <code>application/octet-stream</code>
+     * @param fileName The name to offer the client in a <code>Content-Disposition</code> header or null
+     * @throws IOException If the channel cannot be read or the response cannot be written
+     */
+    public void sendChannel(ReadableByteChannel in, String contentType, String fileName) throws IOException {
+        try {
+            setContentHeaders(contentType, fileName);
+            if(isHeadRequest()) return;
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while(in.read(buffer) != -1) {
+                buffer.flip();
+                while(buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    private void transfer(FileChannel channel, long start, long count) throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long end = start + count;
+        while(position < end) {
+            long transferred = channel.transferTo(position, end - position, out);
+            if(transferred <= 0) break;
+            position += transferred;
+        }
+    }
+
+    private void setContentHeaders(String contentType, String fileName) {
+        response.setContentType(contentType != null ? contentType : DEFAULT_CONTENT_TYPE);
+        if(fileName != null) {
+            response.setHeader("Content-Disposition", "attachment;filename=\"" + fileName.replace("\"", "\\\"") + "\"");
+        }
+    }
+
+    private void setContentLength(long length) {
+        if(length <= Integer.MAX_VALUE) {
+            response.setContentLength((int) length);
+        }
+        else {
+            response.setHeader("Content-Length", String.valueOf(length));
+        }
+    }
+
+    private boolean isHeadRequest() {
+        return "HEAD".equals(request.getMethod());
+    }
+
+    private boolean isNotModified(String etag, long lastModified) {
+        String method = request.getMethod();
+        if(method != null && !"GET".equals(method) && !"HEAD".equals(method)) return false;
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if(ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if("*".equals(tag) || etag.equals(tag) || ("W/" + etag).equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = getDateHeader("If-Modified-Since");
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * @return The first and last byte of the requested range, null if the full content should be sent or
+     * {@link #UNSATISFIABLE_RANGE} if the requested range lies outside of the content
+     */
+    private long[] getRequestedRange(String etag, long lastModified, long length) {
+        String range = request.getHeader("Range");
+        if(range == null || !range.startsWith(BYTES_UNIT + "=")) return null;
+
+        String ifRange = request.getHeader("If-Range");
+        if(ifRange != null) {
+            ifRange = ifRange.trim();
+            if(ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if(!etag.equals(ifRange)) return null;
+            }
+            else {
+                long date = getDateHeader("If-Range");
+                if(date == -1 || lastModified / 1000 > date / 1000) return null;
+            }
+        }
+
+        String spec = range.substring(BYTES_UNIT.length() + 1).trim();
+        int dash = spec.indexOf('-');
+        // multiple ranges would require a multipart/byteranges response, send the full content instead
+        if(dash == -1 || spec.indexOf(',') > -1) return null;
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if(first.length() == 0) {
+                long suffix = Long.parseLong(last);
+                if(suffix <= 0) return UNSATISFIABLE_RANGE;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            }
+            else {
+                start = Long.parseLong(first);
+                end = last.length() == 0 ? length - 1 : Long.parseLong(last);
+                if(end < start) return null;
+                end = Math.min(end, length - 1);
+            }
+            if(start >= length) return UNSATISFIABLE_RANGE;
+            return new long[] { start, end };
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private long getDateHeader(String name) {
+        try {
+            return request.getDateHeader(name);
+        }
+        catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
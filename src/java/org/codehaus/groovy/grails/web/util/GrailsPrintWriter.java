@@ -8,6 +8,7 @@ import java.io.Writer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
 import org.codehaus.groovy.grails.web.util.StreamCharBuffer.StreamCharBufferWriter;
 import org.codehaus.groovy.runtime.InvokerHelper;
 
@@ -447,6 +448,68 @@ public class GrailsPrintWriter extends PrintWriter {
     	return this;
     }
 
+    /**
+     * Encodes the value with the given encoder and prints it. If the output is a StreamCharBuffer, the printed
+     * characters are marked as encoded with the encoder, and the content of a StreamCharBuffer value that is
+     * already marked as encoded with the encoder is printed without encoding it again.
+     *
+     * @param value The value to print
+     * @param encoder The encoder
+     */
+    public void printEncoded(final Object value, final StreamingEncoder encoder) {
+		usageFlag=true;
+		if(trouble || value == null) return;
+		try {
+			Writer target=findStreamCharBufferTarget(true);
+			if(value instanceof StreamCharBuffer) {
+				((StreamCharBuffer)value).encodeTo(target, encoder);
+			} else {
+				String text=value.toString();
+				StreamingEncoder previous=markEncodedWith(target, encoder);
+				try {
+					encoder.encode(text, 0, text.length(), target);
+				} finally {
+					markEncodedWith(target, previous);
+				}
+			}
+		} catch (IOException e) {
+			handleIOException(e);
+		}
+    }
+
+    /**
+     * Prints characters that need no encoding with the given encoder, such as the markup of a page. If the output
+     * is a StreamCharBuffer, the characters are marked as encoded with the encoder.
+     *
+     * @param s The characters
+     * @param encoder The encoder
+     */
+    public void writeEncoded(final String s, final StreamingEncoder encoder) {
+		usageFlag=true;
+		if(trouble || s == null || s.length() == 0) return;
+		try {
+			Writer target=findStreamCharBufferTarget(true);
+			StreamingEncoder previous=markEncodedWith(target, encoder);
+			try {
+				target.write(s);
+			} finally {
+				markEncodedWith(target, previous);
+			}
+		} catch (IOException e) {
+			handleIOException(e);
+		}
+    }
+
+	private static StreamingEncoder markEncodedWith(Writer target, StreamingEncoder encoder) {
+		if(target instanceof StreamCharBufferWriter) {
+			StreamCharBuffer buffer=((StreamCharBufferWriter)target).getBuffer();
+			StreamingEncoder previous=buffer.getEncodedWith();
+			buffer.setEncodedWith(encoder);
+			return previous;
+		}
+		return null;
+	}
+
 	public boolean isUsed() {
 		if(this.usageFlag) {
 			return true;
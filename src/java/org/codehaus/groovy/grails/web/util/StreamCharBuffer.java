@@ -25,6 +25,7 @@ import java.io.ObjectOutput;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.ref.SoftReference;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -33,6 +34,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.codehaus.groovy.grails.plugins.codecs.StreamingEncoder;
+
 /**
  * 
  * <p>
@@ -253,6 +256,9 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
     private Map<StreamCharBufferKey, StreamCharBufferSubChunk> dynamicChunkMap;
 
     private Set<SoftReference<StreamCharBufferKey>> parentBuffers;
+    private StreamingEncoder encodedWith;
+    private String cachedString;
+    private char[] cachedCharArray;
     int allocatedBufferIdSequence=0;
     int readerCount=0;
     boolean hasReaders=false;
@@ -300,6 +306,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	 * @param resetChunkSize
 	 */
 	public void reset(boolean resetChunkSize) {
+		contentChanged();
 		firstChunk=null;
 		lastChunk=null;
 		totalCharsInList = 0;
@@ -434,6 +441,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	public Reader getReader(boolean removeAfterReading) {
 		readerCount++;
 		hasReaders=true;
+		contentChanged();
 		return new StreamCharBufferReader(removeAfterReading);
 	}	
 
@@ -475,27 +483,131 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 
 	private void writeToImpl(Writer target, boolean flushTarget,
 			boolean emptyAfter) throws IOException {
+		// when copying to another buffer, the encoding marks of the chunks are copied too
+		StreamCharBuffer targetBuffer = target instanceof StreamCharBufferWriter ? ((StreamCharBufferWriter)target).getBuffer() : null;
+		StreamingEncoder targetEncodedWith = targetBuffer != null ? targetBuffer.getEncodedWith() : null;
 		AbstractChunk current=firstChunk;
 		while(current != null) {
+			if(targetBuffer != null) {
+				targetBuffer.setEncodedWith(current.encodedWith);
+			}
 			current.writeTo(target);
 			current = current.next;
 		}
 		if(emptyAfter) {
+			contentChanged();
 			firstChunk=null;
 			lastChunk=null;
 			totalCharsInList = 0;
 			totalCharsInDynamicChunks = 0;
 			dynamicChunkMap.clear();
 		}
+		if(targetBuffer != null) {
+			targetBuffer.setEncodedWith(allocBuffer.encodedWith);
+		}
 		allocBuffer.writeTo(target);
 		if(emptyAfter) {
 			allocBuffer.reuseBuffer();
 		}
+		if(targetBuffer != null) {
+			targetBuffer.setEncodedWith(targetEncodedWith);
+		}
 		if(flushTarget) {
 			target.flush();
 		}
 	}
 
+	/**
+	 * Marks the characters written to the buffer from now on as encoded with the given encoder. Encoding
+	 * the buffer with the same encoder later passes these characters through unchanged. The marks are kept
+	 * when the buffer is written to another StreamCharBuffer.
+	 *
+	 * @param encoder The encoder or null if the characters aren't encoded
+	 * @see #encodeTo(Writer, StreamingEncoder)
+	 */
+	public void setEncodedWith(StreamingEncoder encoder) {
+		this.encodedWith = encoder;
+	}
+
+	/**
+	 * @return The encoder the characters written to the buffer are marked as encoded with
+	 */
+	public StreamingEncoder getEncodedWith() {
+		return encodedWith;
+	}
+
+	/**
+	 * Writes the buffer content to the target encoded with the given encoder. Content that is marked as
+	 * already encoded with the encoder is written unchanged, without scanning it again. If the target is
+	 * another StreamCharBuffer, everything written is marked as encoded with the encoder.
+	 *
+	 * @param target The Writer
+	 * @param encoder The encoder
+	 * @throws IOException
+	 */
+	public void encodeTo(Writer target, StreamingEncoder encoder) throws IOException {
+		StreamCharBuffer targetBuffer = target instanceof StreamCharBufferWriter ? ((StreamCharBufferWriter)target).getBuffer() : null;
+		if(targetBuffer == this) {
+			throw new IllegalArgumentException("Cannot write buffer to itself.");
+		}
+		StreamingEncoder targetEncodedWith = null;
+		if(targetBuffer != null) {
+			targetEncodedWith = targetBuffer.getEncodedWith();
+			targetBuffer.setEncodedWith(encoder);
+		}
+		try {
+			AbstractChunk current=firstChunk;
+			while(current != null) {
+				current.encodeTo(target, encoder);
+				current = current.next;
+			}
+			if(allocBuffer.charsUsed() > 0) {
+				if(allocBuffer.encodedWith == encoder) {
+					allocBuffer.writeTo(target);
+				}
+				else {
+					encoder.encode(CharBuffer.wrap(allocBuffer.buffer, allocBuffer.chunkStart, allocBuffer.charsUsed()), 0, allocBuffer.charsUsed(), target);
+				}
+			}
+		}
+		finally {
+			if(targetBuffer != null) {
+				targetBuffer.setEncodedWith(targetEncodedWith);
+			}
+		}
+	}
+
+	/**
+	 * @param encoder The encoder
+	 * @return True if all content of the buffer is marked as encoded with the given encoder
+	 */
+	public boolean isEncodedWith(StreamingEncoder encoder) {
+		AbstractChunk current=firstChunk;
+		while(current != null) {
+			if(current instanceof StreamCharBufferSubChunk) {
+				if(!((StreamCharBufferSubChunk)current).streamCharBuffer.isEncodedWith(encoder)) {
+					return false;
+				}
+			}
+			else if(current.encodedWith != encoder) {
+				return false;
+			}
+			current = current.next;
+		}
+		return allocBuffer.charsUsed() == 0 || allocBuffer.encodedWith == encoder;
+	}
+
+	/**
+	 * @return The encoder the first content of the buffer is marked as encoded with
+	 */
+	private StreamingEncoder getFirstEncodedWith() {
+		AbstractChunk first = firstChunk;
+		if(first instanceof StreamCharBufferSubChunk) {
+			return ((StreamCharBufferSubChunk)first).streamCharBuffer.getFirstEncodedWith();
+		}
+		return first != null ? first.encodedWith : allocBuffer.encodedWith;
+	}
+
 	/**
 	 * reads the buffer to a char[]
 	 *
@@ -543,14 +655,24 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	public String toString() {
 		if(firstChunk == lastChunk && firstChunk instanceof StringChunk && allocBuffer.charsUsed()==0 && ((StringChunk)firstChunk).isSingleBuffer()) {
 			return ((StringChunk)firstChunk).str;
+		} else if(cachedString != null) {
+			return cachedString;
 		} else {
 			int initialReaderCount=readerCount;
+			StreamingEncoder encodedWithOfAll=getFirstEncodedWith();
 			String str=readAsString();
+			// if there are no readers, the result can be cached
 			if(initialReaderCount==0) {
-				// if there are no readers, the result can be cached
-				reset();
-				if(str.length() > 0) {
-					addChunk(new StringChunk(str, 0, str.length()));
+				if(isEncodedWith(encodedWithOfAll)) {
+					reset();
+					if(str.length() > 0) {
+						StringChunk chunk=new StringChunk(str, 0, str.length());
+						chunk.encodedWith=encodedWithOfAll;
+						addChunk(chunk);
+					}
+				} else {
+					// compacting would lose the encoding marks, keep the chunks and cache the result until the buffer changes
+					cachedString=str;
 				}
 			}
 			return str;
@@ -601,14 +723,24 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		// check if there is a cached single charbuffer
 		if(firstChunk == lastChunk && firstChunk instanceof CharBufferChunk && allocBuffer.charsUsed()==0 && ((CharBufferChunk)firstChunk).isSingleBuffer()) {
 			return ((CharBufferChunk)firstChunk).buffer;
+		} else if(cachedCharArray != null) {
+			return cachedCharArray;
 		} else {
 			int initialReaderCount=readerCount;
+			StreamingEncoder encodedWithOfAll=getFirstEncodedWith();
 			char[] buf=readAsCharArray();
+			// if there are no readers, the result can be cached
 			if(initialReaderCount==0) {
-				// if there are no readers, the result can be cached
-				reset();
-				if(buf.length > 0) {
-					addChunk(new CharBufferChunk(-1, buf, 0, buf.length));
+				if(isEncodedWith(encodedWithOfAll)) {
+					reset();
+					if(buf.length > 0) {
+						CharBufferChunk chunk=new CharBufferChunk(-1, buf, 0, buf.length);
+						chunk.encodedWith=encodedWithOfAll;
+						addChunk(chunk);
+					}
+				} else {
+					// compacting would lose the encoding marks, keep the chunks and cache the result until the buffer changes
+					cachedCharArray=buf;
 				}
 			}
 			return buf;
@@ -629,9 +761,17 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	}
 
 	protected int allocateSpace() throws IOException {
+		if(allocBuffer.encodedWith != encodedWith) {
+			// content marked differently goes to a separate chunk
+			if(allocBuffer.hasChunk()) {
+				addChunk(allocBuffer.createChunk());
+			}
+			allocBuffer.encodedWith = encodedWith;
+		}
 		int spaceLeft = allocBuffer.spaceLeft();
 		if (spaceLeft == 0) {
 			spaceLeft = appendCharBufferChunk(true);
+			allocBuffer.encodedWith = encodedWith;
 		}
 		return spaceLeft;
 	}
@@ -663,7 +803,9 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	
 	void appendStringChunk(String str, int off, int len) throws IOException {
 		appendCharBufferChunk(false);
-		addChunk(new StringChunk(str, off, len));
+		StringChunk chunk=new StringChunk(str, off, len);
+		chunk.encodedWith=encodedWith;
+		addChunk(chunk);
 	}
 	
 	public void appendStreamCharBufferChunk(StreamCharBuffer subBuffer) throws IOException {
@@ -672,6 +814,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	}	
 	
 	void addChunk(AbstractChunk newChunk) {
+		contentChanged();
 		if(lastChunk != null) {
 			lastChunk.next = newChunk;
 			if(hasReaders) {
@@ -877,6 +1020,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		}
 		
 		public final void markUsed() {
+			contentChanged();
 			if(increaseCounter) {
 				writerUsedCounter++;
 				if(!hasReaders) {
@@ -1068,6 +1212,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		AbstractChunk next;
 		AbstractChunk prev;
 		int writerUsedCounter;
+		StreamingEncoder encodedWith;
 		
 		public AbstractChunk() {
 			if(hasReaders) {
@@ -1079,6 +1224,17 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		
 		public abstract void writeTo(Writer target) throws IOException;
 		public abstract ChunkReader getChunkReader(boolean removeAfterReading);
+
+		public void encodeTo(Writer target, StreamingEncoder encoder) throws IOException {
+			if(encodedWith == encoder) {
+				writeTo(target);
+			}
+			else {
+				encodeContentTo(target, encoder);
+			}
+		}
+
+		protected abstract void encodeContentTo(Writer target, StreamingEncoder encoder) throws IOException;
 		public abstract int size();
 		public int getWriterUsedCounter() {
 			return writerUsedCounter;
@@ -1105,6 +1261,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		private char[] buffer;
 		private int used = 0;
 		private int chunkStart = 0;
+		private StreamingEncoder encodedWith;
 		
 		public AllocatedBuffer(int size) {
 			this.size = size;
@@ -1170,6 +1327,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 		 */
 		public CharBufferChunk createChunk() {
 			CharBufferChunk chunk=new CharBufferChunk(id, buffer, chunkStart, used-chunkStart);
+			chunk.encodedWith=encodedWith;
 			chunkStart=used;
 			return chunk;
 		}
@@ -1212,6 +1370,11 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 			target.write(buffer, offset, length);
 		}
 
+		@Override
+		protected void encodeContentTo(Writer target, StreamingEncoder encoder) throws IOException {
+			encoder.encode(CharBuffer.wrap(buffer, offset, length), 0, length, target);
+		}
+
 		@Override
 		public ChunkReader getChunkReader(boolean removeAfterReading) {
 			return new CharBufferChunkReader(this, removeAfterReading);
@@ -1328,6 +1491,11 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 			target.write(str, offset, length);
 		}
 
+		@Override
+		protected void encodeContentTo(Writer target, StreamingEncoder encoder) throws IOException {
+			encoder.encode(str, offset, length, target);
+		}
+
 		@Override
 		public int size() {
 			return length;
@@ -1377,6 +1545,12 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 			streamCharBuffer.writeTo(target);
 		}
 
+		@Override
+		protected void encodeContentTo(Writer target, StreamingEncoder encoder) throws IOException {
+			// the marks of the chunks of the sub buffer decide what is encoded
+			streamCharBuffer.encodeTo(target, encoder);
+		}
+
 		@Override
 		public ChunkReader getChunkReader(boolean removeAfterReading) {
 			return new StreamCharBufferSubChunkReader(this, removeAfterReading);
@@ -1672,6 +1846,14 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 	}
 	
 	
+	/**
+	 * clears the results cached by toString() and toCharArray() for content with mixed encoding marks
+	 */
+	private void contentChanged() {
+		cachedString=null;
+		cachedCharArray=null;
+	}
+
 	/* methods for notifying child (sub) StreamCharBuffer changes to the parent StreamCharBuffer */ 
 
 	void addParentBuffer(StreamCharBuffer parent) {
@@ -1687,6 +1869,7 @@ public class StreamCharBuffer implements Writable, CharSequence, Externalizable
 			// buffer isn't a subchunk in this buffer any more
 			return false;
 		}
+		contentChanged();
 		// reset cached size;
 		if(subChunk.resetSize()) {
 			totalCharsInDynamicChunks=-1;
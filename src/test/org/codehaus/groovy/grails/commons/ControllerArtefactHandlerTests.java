@@ -14,7 +14,9 @@
  */
 package org.codehaus.groovy.grails.commons;
 
+import groovy.lang.Closure;
 import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyObject;
 import junit.framework.TestCase;
 
 /**
@@ -33,4 +35,59 @@ public class ControllerArtefactHandlerTests extends TestCase {
         assertTrue(handler.isArtefact(c));
     }
 
+    public void testGetActionForURI() throws Exception {
+        GroovyClassLoader gcl = new GroovyClassLoader();
+        gcl.parseClass("class BookController {\n" +
+                "static allowedMethods = [save:'POST', delete:['POST', 'DELETE']]\n" +
+                "static streamingMultipart = ['save']\n" +
+                "def beforeInterceptor = [action:{ true }, except:'index']\n" +
+                "def index = {}\n" +
+                "def save = {}\n" +
+                "def delete = {}\n" +
+                "}");
+        DefaultGrailsApplication ga = new DefaultGrailsApplication(gcl.getLoadedClasses(), gcl);
+        ga.initialise();
+
+        ControllerArtefactHandler handler = (ControllerArtefactHandler) ga.getArtefactHandler(ControllerArtefactHandler.TYPE);
+        GrailsControllerClass controllerClass = ga.getControllerClass("BookController");
+
+        ControllerActionDescriptor index = handler.getActionForURI("/book");
+        assertSame(controllerClass, index.getControllerClass());
+        assertEquals("index", index.getName());
+        assertEquals("/book/index", index.getViewName());
+        assertFalse(index.isInterceptedBefore());
+        assertFalse(index.isInterceptedAfter());
+        assertTrue(index.isHttpMethodAllowed("GET"));
+        assertTrue(index.getAction((GroovyObject) controllerClass.newInstance()) instanceof Closure);
+        assertSame(index, handler.getActionForURI("/book/"));
+        assertSame(index, handler.getActionForURI("/book/index"));
+
+        ControllerActionDescriptor save = handler.getActionForURI("/book/save/1");
+        assertEquals("save", save.getName());
+        assertTrue(save.isInterceptedBefore());
+        assertTrue(save.isHttpMethodAllowed("POST"));
+        assertFalse(save.isHttpMethodAllowed("GET"));
+        assertTrue(save.isStreamingMultipart());
+        assertFalse(index.isStreamingMultipart());
+
+        ControllerActionDescriptor delete = handler.getActionForURI("/book/delete");
+        assertTrue(delete.isHttpMethodAllowed("DELETE"));
+        assertFalse(delete.isHttpMethodAllowed("GET"));
+
+        assertNull(handler.getActionForURI("/book/unknown"));
+        assertNull(handler.getActionForURI("/author/index"));
+        assertNull(handler.getActionForURI("/"));
+        assertSame(controllerClass, ga.getArtefactForFeature(ControllerArtefactHandler.TYPE, "/book/save"));
+    }
+
+    public void testGetDefaultActionWithoutActions() throws Exception {
+        GroovyClassLoader gcl = new GroovyClassLoader();
+        gcl.parseClass("class EmptyController {}");
+        DefaultGrailsApplication ga = new DefaultGrailsApplication(gcl.getLoadedClasses(), gcl);
+        ga.initialise();
+
+        GrailsControllerClass controllerClass = ga.getControllerClass("EmptyController");
+        assertNull(controllerClass.getAction(null));
+    }
+
 }
@@ -424,4 +424,28 @@ class Tag {
         assertTrue "Property 'tags' of class BookmarkSubclass should have type many-to-many", bookmarkSubclassTags.isManyToMany()
     }
 
+    void testRefreshConstraintsEvaluatesConstraintsAgainWhenNextUsed() {
+        gcl.parseClass(
+                """
+                class Book {
+                    Long id
+                    Long version
+                    String title
+                    static constraints = {
+                        title(maxSize:10)
+                    }
+                }
+                """)
+        def domainClass = new DefaultGrailsDomainClass(gcl.loadClass("Book"))
+
+        def title = domainClass.constrainedProperties.title
+        assertEquals 10, title.maxSize
+        assertSame title, domainClass.constrainedProperties.title
+
+        domainClass.refreshConstraints()
+        def refreshed = domainClass.constrainedProperties.title
+        assertNotSame title, refreshed
+        assertEquals 10, refreshed.maxSize
+    }
+
 }
@@ -0,0 +1,50 @@
+package org.codehaus.groovy.grails.commons
+
+import org.springframework.core.io.ByteArrayResource
+
+/**
+ * Tests for loading a GrailsApplication from the grails.xml descriptor of a WAR
+ *
+ * @since 1.3
+ */
+class GrailsApplicationFactoryBeanTests extends GroovyTestCase {
+
+    def originalClassLoader
+
+    protected void setUp() {
+        originalClassLoader = Thread.currentThread().contextClassLoader
+    }
+
+    protected void tearDown() {
+        Thread.currentThread().contextClassLoader = originalClassLoader
+        ApplicationHolder.setApplication(null)
+    }
+
+    void testLoadFromDescriptorWithArtefactTypes() {
+        def gcl = new GroovyClassLoader()
+        gcl.parseClass("class IndexedController { def list = {} }")
+        gcl.parseClass("class IndexedService { }")
+        gcl.parseClass("class IndexedHelper { }")
+        Thread.currentThread().contextClassLoader = gcl
+
+        def factory = new GrailsApplicationFactoryBean()
+        factory.grailsDescriptor = new ByteArrayResource('''<grails>
+    <resources>
+        <resource artefact="Controller">IndexedController</resource>
+        <resource artefact="Domain">IndexedService</resource>
+        <resource>IndexedHelper</resource>
+    </resources>
+</grails>'''.bytes)
+        factory.afterPropertiesSet()
+
+        GrailsApplication application = factory.object
+        application.initialise()
+
+        assertEquals 3, application.allClasses.length
+        assertEquals 2, application.allArtefacts.length
+        assertNotNull application.getArtefact(ControllerArtefactHandler.TYPE, "IndexedController")
+        assertNotNull "a wrong artefact type falls back to the other handlers",
+                application.getArtefact(ServiceArtefactHandler.TYPE, "IndexedService")
+        assertNull application.getArtefact(DomainClassArtefactHandler.TYPE, "IndexedService")
+    }
+}
@@ -0,0 +1,143 @@
+package org.codehaus.groovy.grails.commons.spring
+
+import grails.spring.BeanBuilder
+import org.codehaus.groovy.grails.commons.DefaultGrailsApplication
+import org.codehaus.groovy.grails.plugins.DefaultGrailsPluginManager
+
+/**
+ * Tests for LayeredRuntimeSpringConfiguration
+ *
+ * @since 1.3
+ */
+class LayeredRuntimeSpringConfigurationTests extends GroovyTestCase {
+
+    void testLayersSeeBaseBeansButNotEachOther() {
+        def base = new DefaultRuntimeSpringConfiguration()
+        base.addSingletonBean("shared", StringBuffer)
+
+        def first = new LayeredRuntimeSpringConfiguration(base)
+        def second = new LayeredRuntimeSpringConfiguration(base)
+        first.addSingletonBean("firstBean", ArrayList)
+
+        assertTrue first.containsBean("shared")
+        assertNotNull first.getBeanConfig("shared")
+        assertTrue first.containsBean("firstBean")
+        assertFalse second.containsBean("firstBean")
+        assertFalse base.containsBean("firstBean")
+    }
+
+    void testMergeInLayerOrder() {
+        def base = new DefaultRuntimeSpringConfiguration()
+        def first = new LayeredRuntimeSpringConfiguration(base)
+        def second = new LayeredRuntimeSpringConfiguration(base)
+
+        second.addSingletonBean("list", LinkedList)
+        first.addSingletonBean("list", ArrayList)
+        first.addAlias("myList", "list")
+
+        first.mergeIntoBase()
+        second.mergeIntoBase()
+
+        def ctx = base.getApplicationContext()
+        assertTrue "the last merged layer defines the bean", ctx.getBean("list") instanceof LinkedList
+        assertSame ctx.getBean("list"), ctx.getBean("myList")
+    }
+
+    void testBeanBuilderReferencesBaseBeans() {
+        def base = new DefaultRuntimeSpringConfiguration()
+        new BeanBuilder(null, base, getClass().classLoader).beans {
+            name(String, "grails")
+        }
+
+        def layer = new LayeredRuntimeSpringConfiguration(base)
+        new BeanBuilder(null, layer, getClass().classLoader).beans {
+            builder(StringBuilder, ref("name"))
+        }
+        layer.mergeIntoBase()
+
+        assertEquals "grails", base.getApplicationContext().getBean("builder").toString()
+    }
+
+    void testChangesToBaseBeansStayInTheLayerUntilMerged() {
+        def base = new DefaultRuntimeSpringConfiguration()
+        base.addSingletonBean("shared", StringBuffer)
+
+        def changing = new LayeredRuntimeSpringConfiguration(base)
+        def reading = new LayeredRuntimeSpringConfiguration(base)
+        changing.getBeanConfig("shared").addProperty("length", 1)
+        assertNotNull reading.getBeanConfig("shared")
+
+        assertFalse base.getBeanConfig("shared").hasProperty("length")
+        assertFalse reading.getBeanConfig("shared").hasProperty("length")
+        assertEquals(["shared"] as Set, changing.modifiedBaseBeanNames)
+        assertTrue reading.modifiedBaseBeanNames.isEmpty()
+
+        changing.mergeIntoBase()
+        reading.mergeIntoBase()
+        assertTrue "unchanged copies are not merged", base.getBeanConfig("shared").hasProperty("length")
+    }
+
+    void testParallelRuntimeConfiguration() {
+        def manager = createPluginManager('''
+    def doWithSpring = {
+        first(ArrayList)
+        springConfig.getBeanConfig("shared").addProperty("first", true)
+    }
+''', '''
+    def doWithSpring = {
+        second(ArrayList)
+    }
+''')
+        def springConfig = new DefaultRuntimeSpringConfiguration()
+        manager.doRuntimeConfigurationInParallel(springConfig)
+
+        assertTrue springConfig.containsBean("first")
+        assertTrue springConfig.containsBean("second")
+        assertTrue springConfig.getBeanConfig("shared").hasProperty("first")
+    }
+
+    void testParallelRuntimeConfigurationWithConflictingChanges() {
+        def manager = createPluginManager('''
+    def doWithSpring = {
+        springConfig.getBeanConfig("shared").addProperty("first", true)
+    }
+''', '''
+    def doWithSpring = {
+        springConfig.getBeanConfig("shared").addProperty("second", true)
+    }
+''')
+        def springConfig = new DefaultRuntimeSpringConfiguration()
+        manager.doRuntimeConfigurationInParallel(springConfig)
+
+        def shared = springConfig.getBeanConfig("shared")
+        assertTrue "the level is evaluated again one by one", shared.hasProperty("first")
+        assertTrue shared.hasProperty("second")
+    }
+
+    private createPluginManager(String firstPlugin, String secondPlugin) {
+        def gcl = new GroovyClassLoader()
+        gcl.parseClass("""
+class SharedGrailsPlugin {
+    def version = 0.1
+    def doWithSpring = {
+        shared(ArrayList)
+    }
+}
+class FirstGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['shared']
+$firstPlugin
+}
+class SecondGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['shared']
+$secondPlugin
+}
+""")
+        def plugins = ["SharedGrailsPlugin", "FirstGrailsPlugin", "SecondGrailsPlugin"].collect { gcl.loadClass(it) }
+        def manager = new DefaultGrailsPluginManager(plugins as Class[], new DefaultGrailsApplication())
+        manager.loadCorePlugins = false
+        manager.loadPlugins()
+        return manager
+    }
+}
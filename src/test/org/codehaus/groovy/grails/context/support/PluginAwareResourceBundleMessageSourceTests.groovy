@@ -61,6 +61,50 @@ one.two=test
         assertEquals "test", messageSource.getMessage("foo.bar", [] as Object[], Locale.default)
         assertEquals "test", messageSource.getMessage("one.two", [] as Object[], Locale.default)
     }
+
+    void testMergedMessageIndex() {
+        def testPlugin = new GroovyClassLoader().parseClass('''
+class TestTwoGrailsPlugin {
+    def version = 0.2
+}
+''')
+        def messageSource = new TestPluginAwareResourceBundleMessageSource()
+        def pluginManager = new DefaultGrailsPluginManager([testPlugin] as Class[], new DefaultGrailsApplication())
+        pluginManager.loadPlugins()
+
+        messageSource.pluginManager = pluginManager
+        messageSource.basename = "WEB-INF/grails-app/i18n/messages"
+        messageSource.fallbackToSystemLocale = false
+        def loader = new MockStringResourceLoader()
+        loader.registerMockResource("WEB-INF/plugins/test-two-0.2/grails-app/i18n/messages.properties", '''
+plugin.greeting=Hello {0}
+one.two=wrong
+''')
+        loader.registerMockResource("WEB-INF/plugins/test-two-0.2/grails-app/i18n/messages_de.properties", '''
+plugin.greeting=Hallo {0}
+''')
+        loader.registerMockResource("WEB-INF/grails-app/i18n/messages.properties", '''
+one.two=test
+app.only=app
+''')
+        messageSource.resourceLoader = loader
+        messageSource.afterPropertiesSet()
+
+        assertEquals "Hello Bob", messageSource.getMessage("plugin.greeting", ["Bob"] as Object[], Locale.ENGLISH)
+        assertEquals "Hallo Bob", messageSource.getMessage("plugin.greeting", ["Bob"] as Object[], Locale.GERMAN)
+        assertEquals "Hallo Jim", messageSource.getMessage("plugin.greeting", ["Jim"] as Object[], Locale.GERMAN)
+        assertEquals "test", messageSource.getMessage("one.two", [] as Object[], Locale.GERMAN)
+        assertEquals "app", messageSource.getMessage("app.only", [] as Object[], Locale.GERMAN)
+        assertEquals "default", messageSource.getMessage("not.there", [] as Object[], "default", Locale.GERMAN)
+
+        loader.registerMockResource("WEB-INF/grails-app/i18n/messages.properties", '''
+one.two=reloaded
+''')
+        assertEquals "test", messageSource.getMessage("one.two", [] as Object[], Locale.GERMAN)
+        messageSource.clearCache()
+        assertEquals "reloaded", messageSource.getMessage("one.two", [] as Object[], Locale.GERMAN)
+        assertEquals "default", messageSource.getMessage("app.only", [] as Object[], "default", Locale.GERMAN)
+    }
 }
 class TestPluginAwareResourceBundleMessageSource extends PluginAwareResourceBundleMessageSource {
     protected Resource[] getPluginBundles(String pluginName) {
@@ -0,0 +1,90 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.orm.support.ChangeTrackable
+
+/**
+ * Tests for domain classes annotated with @ChangeTracking
+ *
+ * @since 1.3
+ */
+class ChangeTrackingTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass('''
+import grails.persistence.*
+
+@Entity
+@ChangeTracking
+class ChangeTrackingBook {
+    String title
+    Integer pages
+
+    void rename(String newTitle) {
+        title = newTitle
+    }
+
+    void addPage() {
+        pages++
+    }
+}
+''')
+    }
+
+    void testInjectedChangeTracking() {
+        def Book = ga.getDomainClass("ChangeTrackingBook").clazz
+        def book = Book.newInstance()
+
+        assertTrue book instanceof ChangeTrackable
+        assertFalse book.hasChanged()
+
+        book.title = "The Stand"
+        assertTrue book.hasChanged()
+
+        book.resetChanged()
+        book.rename("It")
+        assertTrue "assignments within methods should be tracked", book.hasChanged()
+        assertEquals "It", book.title
+
+        book.resetChanged()
+        book.pages = 1
+        book.resetChanged()
+        book.addPage()
+        assertTrue "increments within methods should be tracked", book.hasChanged()
+        assertEquals 2, book.pages
+    }
+
+    void testChangesResetOnLoadAndFlush() {
+        def Book = ga.getDomainClass("ChangeTrackingBook").clazz
+        def book = Book.newInstance(title:"The Stand", pages:1000)
+        assert book.save(flush:true)
+        assertFalse "changes should be reset once flushed", book.hasChanged()
+
+        session.clear()
+
+        book = Book.get(book.id)
+        assertFalse "changes should be reset once loaded", book.hasChanged()
+
+        book.title = "It"
+        session.flush()
+        assertFalse book.hasChanged()
+        session.clear()
+
+        assertEquals "It", Book.get(book.id).title
+    }
+
+    void testUnchangedEntitiesSkipDirtyChecking() {
+        def Book = ga.getDomainClass("ChangeTrackingBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save(flush:true)
+        session.clear()
+
+        def book = Book.get(1)
+        // bypass the tracking setter to show that the property comparison is skipped
+        def field = Book.getDeclaredField("title")
+        field.accessible = true
+        field.set(book, "changed")
+        session.flush()
+        session.clear()
+
+        assertEquals "The Stand", Book.get(1).title
+    }
+}
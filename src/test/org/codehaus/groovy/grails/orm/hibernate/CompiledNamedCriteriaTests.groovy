@@ -0,0 +1,106 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+import org.codehaus.groovy.grails.commons.ConfigurationHolder
+import org.codehaus.groovy.grails.orm.hibernate.cfg.NamedCriteriaTemplate
+
+/**
+ * Tests for named queries compiled into criteria templates
+ *
+ * @since 1.3
+ */
+class CompiledNamedCriteriaTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        ConfigurationHolder.config = new ConfigSlurper().parse("grails.gorm.namedQueries.compile = true")
+        gcl.parseClass('''
+class CompiledPublication {
+   Long id
+   Long version
+   String title
+   Integer pages
+   Boolean paperback = true
+
+   static namedQueries = {
+       paperbacks {
+           eq 'paperback', true
+       }
+
+       longerThan { pages ->
+           gt 'pages', pages
+       }
+
+       titleContains { text ->
+           like 'title', "%${text}%"
+       }
+
+       titleOrHardback { title ->
+           or {
+               eq 'title', title
+               eq 'paperback', false
+           }
+       }
+
+       optionalTitle { title ->
+           if (title) {
+               eq 'title', title
+           }
+       }
+
+       pagesIn { first, second ->
+           'in'('pages', [first, second])
+           order 'pages', 'asc'
+       }
+   }
+}
+''')
+    }
+
+    protected void onTearDown() {
+        ConfigurationHolder.config = null
+    }
+
+    void testCompiledQueriesBindArguments() {
+        createPublications()
+
+        def Publication = ga.getDomainClass("CompiledPublication").clazz
+        assertEquals 2, Publication.paperbacks.list().size()
+        assertEquals(["Long Book", "Longer Book"], Publication.longerThan(150).list()*.title.sort())
+        assertEquals(["Longer Book"], Publication.longerThan(250).list()*.title)
+        assertEquals(["Long Book", "Longer Book"], Publication.titleContains("Long").list()*.title.sort())
+        assertEquals(["Short Book"], Publication.titleContains("Short").list()*.title)
+        assertEquals(["Long Book", "Longer Book"], Publication.titleOrHardback("Long Book").list()*.title.sort())
+        assertEquals(["Short Book", "Longer Book"], Publication.pagesIn(100, 300).list()*.title)
+    }
+
+    void testCompiledQueriesWithDynamicFinders() {
+        createPublications()
+
+        def Publication = ga.getDomainClass("CompiledPublication").clazz
+        assertEquals "Long Book", Publication.longerThan(150).findByPaperback(true)?.title
+        assertEquals 1, Publication.longerThan(150).countByPaperback(false)
+    }
+
+    void testBranchingQueriesAreEvaluated() {
+        createPublications()
+
+        def Publication = ga.getDomainClass("CompiledPublication").clazz
+        assertEquals(["Short Book"], Publication.optionalTitle("Short Book").list()*.title)
+        assertEquals 3, Publication.optionalTitle(null).list().size()
+    }
+
+    void testCompile() {
+        assertNotNull new NamedCriteriaTemplate({ title -> eq 'title', title }).bind(["The Stand"] as Object[])
+        assertNotNull new NamedCriteriaTemplate({ eq 'title', 'The Stand' }).bind(null)
+        assertNull new NamedCriteriaTemplate({ title -> if (title) eq 'title', title }).bind(["The Stand"] as Object[])
+        assertNull new NamedCriteriaTemplate({ title -> if (title != null) eq 'title', title }).bind(["The Stand"] as Object[])
+        assertNull new NamedCriteriaTemplate({ title -> eq 'title', title.toUpperCase() }).bind(["The Stand"] as Object[])
+        assertNull new NamedCriteriaTemplate({ String title -> eq 'title', title }).bind(["The Stand"] as Object[])
+    }
+
+    private createPublications() {
+        def Publication = ga.getDomainClass("CompiledPublication").clazz
+        assert Publication.newInstance(title:"Short Book", pages:100).save()
+        assert Publication.newInstance(title:"Long Book", pages:200).save()
+        assert Publication.newInstance(title:"Longer Book", pages:300, paperback:false).save(flush:true)
+    }
+}
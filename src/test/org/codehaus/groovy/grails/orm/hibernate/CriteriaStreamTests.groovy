@@ -0,0 +1,70 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests for the stateless stream() criteria method
+ *
+ * @since 1.3
+ */
+class CriteriaStreamTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass('''
+class CriteriaStreamBook {
+    Long id
+    Long version
+    String title
+    Integer pages
+}
+''')
+    }
+
+    void testStreamWithCriteria() {
+        def Book = ga.getDomainClass("CriteriaStreamBook").clazz
+        25.times {
+            assert Book.newInstance(title:"Book $it", pages:it * 10).save()
+        }
+        session.flush()
+        session.clear()
+
+        def titles = []
+        def count = Book.stream({ ge("pages", 100) }) { book ->
+            titles << book.title
+        }
+
+        assertEquals 15, count
+        assertEquals 15, titles.size()
+    }
+
+    void testStreamReturnsDetachedEntities() {
+        def Book = ga.getDomainClass("CriteriaStreamBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save(flush:true)
+        session.clear()
+
+        def streamed = []
+        Book.stream { book -> streamed << book }
+
+        assertEquals 1, streamed.size()
+        assertEquals "The Stand", streamed[0].title
+        assertFalse session.contains(streamed[0])
+    }
+
+    void testStreamWithArgumentsAndProjections() {
+        def Book = ga.getDomainClass("CriteriaStreamBook").clazz
+        10.times {
+            assert Book.newInstance(title:"Book $it", pages:it).save()
+        }
+        session.flush()
+
+        def pages = []
+        def count = Book.stream(fetchSize:2, max:3, sort:"pages", order:"desc", {
+            projections {
+                property "pages"
+            }
+        }) { row ->
+            pages << row
+        }
+
+        assertEquals 3, count
+        assertEquals([9, 8, 7], pages)
+    }
+}
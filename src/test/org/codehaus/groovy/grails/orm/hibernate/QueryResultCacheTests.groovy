@@ -0,0 +1,94 @@
+package org.codehaus.groovy.grails.orm.hibernate
+
+/**
+ * Tests for the GORM query result cache
+ *
+ * @since 1.3
+ */
+class QueryResultCacheTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass('''
+class QueryResultCacheBook {
+    Long id
+    Long version
+    String title
+    Integer pages
+}
+''')
+    }
+
+    void testDynamicFinderResultsAreCached() {
+        def Book = ga.getDomainClass("QueryResultCacheBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save()
+        assert Book.newInstance(title:"It", pages:1100).save(flush:true)
+        session.clear()
+
+        assertEquals 2, Book.findAllByPagesGreaterThan(500, [queryCache:true]).size()
+
+        // change the data behind Hibernate's back, the cached ids should still be used
+        session.connection().createStatement().executeUpdate("update query_result_cache_book set pages = 0")
+        session.clear()
+
+        assertEquals 2, Book.findAllByPagesGreaterThan(500, [queryCache:true]).size()
+        assertEquals 0, Book.findAllByPagesGreaterThan(500).size()
+    }
+
+    void testCacheIsInvalidatedByWrites() {
+        def Book = ga.getDomainClass("QueryResultCacheBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save(flush:true)
+
+        assertEquals 1, Book.list(queryCache:true).size()
+
+        assert Book.newInstance(title:"It", pages:1100).save(flush:true)
+        assertEquals 2, Book.list(queryCache:true).size()
+
+        Book.executeUpdate("delete QueryResultCacheBook where title = 'It'")
+        assertEquals 1, Book.list(queryCache:true).size()
+    }
+
+    void testCriteriaQueryCache() {
+        def Book = ga.getDomainClass("QueryResultCacheBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save()
+        assert Book.newInstance(title:"It", pages:1100).save(flush:true)
+        session.clear()
+
+        def query = {
+            queryCache region:"books", ttl:60
+            gt "pages", 1050
+        }
+        assertEquals(["It"], Book.withCriteria(query)*.title)
+
+        session.connection().createStatement().executeUpdate("update query_result_cache_book set pages = 0")
+        session.clear()
+
+        assertEquals(["It"], Book.withCriteria(query)*.title)
+        assertEquals 0, Book.withCriteria { gt "pages", 1050 }.size()
+    }
+
+    void testCachedResultsKeepOrderAndSessionInstances() {
+        def Book = ga.getDomainClass("QueryResultCacheBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save()
+        assert Book.newInstance(title:"It", pages:1100).save()
+        assert Book.newInstance(title:"Carrie", pages:200).save(flush:true)
+        session.clear()
+
+        def books = Book.list(sort:"pages", order:"desc", queryCache:true)
+        assertEquals(["It", "The Stand", "Carrie"], books*.title)
+
+        def cached = Book.list(sort:"pages", order:"desc", queryCache:true)
+        assertEquals(["It", "The Stand", "Carrie"], cached*.title)
+        assertSame books[0], cached[0]
+    }
+
+    void testPendingChangesAreFlushedBeforeUsingCachedResults() {
+        def Book = ga.getDomainClass("QueryResultCacheBook").clazz
+        assert Book.newInstance(title:"The Stand", pages:1000).save()
+        assert Book.newInstance(title:"It", pages:1100).save(flush:true)
+
+        assertEquals 2, Book.findAllByPagesGreaterThan(500, [queryCache:true]).size()
+
+        Book.findByTitle("It").pages = 10
+        assertEquals(["The Stand"], Book.findAllByPagesGreaterThan(500, [queryCache:true])*.title)
+    }
+}
@@ -0,0 +1,128 @@
+package org.codehaus.groovy.grails.orm.hibernate.support
+
+import grails.util.GrailsWebUtil
+import org.codehaus.groovy.grails.orm.hibernate.AbstractGrailsHibernateTests
+import org.hibernate.engine.Status
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.WebRequest
+
+/**
+ * Tests for read-only sessions applied by GrailsOpenSessionInViewInterceptor
+ *
+ * @since 1.3
+ */
+class ReadOnlySessionTests extends AbstractGrailsHibernateTests {
+
+    protected void onSetUp() {
+        gcl.parseClass('''
+import grails.persistence.*
+
+@Entity
+class ReadOnlySessionBook {
+   String title
+}
+''')
+        gcl.parseClass('''
+import grails.orm.ReadOnly
+
+class ReadOnlySessionController {
+    def list = {}
+
+    @ReadOnly(false)
+    def update = {}
+}
+
+@ReadOnly
+class AnnotatedReadOnlySessionController {
+    def list = {}
+
+    @ReadOnly(false)
+    def update = {}
+}
+''')
+    }
+
+    void testLoadedEntitiesAreReadOnly() {
+        def Book = ga.getDomainClass("ReadOnlySessionBook").clazz
+        assert Book.newInstance(title:"The Stand").save(flush:true)
+        session.clear()
+
+        def webRequest = GrailsWebUtil.bindMockWebRequest(appCtx)
+        webRequest.setAttribute(GrailsOpenSessionInViewInterceptor.READ_ONLY_SESSION_ATTRIBUTE, session, WebRequest.SCOPE_REQUEST)
+
+        def book = Book.get(1)
+        assertEquals Status.READ_ONLY, session.persistenceContext.getEntry(book).status
+
+        book.title = "changed"
+        session.flush()
+        session.clear()
+
+        assertEquals "read-only entities should not be dirty checked", "The Stand", Book.get(1).title
+    }
+
+    void testEntitiesAreWritableWithoutReadOnlySession() {
+        def Book = ga.getDomainClass("ReadOnlySessionBook").clazz
+        assert Book.newInstance(title:"The Stand").save(flush:true)
+        session.clear()
+
+        GrailsWebUtil.bindMockWebRequest(appCtx)
+
+        def book = Book.get(1)
+        assertEquals Status.MANAGED, session.persistenceContext.getEntry(book).status
+    }
+
+    void testReadOnlyRequestMethods() {
+        def interceptor = new GrailsOpenSessionInViewInterceptor(sessionFactory:sessionFactory)
+        interceptor.readOnlyRequestMethods = ['get']
+
+        def webRequest = GrailsWebUtil.bindMockWebRequest(appCtx)
+        webRequest.controllerName = "readOnlySession"
+        webRequest.actionName = "list"
+
+        webRequest.currentRequest.method = "GET"
+        assertTrue interceptor.isReadOnlyRequest(webRequest)
+
+        webRequest.currentRequest.method = "POST"
+        assertFalse interceptor.isReadOnlyRequest(webRequest)
+
+        webRequest.currentRequest.method = "GET"
+        webRequest.actionName = "update"
+        assertFalse "@ReadOnly(false) should take precedence over the HTTP method", interceptor.isReadOnlyRequest(webRequest)
+    }
+
+    void testReadOnlyAnnotation() {
+        def interceptor = new GrailsOpenSessionInViewInterceptor(sessionFactory:sessionFactory)
+
+        def webRequest = GrailsWebUtil.bindMockWebRequest(appCtx)
+        webRequest.currentRequest.method = "POST"
+        webRequest.controllerName = "annotatedReadOnlySession"
+
+        webRequest.actionName = "list"
+        assertTrue interceptor.isReadOnlyRequest(webRequest)
+
+        webRequest.actionName = "update"
+        assertFalse interceptor.isReadOnlyRequest(webRequest)
+
+        webRequest.controllerName = "readOnlySession"
+        webRequest.actionName = "list"
+        assertFalse interceptor.isReadOnlyRequest(webRequest)
+    }
+
+    void testUnknownActionsAreNotCached() {
+        def interceptor = new GrailsOpenSessionInViewInterceptor(sessionFactory:sessionFactory)
+
+        def webRequest = GrailsWebUtil.bindMockWebRequest(appCtx)
+        webRequest.currentRequest.method = "POST"
+        webRequest.controllerName = "annotatedReadOnlySession"
+        webRequest.actionName = "unknown"
+        assertTrue "the controller annotation applies", interceptor.isReadOnlyRequest(webRequest)
+
+        webRequest.controllerName = "unknown"
+        assertFalse interceptor.isReadOnlyRequest(webRequest)
+        assertTrue interceptor.@readOnlyActions.isEmpty()
+    }
+
+    protected void onTearDown() {
+        RequestContextHolder.setRequestAttributes(null)
+    }
+}
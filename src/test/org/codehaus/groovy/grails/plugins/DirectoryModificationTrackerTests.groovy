@@ -0,0 +1,69 @@
+package org.codehaus.groovy.grails.plugins
+
+/**
+ * Tests for DirectoryModificationTracker
+ *
+ * @since 1.3
+ */
+class DirectoryModificationTrackerTests extends GroovyTestCase {
+
+    File root
+    File sub
+    long past = System.currentTimeMillis() - 10000
+
+    protected void setUp() {
+        root = File.createTempFile("tracker", "")
+        root.delete()
+        sub = new File(root, "sub")
+        sub.mkdirs()
+        sub.setLastModified(past)
+        root.setLastModified(past)
+    }
+
+    protected void tearDown() {
+        root.deleteDir()
+    }
+
+    void testUnchangedDirectories() {
+        def tracker = new DirectoryModificationTracker(root)
+        assertFalse tracker.hasChanged()
+    }
+
+    void testAddedFile() {
+        def tracker = new DirectoryModificationTracker(root)
+        new File(sub, "New.groovy").text = "class New {}"
+        sub.setLastModified(past + 1000)
+
+        assertTrue tracker.hasChanged()
+        assertFalse tracker.hasChanged()
+    }
+
+    void testAddedAndRemovedDirectories() {
+        def tracker = new DirectoryModificationTracker(root)
+        def nested = new File(sub, "nested")
+        nested.mkdir()
+        nested.setLastModified(past)
+        sub.setLastModified(past + 1000)
+        assertTrue tracker.hasChanged()
+
+        new File(nested, "Other.groovy").text = "class Other {}"
+        nested.setLastModified(past + 1000)
+        assertTrue "directories added after the tracker was created are tracked", tracker.hasChanged()
+
+        nested.deleteDir()
+        assertTrue tracker.hasChanged()
+    }
+
+    void testRecentlyModifiedDirectoriesAreReportedAsChanged() {
+        sub.setLastModified(System.currentTimeMillis())
+        def tracker = new DirectoryModificationTracker(root)
+        assertTrue tracker.hasChanged()
+    }
+
+    void testForPattern() {
+        assertNotNull DirectoryModificationTracker.forPattern("file:${root.absolutePath}/**/*.groovy")
+        assertNotNull DirectoryModificationTracker.forPattern("${sub.absolutePath}/*.groovy")
+        assertNull DirectoryModificationTracker.forPattern("classpath:grails-app/**/*.groovy")
+        assertNull DirectoryModificationTracker.forPattern("file:${root.absolutePath}/missing/*.groovy")
+    }
+}
@@ -56,6 +56,81 @@ class ThreeGrailsPlugin {
         assertEquals "four", pluginManager.pluginList[4].name
     }
 
+    void testDependencyGraphLevels() {
+        def gcl = new GroovyClassLoader()
+
+        gcl.parseClass('''
+class BaseGrailsPlugin {
+    def version = 0.1
+}
+class LeftGrailsPlugin {
+    def version = 0.1
+    def dependsOn = [base:0.1]
+}
+class RightGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['base']
+}
+class TopGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['left', 'right']
+}
+''')
+        def plugins = ["Top", "Right", "Left", "Base"].collect {
+            new DefaultGrailsPlugin(gcl.loadClass("${it}GrailsPlugin"), new DefaultGrailsApplication())
+        }
+
+        def graph = new PluginDependencyGraph(plugins)
+        assertEquals(["base", "left", "right", "top"], graph.sort()*.name)
+        assertEquals([["base"], ["left", "right"], ["top"]], graph.levels.collect { it*.name })
+    }
+
+    void testLoadBeforeKeepsPreviousOrder() {
+        def gcl = new GroovyClassLoader()
+
+        gcl.parseClass('''
+class AlphaGrailsPlugin {
+    def version = 0.1
+}
+class BetaGrailsPlugin {
+    def version = 0.1
+}
+class GammaGrailsPlugin {
+    def version = 0.1
+    def loadBefore = ['alpha']
+}
+''')
+        def plugins = ["Alpha", "Beta", "Gamma"].collect {
+            new DefaultGrailsPlugin(gcl.loadClass("${it}GrailsPlugin"), new DefaultGrailsApplication())
+        }
+
+        assertEquals(["gamma", "alpha", "beta"], new PluginDependencyGraph(plugins).sort()*.name)
+    }
+
+    void testLoadOrderCycle() {
+        def gcl = new GroovyClassLoader()
+
+        gcl.parseClass('''
+class FirstGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['second']
+}
+class SecondGrailsPlugin {
+    def version = 0.1
+    def loadAfter = ['first']
+}
+class ThirdGrailsPlugin {
+    def version = 0.1
+    def loadBefore = ['first']
+}
+''')
+        def plugins = ["First", "Second", "Third"].collect {
+            new DefaultGrailsPlugin(gcl.loadClass("${it}GrailsPlugin"), new DefaultGrailsApplication())
+        }
+
+        assertEquals(["third", "first", "second"], new PluginDependencyGraph(plugins).sort()*.name)
+    }
+
 
 
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.springframework.mock.web.MockHttpServletResponse
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
 import org.springframework.web.servlet.ModelAndView
+import org.codehaus.groovy.grails.web.servlet.GrailsApplicationAttributes
 
 class CompositeInterceptorTests extends GroovyTestCase {
 
@@ -58,5 +59,56 @@ class CompositeInterceptorTests extends GroovyTestCase {
         assertEquals 'bar', t2
     }
 
+    void testResolveHandlersByControllerAndUri() {
+        def calls = []
+        def bookList = filterAdapter([controller:'book', action:'list'], { calls << 'bookList'; true })
+        def anyBook = filterAdapter([controller:'book'], { calls << 'anyBook'; true })
+        def authorUri = filterAdapter([uri:'/author/**'], { calls << 'authorUri'; true })
+        def notAuthorUri = filterAdapter([uri:'/author/**', invert:true], { calls << 'notAuthorUri'; true })
+        def other = [preHandle:{ HttpServletRequest request, HttpServletResponse response, Object o -> calls << 'other'; true }] as HandlerInterceptor
 
-}
\ No newline at end of file
+        def ci = new CompositeInterceptor()
+        ci.handlers = [bookList, authorUri, anyBook, other, notAuthorUri]
+
+        def request = new MockHttpServletRequest()
+        request.requestURI = "/book/list"
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE, "book")
+        request.setAttribute(GrailsApplicationAttributes.ACTION_NAME_ATTRIBUTE, "list")
+
+        assertEquals([bookList, anyBook, other, notAuthorUri], ci.resolveHandlers(request))
+        assertTrue ci.preHandle(request, new MockHttpServletResponse(), "boo")
+        assertEquals(['bookList', 'anyBook', 'other', 'notAuthorUri'], calls)
+
+        request.requestURI = "/author/list"
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE, "author")
+        assertEquals([authorUri, other], ci.resolveHandlers(request))
+
+        request.requestURI = "/book/show"
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE, "book")
+        request.setAttribute(GrailsApplicationAttributes.ACTION_NAME_ATTRIBUTE, "show")
+        assertEquals([anyBook, other, notAuthorUri], ci.resolveHandlers(request))
+    }
+
+    void testControllerChainsAreCached() {
+        def adapter = filterAdapter([controller:'book'], { true })
+        def ci = new CompositeInterceptor()
+        ci.handlers = [adapter]
+
+        def request = new MockHttpServletRequest()
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER_NAME_ATTRIBUTE, "book")
+        request.setAttribute(GrailsApplicationAttributes.ACTION_NAME_ATTRIBUTE, "list")
+
+        def chain = ci.resolveHandlers(request)
+        assertEquals([adapter], chain)
+        assertSame chain, ci.resolveHandlers(request)
+
+        ci.handlers = []
+        assertEquals([], ci.resolveHandlers(request))
+    }
+
+    private filterAdapter(Map scope, Closure before) {
+        def adapter = new FilterToHandlerAdapter(filterConfig:[scope:scope, before:before])
+        adapter.afterPropertiesSet()
+        return adapter
+    }
+}
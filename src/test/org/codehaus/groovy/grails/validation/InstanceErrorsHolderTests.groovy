@@ -0,0 +1,79 @@
+package org.codehaus.groovy.grails.validation
+
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.validation.BeanPropertyBindingResult
+import org.springframework.web.context.request.RequestContextHolder
+import org.springframework.web.context.request.ServletRequestAttributes
+
+/**
+ * Tests for InstanceErrorsHolder
+ *
+ * @since 1.3
+ */
+class InstanceErrorsHolderTests extends GroovyTestCase {
+
+    protected void tearDown() {
+        RequestContextHolder.setRequestAttributes(null)
+    }
+
+    void testErrorsAreKeyedByIdentity() {
+        def first = new EqualInstance()
+        def second = new EqualInstance()
+        assertEquals first, second
+
+        def errors = InstanceErrorsHolder.getErrors(first)
+        errors.reject("first")
+
+        assertSame errors, InstanceErrorsHolder.getErrors(first)
+        assertFalse InstanceErrorsHolder.getErrors(second).hasErrors()
+    }
+
+    void testSetErrors() {
+        def instance = new EqualInstance()
+        def errors = new BeanPropertyBindingResult(instance, EqualInstance.name)
+
+        InstanceErrorsHolder.setErrors(instance, errors)
+        assertSame errors, InstanceErrorsHolder.getErrors(instance)
+
+        InstanceErrorsHolder.setErrors(instance, null)
+        assertNotSame errors, InstanceErrorsHolder.getErrors(instance)
+    }
+
+    void testRequestErrorsAreClearedWhenRequestCompletes() {
+        def attributes = new ServletRequestAttributes(new MockHttpServletRequest())
+        RequestContextHolder.setRequestAttributes(attributes)
+
+        def instance = new EqualInstance()
+        def errors = InstanceErrorsHolder.getErrors(instance)
+        errors.reject("request")
+        assertSame errors, InstanceErrorsHolder.getErrors(instance)
+
+        attributes.requestCompleted()
+        RequestContextHolder.setRequestAttributes(null)
+
+        assertFalse "errors held during the request should not leak into the thread",
+                InstanceErrorsHolder.getErrors(instance).hasErrors()
+    }
+
+    void testThreadErrorsAreNotSharedWithChildThreads() {
+        def instance = new EqualInstance()
+        def errors = InstanceErrorsHolder.getErrors(instance)
+        errors.reject("parent")
+
+        def childErrors
+        def child = Thread.start {
+            childErrors = InstanceErrorsHolder.getErrors(instance)
+            childErrors.reject("child")
+        }
+        child.join()
+
+        assertNotSame errors, childErrors
+        assertSame errors, InstanceErrorsHolder.getErrors(instance)
+        assertEquals 1, errors.errorCount
+    }
+}
+
+class EqualInstance {
+    boolean equals(Object o) { o instanceof EqualInstance }
+    int hashCode() { 1 }
+}
@@ -0,0 +1,80 @@
+package org.codehaus.groovy.grails.web.codecs
+
+import org.codehaus.groovy.grails.commons.DefaultGrailsCodecClass
+import org.codehaus.groovy.grails.plugins.codecs.HTMLCodec
+import org.codehaus.groovy.grails.plugins.codecs.HTMLStreamingEncoder
+import org.codehaus.groovy.grails.plugins.codecs.JavaScriptCodec
+import org.codehaus.groovy.grails.plugins.codecs.JavaScriptStreamingEncoder
+import org.codehaus.groovy.grails.plugins.codecs.URLStreamingEncoder
+import org.codehaus.groovy.grails.web.util.StreamCharBuffer
+import org.springframework.web.util.HtmlUtils
+import org.springframework.web.util.JavaScriptUtils
+
+/**
+ * Tests that the streaming encoders produce the same output as the utilities the codecs used before
+ *
+ * @since 1.3
+ */
+class StreamingEncoderTests extends GroovyTestCase {
+
+    static final SAMPLES = ['', 'plain text', '<a href="x">\'quoted\' & more</a>', 'caf\u00e9 \u20ac \u00a0',
+            'line\r\nbreak\nand\rreturn\t/\\', '\ud83d\ude00 emoji', 'a b+c=d?e%f*g.h-i_j']
+
+    void testHTMLEncoder() {
+        def encoder = new HTMLStreamingEncoder()
+        SAMPLES.each {
+            assertEquals HtmlUtils.htmlEscape(it), encoder.encode(it)
+            assertEquals HtmlUtils.htmlEscape(it), encodeToWriter(encoder, it)
+        }
+    }
+
+    void testJavaScriptEncoder() {
+        def encoder = new JavaScriptStreamingEncoder()
+        SAMPLES.each {
+            assertEquals JavaScriptUtils.javaScriptEscape(it), encoder.encode(it)
+            assertEquals JavaScriptUtils.javaScriptEscape(it), encodeToWriter(encoder, it)
+        }
+    }
+
+    void testURLEncoder() {
+        def encoder = new URLStreamingEncoder("UTF-8")
+        SAMPLES.each {
+            assertEquals URLEncoder.encode(it, "UTF-8"), encoder.encode(it)
+            assertEquals URLEncoder.encode(it, "UTF-8"), encodeToWriter(encoder, it)
+        }
+        assertEquals URLEncoder.encode('caf\u00e9', "ISO-8859-1"), new URLStreamingEncoder("ISO-8859-1").encode('caf\u00e9')
+    }
+
+    void testUnescapedTextIsNotCopied() {
+        def text = 'nothing to escape'
+        assertSame text, new HTMLStreamingEncoder().encode(text)
+        assertSame text, new JavaScriptStreamingEncoder().encode(text)
+    }
+
+    void testEncodeRange() {
+        def writer = new StringWriter()
+        new HTMLStreamingEncoder().encode('<a>&<b>', 3, 1, writer)
+        assertEquals '&amp;', writer.toString()
+
+        writer = new StringWriter()
+        new JavaScriptStreamingEncoder().encode('a\r\nb', 2, 2, writer)
+        assertEquals 'b', writer.toString()
+    }
+
+    void testEncodeIntoStreamCharBuffer() {
+        def buffer = new StreamCharBuffer()
+        new HTMLStreamingEncoder().encode(new StringBuilder('<b>bold</b>'), 0, 11, buffer.writer)
+        assertEquals '&lt;b&gt;bold&lt;/b&gt;', buffer.toString()
+    }
+
+    void testCodecsProvideStreamingEncoders() {
+        assertTrue new DefaultGrailsCodecClass(HTMLCodec).streamingEncoder instanceof HTMLStreamingEncoder
+        assertTrue new DefaultGrailsCodecClass(JavaScriptCodec).streamingEncoder instanceof JavaScriptStreamingEncoder
+    }
+
+    private String encodeToWriter(encoder, String text) {
+        def writer = new StringWriter()
+        encoder.encode(text, 0, text.length(), writer)
+        writer.toString()
+    }
+}
@@ -110,4 +110,25 @@ grails.mime.types = [ xml: ['text/xml', 'application/xml'],
         assertEquals 1, mimes.size()
     }
 
+    void testParsedHeadersAreCached() {
+        def parser = new DefaultAcceptHeaderParser()
+        def header = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"
+
+        def first = parser.parse(header)
+        def second = parser.parse(header)
+
+        assertNotSame first, second
+        assertEquals first.toList(), second.toList()
+        assertSame first[0], second[0]
+        assertEquals( ['html','html','xml', 'all'], second.extension )
+    }
+
+    void testCacheIsDiscardedWhenMimeTypesChange() {
+        def parser = new DefaultAcceptHeaderParser()
+        assertEquals( ['js'], parser.parse("text/javascript").extension )
+
+        ConfigurationHolder.setConfig new ConfigSlurper().parse("grails.mime.types = [ javascript: 'text/javascript' ]")
+
+        assertEquals( ['javascript'], parser.parse("text/javascript").extension )
+    }
 }
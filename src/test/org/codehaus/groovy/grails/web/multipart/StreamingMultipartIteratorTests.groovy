@@ -0,0 +1,87 @@
+package org.codehaus.groovy.grails.web.multipart
+
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockMultipartHttpServletRequest
+import org.springframework.web.multipart.MultipartException
+
+/**
+ * Tests for StreamingMultipartIterator
+ *
+ * @since 1.3
+ */
+class StreamingMultipartIteratorTests extends GroovyTestCase {
+
+    static final BOUNDARY = "----GrailsBoundary"
+
+    void testPartsAreReadInArrivalOrder() {
+        def request = createRequest()
+        def parts = StreamingMultipartIterator.getInstance(request, null)
+
+        def part = parts.next()
+        assertTrue part.formField
+        assertEquals "title", part.fieldName
+        assertEquals "The Stand", part.string
+
+        part = parts.next()
+        assertFalse part.formField
+        assertEquals "file", part.fieldName
+        assertEquals "stand.txt", part.originalFilename
+        assertEquals "text/plain", part.contentType
+
+        def file = File.createTempFile("streaming", ".txt")
+        try {
+            assertEquals 26, part.transferTo(file)
+            assertEquals "abcdefghijklmnopqrstuvwxyz", file.text
+        }
+        finally {
+            file.delete()
+        }
+
+        assertFalse parts.hasNext()
+        assertSame parts, StreamingMultipartIterator.getInstance(request, null)
+    }
+
+    void testFileSizeLimit() {
+        def parts = new StreamingMultipartIterator(createRequest(), -1, 10)
+        parts.next()
+        def part = parts.next()
+
+        shouldFail(IOException) {
+            part.inputStream.text
+        }
+    }
+
+    void testRequestSizeLimit() {
+        shouldFail(MultipartException) {
+            new StreamingMultipartIterator(createRequest(), 10, -1).hasNext()
+        }
+    }
+
+    void testParsedRequestIsRejected() {
+        shouldFail(IllegalStateException) {
+            new StreamingMultipartIterator(new MockMultipartHttpServletRequest(), -1, -1)
+        }
+    }
+
+    void testRequestWithoutParts() {
+        assertFalse new StreamingMultipartIterator(new MockHttpServletRequest("GET", "/book/upload"), -1, -1).hasNext()
+    }
+
+    private createRequest() {
+        def body = """--$BOUNDARY\r
+Content-Disposition: form-data; name="title"\r
+\r
+The Stand\r
+--$BOUNDARY\r
+Content-Disposition: form-data; name="file"; filename="stand.txt"\r
+Content-Type: text/plain\r
+\r
+abcdefghijklmnopqrstuvwxyz\r
+--$BOUNDARY--\r
+"""
+        def request = new MockHttpServletRequest("POST", "/book/upload")
+        request.contentType = "multipart/form-data; boundary=$BOUNDARY"
+        request.content = body.getBytes("ISO-8859-1")
+        return request
+    }
+}
@@ -15,4 +15,45 @@ public class GroovyPageBindingTests extends GroovyTestCase{
         assertEquals binding.getMetaClass(), binding.metaClass
     }
 
+    void testParentScope() {
+        def parent = new GroovyPageBinding()
+        parent.foo = "parent"
+        parent.bar = "parent"
+        parent.nothing = null
+
+        def binding = new GroovyPageBinding()
+        binding.parent = parent
+        binding.bar = "local"
+
+        assertEquals "parent", binding.foo
+        assertEquals "local", binding.bar
+        assertNull binding.nothing
+        assertTrue binding.hasVariable("foo")
+        assertFalse binding.hasVariable("baz")
+        shouldFail(MissingPropertyException) { binding.baz }
+
+        binding.foo = "changed"
+        assertEquals "changed", binding.foo
+        assertEquals "parent", parent.foo
+        assertEquals( [bar:'local', foo:'changed'], binding.variables )
+    }
+
+    void testLocalNullShadowsParent() {
+        def parent = new GroovyPageBinding()
+        parent.foo = "parent"
+
+        def binding = new GroovyPageBinding()
+        binding.parent = parent
+        binding.foo = null
+
+        assertNull binding.lookupVariable("foo")
+    }
+
+    void testAddModelSkipsReservedNames() {
+        def binding = new GroovyPageBinding()
+        binding.addModel(foo:'bar', request:'notallowed')
+
+        assertEquals( [foo:'bar'], binding.variables )
+    }
+
 }
\ No newline at end of file
@@ -227,6 +227,24 @@ public class ParseTests extends TestCase {
         assertTrue( "should have call to tag with 'tt' namespace", output.indexOf("invokeTag('form','tt',2,[:],null)") > -1);
  	}
 
+    public void testParseForProduction() throws Exception {
+        String gsp = "<tt:form />\n<tt:form>${x}</tt:form>\n<tmpl:row />";
+        GroovyPageParser parse = new GroovyPageParser("myTest7", "myTest7", "myTest7", new ByteArrayInputStream(gsp.getBytes("UTF-8")));
+        StringWriter writer = new StringWriter();
+        parse.generateGsp(writer, true);
+        String output = writer.toString();
+
+        assertTrue(output.indexOf("def params = lookupBindingVariable('params')") > -1);
+        assertTrue(output.indexOf("org.codehaus.groovy.grails.web.util.GrailsPrintWriter out = getOut()") > -1);
+        assertTrue(output.indexOf("binding.") == -1);
+        assertTrue("should invoke tags through handles", output.indexOf("invokeTag(0,'form','tt',1,[:],null)") > -1);
+        assertTrue("should reuse the handle of the tag", output.indexOf("invokeTag(0,'form','tt',2,[:],body1)") > -1);
+        assertTrue(output.indexOf("new GroovyPageTagBody(this,getWebRequest(), {") > -1);
+        assertTrue(output.indexOf("printEncoded((x))") > -1);
+        assertTrue("should invoke template tags dynamically", output.indexOf("invokeTag('row','tmpl',3,[:],null)") > -1);
+        assertTrue(output.indexOf("\tinitTagHandles(1)") > -1);
+    }
+
     public void testParseWithWhitespaceNotEaten() throws Exception {
         String expected = makeImports() +
             "\n" +
@@ -240,7 +258,7 @@ public class ParseTests extends TestCase {
             "def out = binding.out\n"+
             "registerSitemeshPreprocessMode(request)\n"+
             "printHtmlPart(0)\n" +
-            "out.print(Codec.encode(evaluate('uri', 3, it) { return uri }))\n"+
+            "printEncoded(evaluate('uri', 3, it) { return uri })\n"+
             "printHtmlPart(1)\n" +
             "}\n" + GSP_FOOTER;
 
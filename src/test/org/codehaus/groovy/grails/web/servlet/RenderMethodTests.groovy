@@ -189,6 +189,36 @@ class RenderMethodTests extends AbstractGrailsControllerTests {
         assertEquals "text/xml;charset=utf-8", response.contentType
     }
 
+    void testRenderFile() {
+        def file = File.createTempFile("renderFile", ".txt")
+        try {
+            file.text = "file contents"
+            def mockController = ga.getControllerClass("RenderController").newInstance()
+            mockController.params.path = file.absolutePath
+            mockController.renderFile.call()
+
+            def response = mockController.response
+            assertEquals "file contents", response.contentAsString
+            assertEquals "text/plain", response.contentType
+            assertEquals 'attachment;filename="contents.txt"', response.getHeader("Content-Disposition")
+            assertNotNull response.getHeader("ETag")
+            assertFalse webRequest.renderView
+        }
+        finally {
+            file.delete()
+        }
+    }
+
+    void testRenderStream() {
+        def mockController = ga.getControllerClass("RenderController").newInstance()
+        mockController.renderStream.call()
+
+        def response = mockController.response
+        assertEquals "streamed", response.contentAsString
+        assertEquals "application/octet-stream", response.contentType
+        assertEquals 201, response.status
+    }
+
 	void onSetUp() {
 		gcl.parseClass(
 '''
@@ -238,6 +268,12 @@ class RenderController {
 	def renderXmlTemplate = {
 		render(template:"xmlTemplate",contentType:"text/xml")
 	}
+    def renderFile = {
+        render(file:new File(params.path), contentType:"text/plain", fileName:"contents.txt")
+    }
+    def renderStream = {
+        render(stream:new ByteArrayInputStream("streamed".bytes), status:201)
+    }
 }
 class RenderTest {
     String foo
@@ -175,4 +175,45 @@ class GrailsParameterMapTests extends GroovyTestCase {
         assert queryString.find { it == 'address.postCode=345435' }
     }
 
-}
\ No newline at end of file
+    void testLookupBeforeMapIsPopulated() {
+        mockRequest.addParameter("title", "The Stand")
+        mockRequest.addParameter("tags", ["horror", "fiction"] as String[])
+        mockRequest.addParameter("author.name", "Stephen King")
+        theMap = new GrailsParameterMap(mockRequest)
+
+        assertEquals "The Stand", theMap.title
+        assertEquals(["horror", "fiction"], theMap.list("tags"))
+        assertTrue theMap.containsKey("author")
+        assertFalse theMap.containsKey("publisher")
+        assertNull theMap.publisher
+
+        assertEquals "Stephen King", theMap.author.name
+        assertEquals(["title", "tags", "author.name", "author"] as Set, theMap.keySet())
+    }
+
+    void testConvertedValuesFollowChanges() {
+        mockRequest.addParameter("max", "10")
+        theMap = new GrailsParameterMap(mockRequest)
+
+        assertEquals 10, theMap.int("max")
+        assertEquals 10, theMap.int("max")
+        assertEquals 10L, theMap.long("max")
+
+        theMap.max = "20"
+        assertEquals 20, theMap.int("max")
+
+        theMap.max = 30
+        assertEquals 30, theMap.int("max")
+        assertEquals 30L, theMap.long("max")
+
+        theMap.remove("max")
+        assertNull theMap.int("max")
+    }
+
+    void testUnknownMethod() {
+        theMap = new GrailsParameterMap(mockRequest)
+        shouldFail(MissingMethodException) {
+            theMap.character("foo")
+        }
+    }
+}
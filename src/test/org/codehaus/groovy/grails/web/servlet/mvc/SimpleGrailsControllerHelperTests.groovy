@@ -10,6 +10,8 @@ import org.codehaus.groovy.grails.web.servlet.*
 import org.springframework.mock.web.*
 import org.springframework.validation.*
 import org.springframework.web.servlet.*
+import grails.util.GrailsWebUtil
+import org.codehaus.groovy.grails.exceptions.GrailsConfigurationException
 
 @SuppressWarnings("unused")
 class SimpleGrailsControllerHelperTests extends AbstractGrailsControllerTests {
@@ -58,6 +60,22 @@ class SimpleGrailsControllerHelperTests extends AbstractGrailsControllerTests {
 		   }
 		}
 		""")
+		gcl.parseClass(
+		"""
+		class SingletonController {
+		   static scope = "singleton"
+
+		   def show = { [id:params.id] }
+		}
+		""")
+		gcl.parseClass(
+		"""
+		class PooledController {
+		   static scope = "pooled"
+
+		   def list = {}
+		}
+		""")
 	}
 	
 	
@@ -93,6 +111,50 @@ class SimpleGrailsControllerHelperTests extends AbstractGrailsControllerTests {
 		}
     }
 
+    void testSingletonScopedController() {
+        runTest {
+            assertSame appCtx.getBean("SingletonController"), appCtx.getBean("SingletonController")
+
+            def helper = new SimpleGrailsControllerHelper(ga, appCtx, servletContext)
+            def mv = helper.handleURI("/singleton/show", webRequest, [id:"1"])
+            assertEquals "1", mv.model.id
+
+            webRequest.params.clear()
+            mv = new SimpleGrailsControllerHelper(ga, appCtx, servletContext).handleURI("/singleton/show", webRequest, [id:"2"])
+            assertEquals "2", mv.model.id
+        }
+    }
+
+    void testPooledScopedController() {
+        runTest {
+            def controllerClass = ga.getControllerClass("PooledController")
+            def pool = appCtx.getBean(ControllerInstancePool.BEAN_ID)
+
+            def helper = new SimpleGrailsControllerHelper(ga, appCtx, servletContext)
+            helper.handleURI("/pooled/list", webRequest)
+            def first = request.getAttribute(GrailsApplicationAttributes.CONTROLLER)
+            helper.handleURI("/pooled/list", webRequest)
+            def second = request.getAttribute(GrailsApplicationAttributes.CONTROLLER)
+
+            assertNotSame "instances should not be shared during a request", first, second
+            assertEquals 0, pool.getIdleCount(controllerClass)
+
+            webRequest.requestCompleted()
+            assertEquals 2, pool.getIdleCount(controllerClass)
+
+            def nextRequest = GrailsWebUtil.bindMockWebRequest(appCtx)
+            new SimpleGrailsControllerHelper(ga, appCtx, servletContext).handleURI("/pooled/list", nextRequest)
+            assertTrue([first, second].any { it.is(nextRequest.currentRequest.getAttribute(GrailsApplicationAttributes.CONTROLLER)) })
+            assertEquals 1, pool.getIdleCount(controllerClass)
+        }
+    }
+
+    void testUnsupportedControllerScope() {
+        shouldFail(GrailsConfigurationException) {
+            new DefaultGrailsControllerClass(gcl.parseClass("class SessionScopedController { static scope = 'session' }"))
+        }
+    }
+
     void testReturnsNullIfAfterInterceptorReturnsFalse(){
           runTest {
 			def helper = new SimpleGrailsControllerHelper(ga, appCtx , servletContext)
@@ -104,8 +104,53 @@ class GSPSitemeshPageTests extends AbstractGrailsTagTests {
         assertEquals '<html><head><title>This is the title</title><meta http-equiv="Content-Type" content="text/html; charset=UTF-8"/></head><body onload="somejs();">body here Navigation content</body></html>', result2
     }
 
-    
+    void testStreamingLayout() {
+        def template='<html><head><title>This is the title</title></head><body onload="somejs();">body <g:each in="${[1,2]}">${it}</g:each></body></html>'
+        def layout='<html><head><title>Decorated <g:layoutTitle/></title><g:layoutHead/></head><body onload="${pageProperty(name:\'body.onload\')}"><g:layoutBody/></body></html>'
+        def gspSiteMeshPage = new GSPSitemeshPage()
+        webRequest.currentRequest.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, gspSiteMeshPage)
+
+        def layoutOut = new FlushRecordingWriter()
+        gspSiteMeshPage.layoutRenderer = { page ->
+            request.setAttribute(RequestConstants.PAGE, page)
+            appCtx.groovyPagesTemplateEngine.createTemplate(layout, "streaming_layout").make().writeTo(layoutOut)
+            request.removeAttribute(RequestConstants.PAGE)
+            true
+        } as GSPSitemeshPage.LayoutRenderer
+
+        applyTemplate(template, [:])
+
+        assertTrue gspSiteMeshPage.isDecorated()
+        assertEquals '<html><head><title>Decorated This is the title</title></head><body onload="somejs();">body 12</body></html>', layoutOut.toString()
+        assertEquals "the layout should be flushed before the body is rendered",
+                '<html><head><title>Decorated This is the title</title></head><body onload="somejs();">', layoutOut.flushed[0]
+    }
+
+    void testStreamingLayoutFallsBackWithoutLayout() {
+        def template='<html><head><title>This is the title</title></head><body onload="somejs();">body here</body></html>'
+        def gspSiteMeshPage = new GSPSitemeshPage()
+        webRequest.currentRequest.setAttribute(GrailsPageFilter.GSP_SITEMESH_PAGE, gspSiteMeshPage)
+        gspSiteMeshPage.layoutRenderer = { page -> false } as GSPSitemeshPage.LayoutRenderer
+
+        def result = applyTemplate(template, [:])
+
+        assertFalse gspSiteMeshPage.isDecorated()
+        assertEquals template, result
+        FastStringWriter writer=new FastStringWriter()
+        gspSiteMeshPage.writeBody(writer)
+        assertEquals 'body here', writer.toString()
+        assertEquals 'somejs();', gspSiteMeshPage.getProperty('body.onload')
+    }
+
     void tearDown() {
          RequestContextHolder.setRequestAttributes(null)
     }
-}
\ No newline at end of file
+}
+
+class FlushRecordingWriter extends StringWriter {
+    List flushed = []
+
+    void flush() {
+        flushed << toString()
+    }
+}
@@ -1,5 +1,6 @@
 package org.codehaus.groovy.grails.web.sitemesh;
 
+import grails.util.Environment;
 import grails.util.GrailsWebUtil;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
@@ -219,7 +220,41 @@ public class GrailsLayoutDecoratorMapperTests extends TestCase {
     }
 
 
+    public void testResolvedDecoratorsAreCached() throws Exception {
+        System.setProperty(Environment.KEY, Environment.PRODUCTION.getName());
+        GrailsWebRequest webRequest = buildMockRequest();
+        MockApplicationContext appCtx = (MockApplicationContext)webRequest.getApplicationContext();
+        appCtx.registerMockResource("WEB-INF/grails-app/views/layouts/test.gsp", "<html><body><g:layoutBody /></body></html>");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "orders/list");
+        ServletContext context = webRequest.getServletContext();
+        GroovyClassLoader gcl = new GroovyClassLoader();
+
+        GroovyObject controller = (GroovyObject)gcl.parseClass("class CachedController {\n" +
+                "def controllerName = 'cached'\n" +
+                "def actionUri = '/cached/list'\n" +
+        "}").newInstance();
+
+        request.setAttribute(GrailsApplicationAttributes.CONTROLLER, controller);
+        GrailsLayoutDecoratorMapper m = new GrailsLayoutDecoratorMapper();
+        Config c = new Config(new MockServletConfig(context));
+        m.init(c, null, null);
+        HTMLPageParser parser = new HTMLPageParser();
+        Page page = parser.parse("<html><head><title>Test title</title></head><body>here is the body</body></html>".toCharArray());
+        Page explicitPage = parser.parse("<html><head><meta name=\"layout\" content=\"test\"></meta></head><body>here is the body</body></html>".toCharArray());
+
+        assertNull("no layout exists for the controller yet", m.getDecorator(request, page));
+        Decorator d = m.getDecorator(request, explicitPage);
+        assertEquals("/WEB-INF/grails-app/views/layouts/test.gsp", d.getPage());
+
+        // layouts added later are not seen once a resolution has been cached
+        appCtx.registerMockResource("WEB-INF/grails-app/views/layouts/cached.gsp", "<html><body><g:layoutBody /></body></html>");
+        assertNull(m.getDecorator(request, page));
+        assertSame(d, m.getDecorator(request, explicitPage));
+    }
+
     protected void tearDown() throws Exception {
         RequestContextHolder.setRequestAttributes(null);
+        System.setProperty(Environment.KEY, "");
     }
 }
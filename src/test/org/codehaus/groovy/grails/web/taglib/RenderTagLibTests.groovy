@@ -134,6 +134,33 @@ class RenderTagLibTests extends AbstractGrailsTagTests {
 
         assertOutputEquals '[book = The Stand it=The Stand foo=bar][book = The Shining it=The Shining foo=bar]', template, [books:['The Stand', 'The Shining']]
     }
+
+    void testRenderTagCollectionWithVarSeesRequestScope() {
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/book/_book.gsp', '[${book} ${foo} ${title} ${params.sort} ${controllerName}]')
+        appCtx.groovyPagesTemplateEngine.resourceLoader = resourceLoader
+        webRequest.controllerName = "book"
+        request.setAttribute("title", "Books")
+        webRequest.params.sort = "name"
+
+        def template = '<g:render template="/book/book" collection="${books}" var="book" model="[foo: \'bar\']" />'
+
+        assertOutputEquals '[The Stand bar Books name book][The Shining bar Books name book]', template, [books:['The Stand', 'The Shining']]
+    }
+
+    void testRenderTagCollectionAndModelOutsideOfPage() {
+        def resourceLoader = new MockStringResourceLoader()
+        resourceLoader.registerMockResource('/book/_book.gsp', '[${book} ${foo}]')
+        appCtx.groovyPagesTemplateEngine.resourceLoader = resourceLoader
+
+        def sw = new StringWriter()
+        withTag("render", new PrintWriter(sw)) { tag ->
+            assertNull request.getAttribute(GrailsApplicationAttributes.PAGE_SCOPE)
+            tag.call([template:"/book/book", collection:['The Stand', 'The Shining'], var:"book", model:[foo:'bar']])
+        }
+        assertEquals '[The Stand bar][The Shining bar]', sw.toString()
+    }
+
     void testRenderTagBeforeAndAfterModel() {
 
         def resourceLoader = new MockStringResourceLoader()
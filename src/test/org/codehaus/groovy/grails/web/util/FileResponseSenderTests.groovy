@@ -0,0 +1,195 @@
+package org.codehaus.groovy.grails.web.util
+
+import java.nio.channels.Channels
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+
+/**
+ * Tests for FileResponseSender
+ *
+ * @since 1.3
+ */
+class FileResponseSenderTests extends GroovyTestCase {
+
+    File file
+    MockHttpServletRequest request
+    MockHttpServletResponse response
+
+    protected void setUp() {
+        file = File.createTempFile("fileResponseSender", ".txt")
+        file.text = "0123456789"
+        request = new MockHttpServletRequest("GET", "/file")
+        response = new MockHttpServletResponse()
+    }
+
+    protected void tearDown() {
+        file.delete()
+    }
+
+    void testSendFile() {
+        new FileResponseSender(request, response).sendFile(file, "text/plain", null)
+
+        assertEquals 200, response.status
+        assertEquals "0123456789", response.contentAsString
+        assertEquals 10, response.contentLength
+        assertEquals "text/plain", response.contentType
+        assertEquals "bytes", response.getHeader("Accept-Ranges")
+        assertEquals "\"10-${file.lastModified()}\"".toString(), response.getHeader("ETag")
+        assertEquals file.lastModified(), response.getHeader("Last-Modified")
+    }
+
+    void testDefaultContentTypeAndFileName() {
+        new FileResponseSender(request, response).sendFile(file, null, "report.txt")
+
+        assertEquals FileResponseSender.DEFAULT_CONTENT_TYPE, response.contentType
+        assertEquals 'attachment;filename="report.txt"', response.getHeader("Content-Disposition")
+    }
+
+    void testMissingFile() {
+        file.delete()
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 404, response.status
+    }
+
+    void testIfNoneMatch() {
+        request.addHeader("If-None-Match", "\"other\", \"10-${file.lastModified()}\"".toString())
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 304, response.status
+        assertEquals 0, response.contentAsByteArray.length
+    }
+
+    void testIfNoneMatchTakesPrecedenceOverIfModifiedSince() {
+        request.addHeader("If-None-Match", "\"other\"")
+        request.addHeader("If-Modified-Since", new Date(file.lastModified() + 1000))
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 200, response.status
+        assertEquals "0123456789", response.contentAsString
+    }
+
+    void testIfModifiedSince() {
+        request.addHeader("If-Modified-Since", new Date(file.lastModified() + 1000))
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 304, response.status
+
+        request = new MockHttpServletRequest("GET", "/file")
+        response = new MockHttpServletResponse()
+        request.addHeader("If-Modified-Since", new Date(file.lastModified() - 10000))
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 200, response.status
+    }
+
+    void testRange() {
+        request.addHeader("Range", "bytes=2-5")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 206, response.status
+        assertEquals "2345", response.contentAsString
+        assertEquals 4, response.contentLength
+        assertEquals "bytes 2-5/10", response.getHeader("Content-Range")
+    }
+
+    void testOpenAndSuffixRanges() {
+        request.addHeader("Range", "bytes=7-")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals "789", response.contentAsString
+
+        request = new MockHttpServletRequest("GET", "/file")
+        response = new MockHttpServletResponse()
+        request.addHeader("Range", "bytes=-4")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals "6789", response.contentAsString
+        assertEquals "bytes 6-9/10", response.getHeader("Content-Range")
+    }
+
+    void testRangeEndBeyondContent() {
+        request.addHeader("Range", "bytes=8-100")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 206, response.status
+        assertEquals "89", response.contentAsString
+    }
+
+    void testUnsatisfiableRange() {
+        request.addHeader("Range", "bytes=20-30")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 416, response.status
+        assertEquals "bytes */10", response.getHeader("Content-Range")
+    }
+
+    void testMultipleAndInvalidRangesSendFullContent() {
+        request.addHeader("Range", "bytes=0-1,4-5")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 200, response.status
+        assertEquals "0123456789", response.contentAsString
+
+        request = new MockHttpServletRequest("GET", "/file")
+        response = new MockHttpServletResponse()
+        request.addHeader("Range", "bytes=5-2")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 200, response.status
+    }
+
+    void testIfRange() {
+        request.addHeader("Range", "bytes=2-5")
+        request.addHeader("If-Range", "\"stale\"")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 200, response.status
+        assertEquals "0123456789", response.contentAsString
+
+        request = new MockHttpServletRequest("GET", "/file")
+        response = new MockHttpServletResponse()
+        request.addHeader("Range", "bytes=2-5")
+        request.addHeader("If-Range", "\"10-${file.lastModified()}\"".toString())
+        new FileResponseSender(request, response).sendFile(file, null, null)
+        assertEquals 206, response.status
+    }
+
+    void testHeadRequestSendsNoBody() {
+        request.method = "HEAD"
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 10, response.contentLength
+        assertEquals 0, response.contentAsByteArray.length
+    }
+
+    void testContainerSendfile() {
+        request.setAttribute(FileResponseSender.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE)
+        request.addHeader("Range", "bytes=2-5")
+        new FileResponseSender(request, response).sendFile(file, null, null)
+
+        assertEquals 0, response.contentAsByteArray.length
+        assertEquals file.absolutePath, request.getAttribute(FileResponseSender.SENDFILE_FILENAME_ATTRIBUTE)
+        assertEquals 2L, request.getAttribute(FileResponseSender.SENDFILE_START_ATTRIBUTE)
+        assertEquals 6L, request.getAttribute(FileResponseSender.SENDFILE_END_ATTRIBUTE)
+    }
+
+    void testSendStream() {
+        def stream = new ByteArrayInputStream("streamed".bytes)
+        new FileResponseSender(request, response).sendStream(stream, "text/plain", null)
+
+        assertEquals "streamed", response.contentAsString
+        assertEquals "text/plain", response.contentType
+    }
+
+    void testSendFileStream() {
+        def stream = new FileInputStream(file)
+        stream.skip(3)
+        new FileResponseSender(request, response).sendStream(stream, null, null)
+
+        assertEquals "3456789", response.contentAsString
+        assertEquals 7, response.contentLength
+        shouldFail(IOException) { stream.read() }
+    }
+
+    void testSendChannel() {
+        def channel = Channels.newChannel(new ByteArrayInputStream("channel".bytes))
+        new FileResponseSender(request, response).sendChannel(channel, null, null)
+
+        assertEquals "channel", response.contentAsString
+        assertFalse channel.isOpen()
+    }
+}
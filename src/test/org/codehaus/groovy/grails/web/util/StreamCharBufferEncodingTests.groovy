@@ -0,0 +1,124 @@
+package org.codehaus.groovy.grails.web.util
+
+import org.codehaus.groovy.grails.plugins.codecs.HTMLStreamingEncoder
+import org.codehaus.groovy.grails.plugins.codecs.JavaScriptStreamingEncoder
+
+/**
+ * Tests for the encoding marks of StreamCharBuffer chunks
+ *
+ * @since 1.3
+ */
+class StreamCharBufferEncodingTests extends GroovyTestCase {
+
+    def html = new HTMLStreamingEncoder()
+
+    void testEncodedContentIsNotEncodedAgain() {
+        def buffer = new StreamCharBuffer()
+        def out = new GrailsPrintWriter(buffer.writer)
+        out.writeEncoded('<p>', html)
+        out.printEncoded('<b>', html)
+        out.write('<raw>')
+        out.writeEncoded('</p>', html)
+
+        assertEquals '<p>&lt;b&gt;<raw></p>', buffer.toString()
+        assertFalse buffer.isEncodedWith(html)
+
+        assertEquals '<p>&lt;b&gt;&lt;raw&gt;</p>', encode(buffer)
+        def writer = new StringWriter()
+        new GrailsPrintWriter(writer).printEncoded(buffer, html)
+        assertEquals '<p>&lt;b&gt;&lt;raw&gt;</p>', writer.toString()
+    }
+
+    void testOtherEncoderEncodesEverything() {
+        def buffer = new StreamCharBuffer()
+        new GrailsPrintWriter(buffer.writer).writeEncoded("<a href='x'>", html)
+
+        def target = new StreamCharBuffer()
+        new GrailsPrintWriter(target.writer).printEncoded(buffer, new JavaScriptStreamingEncoder())
+        assertEquals "<a href=\\'x\\'>", target.toString()
+    }
+
+    void testMarksOfSubBuffers() {
+        def inner = new StreamCharBuffer()
+        def innerOut = new GrailsPrintWriter(inner.writer)
+        innerOut.writeEncoded('<div>', html)
+        innerOut.printEncoded('a&b', html)
+
+        def outer = new StreamCharBuffer()
+        def outerOut = new GrailsPrintWriter(outer.writer)
+        outerOut.write('<x>')
+        outerOut.write(inner)
+        outerOut.write('<y>')
+
+        assertEquals '&lt;x&gt;<div>a&amp;b&lt;y&gt;', encode(outer)
+    }
+
+    void testMarksAreCopiedWithContent() {
+        def inner = new StreamCharBuffer()
+        new GrailsPrintWriter(inner.writer).writeEncoded('<em>', html)
+
+        def outer = new StreamCharBuffer()
+        def outerOut = new GrailsPrintWriter(outer.writer)
+        outerOut.write('<q>')
+        inner.writeTo(outer.writer)
+
+        assertEquals '&lt;q&gt;<em>', encode(outer)
+    }
+
+    void testEncodedResultIsMarked() {
+        def buffer = new StreamCharBuffer()
+        new GrailsPrintWriter(buffer.writer).write('<a>')
+
+        def target = new StreamCharBuffer()
+        new GrailsPrintWriter(target.writer).printEncoded(buffer, html)
+        assertTrue target.isEncodedWith(html)
+        assertEquals '&lt;a&gt;', encode(target)
+    }
+
+    void testCachedStringKeepsMarks() {
+        def buffer = new StreamCharBuffer()
+        def out = new GrailsPrintWriter(buffer.writer)
+        out.writeEncoded('<a>', html)
+        out.printEncoded('<', html)
+
+        assertEquals '<a>&lt;', buffer.toString()
+        assertTrue buffer.isEncodedWith(html)
+        assertEquals '<a>&lt;', encode(buffer)
+    }
+
+    void testStringOfMixedMarksIsCachedUntilWritten() {
+        def buffer = new StreamCharBuffer()
+        def out = new GrailsPrintWriter(buffer.writer)
+        out.writeEncoded('<p>', html)
+        out.write('<raw>')
+
+        def str = buffer.toString()
+        assertEquals '<p><raw>', str
+        assertSame str, buffer.toString()
+        assertSame buffer.toCharArray(), buffer.toCharArray()
+        assertEquals '<p>&lt;raw&gt;', encode(buffer)
+
+        out.write('!')
+        assertEquals '<p><raw>!', buffer.toString()
+        assertEquals '<p><raw>!', new String(buffer.toCharArray())
+    }
+
+    void testMarksAcrossChunks() {
+        def buffer = new StreamCharBuffer(16)
+        def out = new GrailsPrintWriter(buffer.writer)
+        def expected = new StringBuilder()
+        200.times {
+            out.writeEncoded('<li>', html)
+            out.printEncoded('1<2', html)
+            out.write('&')
+            expected << '<li>1&lt;2&amp;'
+        }
+        assertEquals expected.toString(), encode(buffer)
+    }
+
+    private String encode(StreamCharBuffer buffer) {
+        def target = new StreamCharBuffer()
+        buffer.encodeTo(target.writer, html)
+        target.toString()
+    }
+}